@@ -3,18 +3,136 @@ package com.example;
 import akka.javasdk.DependencyProvider;
 import akka.javasdk.ServiceSetup;
 import akka.javasdk.annotations.Setup;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.timer.TimerScheduler;
+import akka.stream.Materializer;
+import akka.stream.RestartSettings;
+import akka.stream.javadsl.RestartSource;
+import com.example.application.AgentCallSettings;
+import com.example.application.AgentInteractionLog;
+import com.example.application.AgentLatencyTracker;
+import com.example.application.CaseSearchIndex;
+import com.example.application.CasesByQueueView;
+import com.example.application.ConcurrentJurisprudenceService;
 import com.example.application.CourtSystemServiceStub;
+import com.example.application.DependencyGuard;
+import com.example.application.DependencyGuards;
+import com.example.application.FaultInjectingCourtSystemService;
+import com.example.application.FaultInjectingJurisprudenceService;
+import com.example.application.FaultInjectors;
+import com.example.application.FileBackedCourtSystemService;
+import com.example.application.JurisprudenceBatchSettings;
 import com.example.application.JurisprudenceServiceStub;
+import com.example.application.OutboxPublisher;
+import com.example.application.OutboxStats;
+import com.example.application.Readiness;
+import com.example.application.RecordingCourtSystemService;
+import com.example.application.RecordingJurisprudenceService;
+import com.example.application.ResilientCourtSystemService;
+import com.example.application.ResilientJurisprudenceService;
+import com.example.application.SimilarCaseSettings;
+import com.example.application.SpeculativeDrafts;
+import com.example.application.ScreeningBatcher;
+import com.example.application.ScreeningSettings;
+import com.example.application.StructuredOutputStats;
+import com.example.application.TokenBudgetSettings;
+import com.example.application.WarmUp;
+import com.example.application.WarmUpSettings;
+import com.example.domain.CitationIndex;
 import com.example.domain.CourtSystemService;
 import com.example.domain.JurisprudenceService;
+import com.example.domain.SimilarCaseIndex;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
 
 @Setup
 public class Bootstrap implements ServiceSetup {
 
+    private static final Logger log = LoggerFactory.getLogger(Bootstrap.class);
+
+    private final Config config;
+    private final ComponentClient componentClient;
+    private final TimerScheduler timerScheduler;
+    private final Materializer materializer;
+    private final CaseSearchIndex searchIndex = new CaseSearchIndex();
+    private final Readiness readiness = new Readiness();
+    private final CourtSystemService courtSystemSource;
+    private final JurisprudenceService jurisprudenceSource;
+    private final CitationIndex citationIndex;
+    private final SimilarCaseIndex similarCaseIndex;
+    private final WarmUp warmUp;
+
+    public Bootstrap(Config config, ComponentClient componentClient, TimerScheduler timerScheduler, Materializer materializer) {
+        this.config = config;
+        this.componentClient = componentClient;
+        this.timerScheduler = timerScheduler;
+        this.materializer = materializer;
+        this.courtSystemSource = courtSystemSource();
+        this.jurisprudenceSource = new JurisprudenceServiceStub();
+        this.citationIndex = CitationIndex.of(jurisprudenceSource.knownSources());
+        this.similarCaseIndex = loadSimilarCaseIndex(SimilarCaseSettings.fromConfig(config));
+        // warm-up reads the sources directly, so it never trips a breaker, injects faults or records interactions
+        this.warmUp = new WarmUp(WarmUpSettings.fromConfig(config), componentClient, courtSystemSource,
+            jurisprudenceSource, citationIndex, similarCaseIndex, searchIndex, readiness);
+    }
+
+    @Override
+    public void onStartup() {
+        OutboxPublisher.schedule(
+            componentClient, timerScheduler, config.getDuration("court-onboarding.outbox.interval"));
+        feedSearchIndex();
+        warmUp.start();
+    }
+
+    /** Keeps this node's search index in sync with the case queue view, resubscribing if the stream ends. */
+    private void feedSearchIndex() {
+        RestartSource
+            .withBackoff(
+                RestartSettings.create(Duration.ofSeconds(1), Duration.ofSeconds(30), 0.2),
+                () -> componentClient.forView().stream(CasesByQueueView::streamAll).source())
+            .runForeach(searchIndex::put, materializer);
+    }
+
     @Override
     public DependencyProvider createDependencyProvider() {
-        final var courtSystemService = new CourtSystemServiceStub();
-        final var jurisprudenceService = new JurisprudenceServiceStub();
+        final var courtSystemGuard = DependencyGuard.fromConfig(
+            "Court system", config.getConfig("court-onboarding.resilience.court-system"));
+        final var jurisprudenceGuard = DependencyGuard.fromConfig(
+            "Legal repository", config.getConfig("court-onboarding.resilience.jurisprudence"));
+        final var dependencyGuards = new DependencyGuards(List.of(courtSystemGuard, jurisprudenceGuard));
+
+        final var interactionLog = AgentInteractionLog.fromConfig(config);
+        final var faultInjectors = FaultInjectors.fromConfig(config);
+        final var courtSystemService = recorded(
+            new ResilientCourtSystemService(withFaults(courtSystemSource, faultInjectors), courtSystemGuard), interactionLog);
+        final var jurisprudenceService = new ConcurrentJurisprudenceService(
+            recorded(new ResilientJurisprudenceService(withFaults(jurisprudenceSource, faultInjectors), jurisprudenceGuard),
+                interactionLog),
+            JurisprudenceBatchSettings.fromConfig(config));
+        final var latencyTracker = new AgentLatencyTracker(config.getInt("court-onboarding.agent-calls.latency-window"));
+        final var agentCallSettings = AgentCallSettings.fromConfig(config);
+        // an audit step and its retries never hold a draft longer than this
+        final var speculativeDrafts = new SpeculativeDrafts(
+            agentCallSettings.stepTimeout("audit").multipliedBy(agentCallSettings.stepRetries() + 1L));
+        final var outboxStats = new OutboxStats();
+        final var structuredOutputStats = new StructuredOutputStats();
+        final var screeningSettings = ScreeningSettings.fromConfig(config);
+        if (screeningSettings.batching() && interactionLog.mode() == AgentInteractionLog.Mode.REPLAY) {
+            // recorded batches are keyed by the cases that happened to batch together
+            throw new IllegalStateException("Agent replay does not support screening.batching, disable it to replay");
+        }
+        final var screeningBatcher = new ScreeningBatcher(screeningSettings.maxBatchSize(), screeningSettings.maxBatchWait().toMillis(),
+            TokenBudgetSettings.fromConfig(config).overheadPerCall(), structuredOutputStats);
 
         return new DependencyProvider() {
             @SuppressWarnings("unchecked")
@@ -24,10 +142,99 @@ public class Bootstrap implements ServiceSetup {
                     return (T) courtSystemService;
                 } else if (clazz == JurisprudenceService.class) {
                     return (T) jurisprudenceService;
+                } else if (clazz == AgentLatencyTracker.class) {
+                    return (T) latencyTracker;
+                } else if (clazz == DependencyGuards.class) {
+                    return (T) dependencyGuards;
+                } else if (clazz == CitationIndex.class) {
+                    return (T) citationIndex;
+                } else if (clazz == SimilarCaseIndex.class) {
+                    return (T) similarCaseIndex;
+                } else if (clazz == OutboxStats.class) {
+                    return (T) outboxStats;
+                } else if (clazz == StructuredOutputStats.class) {
+                    return (T) structuredOutputStats;
+                } else if (clazz == ScreeningBatcher.class) {
+                    return (T) screeningBatcher;
+                } else if (clazz == SpeculativeDrafts.class) {
+                    return (T) speculativeDrafts;
+                } else if (clazz == AgentInteractionLog.class) {
+                    return (T) interactionLog;
+                } else if (clazz == CaseSearchIndex.class) {
+                    return (T) searchIndex;
+                } else if (clazz == Readiness.class) {
+                    return (T) readiness;
+                } else if (clazz == FaultInjectors.class) {
+                    return (T) faultInjectors;
                 } else {
                     throw new IllegalArgumentException("Unknown dependency type: " + clazz);
                 }
             }
         };
     }
-}
\ No newline at end of file
+
+    private static CourtSystemService withFaults(CourtSystemService service, FaultInjectors faults) {
+        return faults.enabled() ? new FaultInjectingCourtSystemService(service, faults.courtSystem()) : service;
+    }
+
+    private static JurisprudenceService withFaults(JurisprudenceService service, FaultInjectors faults) {
+        return faults.enabled() ? new FaultInjectingJurisprudenceService(service, faults.jurisprudence()) : service;
+    }
+
+    private static CourtSystemService recorded(CourtSystemService service, AgentInteractionLog log) {
+        return log.mode() == AgentInteractionLog.Mode.RECORD ? new RecordingCourtSystemService(service, log) : service;
+    }
+
+    private static JurisprudenceService recorded(JurisprudenceService service, AgentInteractionLog log) {
+        return log.mode() == AgentInteractionLog.Mode.RECORD ? new RecordingJurisprudenceService(service, log) : service;
+    }
+
+    private CourtSystemService courtSystemSource() {
+        var courtSystem = config.getConfig("court-onboarding.court-system");
+        return switch (courtSystem.getString("source")) {
+            case "stub" -> new CourtSystemServiceStub();
+            case "file" -> new FileBackedCourtSystemService(Path.of(courtSystem.getString("data-dir")));
+            default -> throw new IllegalArgumentException("Unknown court system source: " + courtSystem.getString("source"));
+        };
+    }
+
+    /**
+     * The node's similar-case index, loaded from index-file when set and written back atomically on
+     * shutdown. An unreadable or incompatible file is logged and replaced by an empty index.
+     */
+    private static SimilarCaseIndex loadSimilarCaseIndex(SimilarCaseSettings settings) {
+        if (settings.indexFile().isBlank()) {
+            return new SimilarCaseIndex(settings.numHashes(), settings.bands());
+        }
+        var file = Path.of(settings.indexFile());
+        var index = readSimilarCaseIndex(file, settings);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            var temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                try (var out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    index.writeTo(out);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Could not save similar case index {}", file, e);
+            }
+        }));
+        return index;
+    }
+
+    private static SimilarCaseIndex readSimilarCaseIndex(Path file, SimilarCaseSettings settings) {
+        if (Files.exists(file)) {
+            try (var in = new BufferedInputStream(Files.newInputStream(file))) {
+                var index = SimilarCaseIndex.readFrom(in);
+                if (index.numHashes() == settings.numHashes() && index.bands() == settings.bands()) {
+                    return index;
+                }
+                log.warn("Similar case index {} has {} hashes in {} bands instead of {} in {}, starting empty",
+                    file, index.numHashes(), index.bands(), settings.numHashes(), settings.bands());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not load similar case index {}, starting empty", file, e);
+            }
+        }
+        return new SimilarCaseIndex(settings.numHashes(), settings.bands());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.api;
+
+import akka.javasdk.http.AbstractHttpEndpoint;
+import com.example.application.Readiness;
+
+/**
+ * Base of the API endpoints whose requests count towards the node's time to first request. The
+ * runtime creates an endpoint instance per request, so the request is recorded on construction.
+ * Health probes do not extend it.
+ */
+abstract class ApiEndpoint extends AbstractHttpEndpoint {
+
+    protected ApiEndpoint(Readiness readiness) {
+        readiness.recordRequest();
+    }
+}
@@ -7,27 +7,52 @@ import akka.javasdk.annotations.http.Get;
 import akka.javasdk.annotations.http.HttpEndpoint;
 import akka.javasdk.annotations.http.Post;
 import akka.javasdk.client.ComponentClient;
-import akka.javasdk.http.AbstractHttpEndpoint;
+import akka.javasdk.http.HttpException;
 import akka.javasdk.http.HttpResponses;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Source;
+import com.example.application.ArchivedKpiTotalsEntity;
 import com.example.application.AuditTrailView;
+import com.example.application.CaseArchiveView;
+import com.example.application.CaseSearchIndex;
 import com.example.application.CasesByQueueView;
 import com.example.application.CaseProcessingWorkflow;
 import com.example.application.KPIDashboardView;
+import com.example.application.Readiness;
 import com.example.domain.CaseState;
+import com.example.domain.CaseStatus;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
 
 @HttpEndpoint("/cases")
 @Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
-public class CaseEndpoint extends AbstractHttpEndpoint {
+public class CaseEndpoint extends ApiEndpoint {
+
+    private static final int DEFAULT_INBOX_SIZE = 20;
+    private static final int MAX_INBOX_SIZE = 200;
+    private static final Duration INBOX_REFRESH = Duration.ofSeconds(5);
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
 
     private final ComponentClient componentClient;
+    private final CaseSearchIndex searchIndex;
+    private final Materializer materializer;
 
-    public CaseEndpoint(ComponentClient componentClient) {
+    public CaseEndpoint(ComponentClient componentClient, CaseSearchIndex searchIndex, Readiness readiness, Materializer materializer) {
+        super(readiness);
         this.componentClient = componentClient;
+        this.searchIndex = searchIndex;
+        this.materializer = materializer;
     }
 
     public record StartCaseRequest(String caseNumber) {}
     public record RejectRequest(String reason) {}
     public record FailRequest(String reason) {}
+    public record RaiseBudgetRequest(long tokens) {}
 
     @Post("/{caseId}/start")
     public HttpResponse start(String caseId, StartCaseRequest request) {
@@ -82,6 +107,15 @@ public class CaseEndpoint extends AbstractHttpEndpoint {
         return HttpResponses.ok();
     }
 
+    @Post("/{caseId}/raise-budget")
+    public HttpResponse raiseBudget(String caseId, RaiseBudgetRequest request) {
+        componentClient
+            .forWorkflow(caseId)
+            .method(CaseProcessingWorkflow::raiseBudget)
+            .invoke(request.tokens());
+        return HttpResponses.ok();
+    }
+
     @Post("/{caseId}/fail")
     public HttpResponse fail(String caseId, FailRequest request) {
         componentClient
@@ -112,6 +146,56 @@ public class CaseEndpoint extends AbstractHttpEndpoint {
         return HttpResponses.serverSentEventsForView(source);
     }
 
+    /**
+     * Streams the top cases of the magistrate's inbox as server-sent events, most urgent and oldest
+     * first: {@code ?status=} (default AWAITING_HUMAN_APPROVAL) and {@code ?limit=} (default 20).
+     * Each event is the whole inbox, sent on connect and again whenever it changes. A ranked top-N
+     * cannot be kept current from row updates alone, so the view is queried every INBOX_REFRESH.
+     */
+    @Get("/inbox")
+    public HttpResponse getInbox() {
+        var params = requestContext().queryParams();
+        var status = params.getString("status").orElse(CaseStatus.AWAITING_HUMAN_APPROVAL.name());
+        try {
+            CaseStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw HttpException.badRequest("Unknown status: " + status);
+        }
+        int limit = intParam("limit", DEFAULT_INBOX_SIZE);
+        if (limit < 1 || limit > MAX_INBOX_SIZE) {
+            throw HttpException.badRequest("Limit must be between 1 and " + MAX_INBOX_SIZE);
+        }
+        var request = new CasesByQueueView.InboxRequest(status, limit);
+        var last = new AtomicReference<CasesByQueueView.CaseQueueEntries>();
+        return HttpResponses.serverSentEvents(
+            Source.tick(Duration.ZERO, INBOX_REFRESH, Done.getInstance())
+                .mapAsync(1, tick -> componentClient
+                    .forView()
+                    .method(CasesByQueueView::getInbox)
+                    .invokeAsync(request))
+                .filter(inbox -> !inbox.equals(last.getAndSet(inbox))));
+    }
+
+    /**
+     * Full-text search over case numbers, statuses, audit issues and failure messages: every term of
+     * {@code ?q=} must match, best match first, paged with {@code ?offset=} and {@code ?limit=}.
+     */
+    @Get("/search")
+    public CaseSearchIndex.SearchResults search() {
+        var params = requestContext().queryParams();
+        var query = params.getString("q").orElse("");
+        if (query.isBlank()) {
+            throw HttpException.badRequest("Missing query parameter q");
+        }
+        int offset = intParam("offset", 0);
+        int limit = intParam("limit", DEFAULT_SEARCH_PAGE_SIZE);
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET || limit < 1 || limit > MAX_SEARCH_PAGE_SIZE) {
+            throw HttpException.badRequest("Offset must be between 0 and " + MAX_SEARCH_OFFSET
+                + " and limit between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        return searchIndex.search(query, offset, limit);
+    }
+
     @Get("/queue/{status}")
     public CasesByQueueView.CaseQueueEntries getQueueByStatus(String status) {
         return componentClient
@@ -135,6 +219,22 @@ public class CaseEndpoint extends AbstractHttpEndpoint {
         return componentClient
             .forView()
             .method(AuditTrailView::getByCaseNumber)
+            .invoke(caseNumber)
+            .or(() -> findArchived(caseNumber).map(CaseArchiveView.ArchivedCase::toAuditTrailEntry))
+            .orElseThrow(() -> HttpException.notFound());
+    }
+
+    // --- Case Archive View ---
+
+    @Get("/archive/{caseNumber}")
+    public CaseArchiveView.ArchivedCase getArchivedCase(String caseNumber) {
+        return findArchived(caseNumber).orElseThrow(() -> HttpException.notFound());
+    }
+
+    private Optional<CaseArchiveView.ArchivedCase> findArchived(String caseNumber) {
+        return componentClient
+            .forView()
+            .method(CaseArchiveView::findByCaseNumber)
             .invoke(caseNumber);
     }
 
@@ -148,6 +248,20 @@ public class CaseEndpoint extends AbstractHttpEndpoint {
             .invoke();
     }
 
+    @Get("/kpi/summary")
+    public CompletionStage<KPIDashboardView.KPISummary> getKPISummary() {
+        return componentClient
+            .forKeyValueEntity(ArchivedKpiTotalsEntity.ID)
+            .method(ArchivedKpiTotalsEntity::get)
+            .invokeAsync()
+            .thenCompose(archived -> componentClient
+                .forView()
+                .stream(KPIDashboardView::streamAll)
+                .source()
+                .runFold(archived, KPIDashboardView.KPISummary.Totals::add, materializer))
+            .thenApply(KPIDashboardView.KPISummary.Totals::summary);
+    }
+
     @Get("/kpi/incomplete-documents")
     public KPIDashboardView.KPIEntries getIncompleteDocuments() {
         return componentClient
@@ -163,4 +277,13 @@ public class CaseEndpoint extends AbstractHttpEndpoint {
             .method(KPIDashboardView::getFailedAudits)
             .invoke();
     }
-}
\ No newline at end of file
+
+    private int intParam(String name, int defaultValue) {
+        var value = requestContext().queryParams().getString(name);
+        try {
+            return value.map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            throw HttpException.badRequest("Invalid " + name + ": " + value.get());
+        }
+    }
+}
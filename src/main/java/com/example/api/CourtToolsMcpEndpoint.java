@@ -8,11 +8,26 @@ import akka.javasdk.annotations.mcp.McpTool;
 import akka.javasdk.client.ComponentClient;
 import com.example.application.CaseProcessingWorkflow;
 import com.example.application.CasesByQueueView;
+import com.example.domain.CaseState;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
 @McpEndpoint(serverName = "court-tools", serverVersion = "1.0.0")
 public class CourtToolsMcpEndpoint {
 
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final List<String> DEFAULT_FIELDS = List.of("status", "screening", "auditIssues");
+    private static final Set<String> SUPPORTED_FIELDS = Set.of(
+        "status", "screening", "secretariat", "audit", "auditIssues",
+        "draft", "citations", "rejectionReason", "failureMessage");
+
     private final ComponentClient componentClient;
 
     public CourtToolsMcpEndpoint(ComponentClient componentClient) {
@@ -33,6 +48,47 @@ public class CourtToolsMcpEndpoint {
         return JsonSupport.encodeToString(state);
     }
 
+    @McpTool(
+        name = "get_cases",
+        description = "Retrieves several court cases at once, returning only the requested fields for each case. " +
+            "Prefer this over repeated get_case calls. Supported fields: status, screening, secretariat, audit, " +
+            "auditIssues, draft, citations, rejectionReason, failureMessage."
+    )
+    public String getCases(
+        @Description("Comma-separated workflow IDs of the cases to retrieve (at most 100)") String caseIds,
+        @Description("Comma-separated fields to include, e.g. status,screening,auditIssues. Defaults to status,screening,auditIssues") String fields
+    ) {
+        var ids = splitList(caseIds);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one case ID is required");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " case IDs can be requested at once, got " + ids.size());
+        }
+        var requestedFields = splitList(fields);
+        if (requestedFields.isEmpty()) {
+            requestedFields = DEFAULT_FIELDS;
+        }
+        var unsupported = requestedFields.stream().filter(f -> !SUPPORTED_FIELDS.contains(f)).toList();
+        if (!unsupported.isEmpty()) {
+            throw new IllegalArgumentException("Unsupported fields: " + unsupported);
+        }
+
+        var projection = requestedFields;
+        var pending = ids.stream()
+            .map(caseId -> componentClient
+                .forWorkflow(caseId)
+                .method(CaseProcessingWorkflow::getState)
+                .invokeAsync()
+                .thenApply(state -> project(caseId, state, projection))
+                .exceptionally(error -> Map.of("caseId", caseId, "error", errorMessage(error)))
+                .toCompletableFuture())
+            .toList();
+
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        return JsonSupport.encodeToString(pending.stream().map(CompletableFuture::join).toList());
+    }
+
     @McpTool(
         name = "list_cases_by_status",
         description = "Lists all court cases filtered by their processing status. Common statuses: AWAITING_HUMAN_APPROVAL, PUBLISHED, FAILED, SCREENING, DRAFTING."
@@ -87,4 +143,41 @@ public class CourtToolsMcpEndpoint {
             .invoke(reason);
         return "Case " + caseId + " rejected. Reason: " + reason;
     }
-}
\ No newline at end of file
+
+    private static Map<String, Object> project(String caseId, CaseState state, List<String> fields) {
+        var result = new LinkedHashMap<String, Object>();
+        result.put("caseId", caseId);
+        result.put("caseNumber", state.caseNumber());
+        for (var field : fields) {
+            switch (field) {
+                case "status" -> result.put(field, state.status());
+                case "screening" -> result.put(field, state.screening());
+                case "secretariat" -> result.put(field, state.secretariat());
+                case "audit" -> result.put(field, state.audit());
+                case "auditIssues" -> result.put(field, state.audit() != null ? state.audit().issues() : List.of());
+                case "draft" -> result.put(field, state.draft());
+                case "citations" -> result.put(field, state.draft() != null ? state.draft().citations() : List.of());
+                case "rejectionReason" -> result.put(field, state.rejectionReason());
+                case "failureMessage" -> result.put(field, state.failureMessage());
+                default -> throw new IllegalArgumentException("Unsupported field: " + field);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> splitList(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .distinct()
+            .toList();
+    }
+
+    private static String errorMessage(Throwable error) {
+        var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.api;
+
+import akka.NotUsed;
+import akka.http.javadsl.model.ContentTypes;
+import akka.http.javadsl.model.HttpCharsets;
+import akka.http.javadsl.model.HttpEntities;
+import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.MediaTypes;
+import akka.http.javadsl.model.headers.RawHeader;
+import akka.japi.Pair;
+import akka.javasdk.JsonSupport;
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.http.HttpException;
+import akka.stream.javadsl.Compression;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import com.example.application.AuditTrailView;
+import com.example.application.CaseArchiveView;
+import com.example.application.ExportPage;
+import com.example.application.KPIDashboardView;
+import com.example.application.Readiness;
+import com.example.domain.CaseStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Streams view rows as NDJSON, one page at a time, so exports of any size run in constant memory.
+ * <p>
+ * Query parameters: {@code from} / {@code to} (ISO date or instant, on the time of the last status
+ * change, {@code to} exclusive), {@code status} (comma-separated), {@code after} and
+ * {@code afterWorkflow} (the case number and workflow id of the last line received; rows are ordered
+ * by both, so an interrupted export resumes right after it, and without afterWorkflow it resumes at
+ * the first row of that case number) and {@code gzip=true}. Pages are keyed on the case number and
+ * workflow id rather than skipped by offset, so each page costs the same however deep the export is.
+ * The audit trail includes archived cases, read from {@link CaseArchiveView}, with status ARCHIVED;
+ * the KPI export covers the live cases only.
+ */
+@HttpEndpoint("/export")
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
+public class ExportEndpoint extends ApiEndpoint {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final Instant END_OF_TIME = Instant.parse("9999-12-31T23:59:59Z");
+
+    private final ComponentClient componentClient;
+
+    public ExportEndpoint(ComponentClient componentClient, Readiness readiness) {
+        super(readiness);
+        this.componentClient = componentClient;
+    }
+
+    @Get("/audit-trail")
+    public HttpResponse auditTrail() {
+        var first = firstPage();
+        Source<AuditTrailView.AuditTrailEntry, NotUsed> live = rows(first, page -> componentClient.forView()
+            .method(AuditTrailView::getExportPage)
+            .invokeAsync(page)
+            .thenApply(result -> new Rows<>(result.entries(), result.hasMore(),
+                result.entries().isEmpty() ? null : page.next(
+                    result.entries().getLast().caseNumber(), result.entries().getLast().workflowId()))));
+        if (!first.statuses().contains(CaseStatus.ARCHIVED.name())) {
+            return ndjson(live);
+        }
+        // archived cases have left the audit trail view; their rows come from the archive, in the same order
+        Source<AuditTrailView.AuditTrailEntry, NotUsed> archived = rows(first, page -> componentClient.forView()
+            .method(CaseArchiveView::getExportPage)
+            .invokeAsync(page)
+            .thenApply(result -> new Rows<>(
+                result.entries().stream().map(CaseArchiveView.ArchivedCase::toAuditTrailEntry).toList(),
+                result.hasMore(),
+                result.entries().isEmpty() ? null : page.next(
+                    result.entries().getLast().caseNumber(), result.entries().getLast().workflowId()))));
+        return ndjson(live.mergeSorted(archived, Comparator
+            .comparing(AuditTrailView.AuditTrailEntry::caseNumber)
+            .thenComparing(AuditTrailView.AuditTrailEntry::workflowId)));
+    }
+
+    @Get("/kpi")
+    public HttpResponse kpi() {
+        return ndjson(rows(firstPage(), page -> componentClient.forView()
+            .method(KPIDashboardView::getExportPage)
+            .invokeAsync(page)
+            .thenApply(result -> new Rows<>(result.entries(), result.hasMore(),
+                result.entries().isEmpty() ? null : page.next(
+                    result.entries().getLast().caseNumber(), result.entries().getLast().workflowId())))));
+    }
+
+    /** A fetched page and the page after its last row. */
+    private record Rows<T>(List<T> entries, boolean hasMore, ExportPage following) {}
+
+    /** Fetches a page; the next state is the following page, or empty after the last one. */
+    private static <T> CompletionStage<Optional<Pair<Optional<ExportPage>, List<T>>>> nextPage(
+        Optional<ExportPage> next, Function<ExportPage, CompletionStage<Rows<T>>> fetch) {
+        if (next.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        var page = next.get();
+        return fetch.apply(page).thenApply(rows -> {
+            if (rows.entries().isEmpty()) {
+                return Optional.empty();
+            }
+            var following = rows.hasMore() ? Optional.of(rows.following()) : Optional.<ExportPage>empty();
+            return Optional.of(Pair.create(following, rows.entries()));
+        });
+    }
+
+    private static <T> Source<T, NotUsed> rows(ExportPage first, Function<ExportPage, CompletionStage<Rows<T>>> fetch) {
+        return Source
+            .<Optional<ExportPage>, List<T>>unfoldAsync(Optional.of(first), next -> nextPage(next, fetch))
+            .mapConcat(rows -> rows);
+    }
+
+    private ExportPage firstPage() {
+        var params = requestContext().queryParams();
+        return new ExportPage(
+            params.getString("from").map(ExportEndpoint::parseTime).orElse(Instant.EPOCH),
+            params.getString("to").map(ExportEndpoint::parseTime).orElse(END_OF_TIME),
+            params.getString("status").map(ExportEndpoint::parseStatuses).orElseGet(ExportEndpoint::allStatuses),
+            params.getString("after").orElse(""),
+            params.getString("afterWorkflow").orElse(""),
+            PAGE_SIZE);
+    }
+
+    private HttpResponse ndjson(Source<?, NotUsed> rows) {
+        boolean gzip = requestContext().queryParams().getString("gzip").map(Boolean::parseBoolean).orElse(false);
+        Source<ByteString, NotUsed> lines = rows
+            .map(row -> ByteString.fromString(JsonSupport.encodeToString(row) + "\n"));
+
+        var ndjson = ContentTypes.create(MediaTypes.applicationWithFixedCharset("x-ndjson", HttpCharsets.UTF_8, "ndjson"));
+        if (gzip) {
+            return HttpResponse.create()
+                .withEntity(HttpEntities.create(ndjson, lines.via(Compression.gzip())))
+                .addHeader(RawHeader.create("Content-Encoding", "gzip"));
+        }
+        return HttpResponse.create().withEntity(HttpEntities.create(ndjson, lines));
+    }
+
+    private static Instant parseTime(String value) {
+        try {
+            return value.length() == 10
+                ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant()
+                : Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw HttpException.badRequest("Invalid date or instant: " + value);
+        }
+    }
+
+    private static List<String> parseStatuses(String value) {
+        var statuses = Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+        for (var status : statuses) {
+            try {
+                CaseStatus.valueOf(status);
+            } catch (IllegalArgumentException e) {
+                throw HttpException.badRequest("Unknown status: " + status);
+            }
+        }
+        return statuses;
+    }
+
+    private static List<String> allStatuses() {
+        return Arrays.stream(CaseStatus.values()).map(Enum::name).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.api;
+
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Delete;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.annotations.http.Put;
+import akka.javasdk.http.HttpException;
+import com.example.application.FaultInjector;
+import com.example.application.FaultInjectors;
+import com.example.application.FaultProfile;
+import com.example.application.Readiness;
+
+import java.util.List;
+
+/**
+ * Node-local control of the latency and failures injected into the dependency stand-ins
+ * (court-onboarding.fault-injection). Only available when fault injection is enabled, and only to
+ * other services and local calls, never from the internet.
+ */
+@HttpEndpoint("/admin")
+@Acl(allow = @Acl.Matcher(service = "*"), deny = @Acl.Matcher(principal = Acl.Principal.INTERNET))
+public class FaultInjectionEndpoint extends ApiEndpoint {
+
+    private final FaultInjectors faultInjectors;
+
+    public FaultInjectionEndpoint(FaultInjectors faultInjectors, Readiness readiness) {
+        super(readiness);
+        this.faultInjectors = faultInjectors;
+    }
+
+    public record Faults(boolean enabled, List<FaultInjector.Status> dependencies) {}
+
+    @Get("/faults")
+    public Faults list() {
+        return new Faults(faultInjectors.enabled(), faultInjectors.all().stream().map(FaultInjector::status).toList());
+    }
+
+    @Put("/faults/{dependency}")
+    public FaultInjector.Status set(String dependency, FaultProfile profile) {
+        var injector = injector(dependency);
+        injector.set(profile);
+        return injector.status();
+    }
+
+    /** Back to the configured profile. */
+    @Delete("/faults/{dependency}")
+    public FaultInjector.Status reset(String dependency) {
+        var injector = injector(dependency);
+        injector.reset();
+        return injector.status();
+    }
+
+    private FaultInjector injector(String dependency) {
+        if (!faultInjectors.enabled()) {
+            throw HttpException.badRequest("Fault injection is disabled (court-onboarding.fault-injection.enabled)");
+        }
+        return faultInjectors.find(dependency).orElseThrow(() -> HttpException.notFound());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.api;
+
+import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.StatusCodes;
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import akka.javasdk.http.HttpResponses;
+import com.example.application.Readiness;
+
+/** Readiness of this node for load balancers and deploy checks: 503 until warm-up has finished. */
+@HttpEndpoint("/health")
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
+public class HealthEndpoint {
+
+    private final Readiness readiness;
+
+    public HealthEndpoint(Readiness readiness) {
+        this.readiness = readiness;
+    }
+
+    @Get("/ready")
+    public HttpResponse ready() {
+        var snapshot = readiness.snapshot();
+        if (snapshot.ready()) {
+            return HttpResponses.ok(snapshot);
+        }
+        return HttpResponses.ok(snapshot).withStatus(StatusCodes.SERVICE_UNAVAILABLE);
+    }
+}
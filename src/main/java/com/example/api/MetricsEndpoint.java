@@ -0,0 +1,89 @@
+package com.example.api;
+
+import akka.javasdk.annotations.Acl;
+import akka.javasdk.annotations.http.Get;
+import akka.javasdk.annotations.http.HttpEndpoint;
+import com.example.application.AgentInteractionLog;
+import com.example.application.AgentLatencyTracker;
+import com.example.application.DependencyGuard;
+import com.example.application.DependencyGuards;
+import com.example.application.OutboxStats;
+import com.example.application.Readiness;
+import com.example.application.ScreeningBatcher;
+import com.example.application.StructuredOutputStats;
+
+import java.util.List;
+
+/**
+ * Node-local operational metrics. Durable per-case metrics are in the KPI dashboard (/cases/kpi).
+ */
+@HttpEndpoint("/metrics")
+@Acl(allow = @Acl.Matcher(principal = Acl.Principal.ALL))
+public class MetricsEndpoint extends ApiEndpoint {
+
+    private final AgentLatencyTracker latencyTracker;
+    private final DependencyGuards dependencyGuards;
+    private final OutboxStats outboxStats;
+    private final StructuredOutputStats structuredOutputStats;
+    private final ScreeningBatcher screeningBatcher;
+    private final AgentInteractionLog interactionLog;
+    private final Readiness readiness;
+
+    public MetricsEndpoint(AgentLatencyTracker latencyTracker,
+                           DependencyGuards dependencyGuards,
+                           OutboxStats outboxStats,
+                           StructuredOutputStats structuredOutputStats,
+                           ScreeningBatcher screeningBatcher,
+                           AgentInteractionLog interactionLog,
+                           Readiness readiness) {
+        super(readiness);
+        this.latencyTracker = latencyTracker;
+        this.dependencyGuards = dependencyGuards;
+        this.outboxStats = outboxStats;
+        this.structuredOutputStats = structuredOutputStats;
+        this.screeningBatcher = screeningBatcher;
+        this.interactionLog = interactionLog;
+        this.readiness = readiness;
+    }
+
+    public record AgentLatencies(List<AgentLatencyTracker.StepLatency> steps) {}
+
+    public record Dependencies(List<DependencyGuard.Status> dependencies) {}
+
+    public record StructuredOutputs(List<StructuredOutputStats.TypeStats> types) {}
+
+    @Get("/agent-latency")
+    public AgentLatencies agentLatency() {
+        return new AgentLatencies(latencyTracker.snapshot());
+    }
+
+    @Get("/dependencies")
+    public Dependencies dependencies() {
+        return new Dependencies(dependencyGuards.status());
+    }
+
+    @Get("/outbox")
+    public OutboxStats.Snapshot outbox() {
+        return outboxStats.snapshot();
+    }
+
+    @Get("/structured-output")
+    public StructuredOutputs structuredOutput() {
+        return new StructuredOutputs(structuredOutputStats.snapshot());
+    }
+
+    @Get("/screening-batches")
+    public ScreeningBatcher.Stats screeningBatches() {
+        return screeningBatcher.stats();
+    }
+
+    @Get("/agent-recording")
+    public AgentInteractionLog.Summary agentRecording() {
+        return interactionLog.summary();
+    }
+
+    @Get("/warm-up")
+    public Readiness.Snapshot warmUp() {
+        return readiness.snapshot();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.application;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Runs an agent call within its workflow step budget. Each attempt gets a budget derived from the
+ * observed latency percentile of the step; once the first request passes the hedge percentile a
+ * second, hedged request is sent in its own session and the first successful answer wins. Failed
+ * attempts are retried with exponential backoff and full jitter while the step budget allows.
+ * Hedge delays, attempt budgets and backoff run on timers rather than on the caller's thread.
+ */
+public class AgentCallPolicy {
+
+    private static final long SAFETY_MARGIN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AgentCallSettings settings;
+    private final AgentLatencyTracker tracker;
+
+    public AgentCallPolicy(AgentCallSettings settings, AgentLatencyTracker tracker) {
+        this.settings = settings;
+        this.tracker = tracker;
+    }
+
+    public static class AgentCallFailedException extends RuntimeException {
+        public AgentCallFailedException(String step, int attempts, Throwable cause) {
+            super("Agent call for step '" + step + "' failed after " + attempts + " attempt(s)", cause);
+        }
+    }
+
+    private record Answer<T>(T value, boolean hedged) {}
+
+    /**
+     * Waits for {@link #callAsync}, as workflow steps are synchronous.
+     *
+     * @param sessionId session of the primary request; hedged requests use a derived session
+     * @param invoke    sends one agent request in the given session
+     */
+    public <T> T call(String step, String sessionId, Function<String, CompletionStage<T>> invoke) {
+        try {
+            return callAsync(step, sessionId, invoke).toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AgentCallFailedException failed) {
+                throw failed;
+            }
+            throw new AgentCallFailedException(step, 0, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AgentCallFailedException(step, 0, e);
+        }
+    }
+
+    /** Completes with the first successful answer, or fails with {@link AgentCallFailedException}. */
+    public <T> CompletionStage<T> callAsync(String step, String sessionId, Function<String, CompletionStage<T>> invoke) {
+        return callAsync(step, settings.stepTimeout(step), sessionId, invoke);
+    }
+
+    /**
+     * As {@link #callAsync(String, String, Function)}, within the given time budget instead of the
+     * step's configured timeout, e.g. for a call that is only part of a step.
+     */
+    public <T> CompletionStage<T> callAsync(String step, Duration timeout, String sessionId,
+                                            Function<String, CompletionStage<T>> invoke) {
+        long timeoutNanos = timeout.toNanos();
+        long deadline = System.nanoTime() + timeoutNanos - SAFETY_MARGIN_NANOS;
+        return attempts(step, timeoutNanos, sessionId, invoke, deadline, 1, null);
+    }
+
+    private <T> CompletableFuture<T> attempts(String step, long timeoutNanos, String sessionId,
+                                              Function<String, CompletionStage<T>> invoke,
+                                              long deadline, int attempt, Throwable lastError) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return CompletableFuture.failedFuture(new AgentCallFailedException(step, attempt - 1, lastError));
+        }
+        return attempt(step, sessionId, attempt, Math.min(remaining, attemptBudgetNanos(step, timeoutNanos)), invoke)
+            .exceptionallyCompose(error -> {
+                var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (attempt >= settings.maxAttempts()) {
+                    return CompletableFuture.failedFuture(new AgentCallFailedException(step, attempt, cause));
+                }
+                tracker.recordRetry(step);
+                long backoff = Math.max(0, Math.min(backoffNanos(attempt), deadline - System.nanoTime()));
+                return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(backoff, TimeUnit.NANOSECONDS))
+                    .thenCompose(ignored -> attempts(step, timeoutNanos, sessionId, invoke, deadline, attempt + 1, cause));
+            });
+    }
+
+    /**
+     * One attempt: the primary request and, once it passes the hedge delay, a hedged request. The
+     * request that did not answer first, and both when the attempt budget runs out, are cancelled.
+     */
+    private <T> CompletableFuture<T> attempt(String step, String sessionId, int attempt, long budgetNanos,
+                                             Function<String, CompletionStage<T>> invoke) {
+        long start = System.nanoTime();
+        var result = new CompletableFuture<Answer<T>>();
+        var hedge = new AtomicReference<CompletableFuture<T>>();
+        var primary = invoke.apply(sessionId).toCompletableFuture();
+        primary.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(new Answer<>(value, false));
+            } else if (hedge.get() == null || hedge.get().isCompletedExceptionally()) {
+                result.completeExceptionally(error);
+            }
+        });
+
+        long hedgeDelay = settings.hedging() ? hedgeDelayNanos(step) : budgetNanos;
+        if (hedgeDelay < budgetNanos) {
+            CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.NANOSECONDS).execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                var hedged = invoke.apply(sessionId + "-hedge-" + attempt).toCompletableFuture();
+                hedge.set(hedged);
+                if (result.isDone()) {
+                    hedged.cancel(true);
+                    return;
+                }
+                hedged.whenComplete((value, error) -> {
+                    if (error == null) {
+                        result.complete(new Answer<>(value, true));
+                    } else if (primary.isCompletedExceptionally()) {
+                        result.completeExceptionally(error);
+                    }
+                });
+            });
+        }
+
+        return result
+            .orTimeout(budgetNanos, TimeUnit.NANOSECONDS)
+            .whenComplete((answer, error) -> {
+                primary.cancel(true);
+                var hedged = hedge.get();
+                if (hedged != null) {
+                    hedged.cancel(true);
+                }
+                if (answer != null) {
+                    if (hedged != null) {
+                        tracker.recordHedge(step, answer.hedged());
+                    }
+                    tracker.recordSuccess(step, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            })
+            .thenApply(Answer::value);
+    }
+
+    long hedgeDelayNanos(String step) {
+        long observed = tracker.samples(step) >= settings.minSamples()
+            ? tracker.percentile(step, settings.hedgePercentile())
+            : -1;
+        long delayMillis = observed >= 0 ? observed : settings.initialHedgeDelay().toMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, settings.minHedgeDelay().toMillis()));
+    }
+
+    long attemptBudgetNanos(String step) {
+        return attemptBudgetNanos(step, settings.stepTimeout(step).toNanos());
+    }
+
+    private long attemptBudgetNanos(String step, long stepTimeout) {
+        if (tracker.samples(step) < settings.minSamples()) {
+            return stepTimeout;
+        }
+        long derived = (long) (TimeUnit.MILLISECONDS.toNanos(tracker.percentile(step, settings.budgetPercentile()))
+            * settings.budgetMultiplier());
+        return Math.min(stepTimeout, Math.max(derived, settings.minAttemptBudget().toNanos()));
+    }
+
+    /** Full jitter: a random delay between zero and base * 2^(attempt - 1), capped at the maximum. */
+    long backoffNanos(int attempt) {
+        long cap = Math.min(
+            settings.backoffMax().toNanos(),
+            settings.backoffBase().toNanos() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public record AgentCallSettings(
+    boolean hedging,
+    double hedgePercentile,
+    Duration initialHedgeDelay,
+    Duration minHedgeDelay,
+    double budgetPercentile,
+    double budgetMultiplier,
+    Duration minAttemptBudget,
+    int minSamples,
+    int maxAttempts,
+    Duration backoffBase,
+    Duration backoffMax,
+    int stepRetries,
+    Map<String, Duration> stepTimeouts
+) {
+
+    public static AgentCallSettings fromConfig(Config config) {
+        var calls = config.getConfig("court-onboarding.agent-calls");
+        return new AgentCallSettings(
+            calls.getBoolean("hedging"),
+            calls.getDouble("hedge-percentile"),
+            calls.getDuration("initial-hedge-delay"),
+            calls.getDuration("min-hedge-delay"),
+            calls.getDouble("budget-percentile"),
+            calls.getDouble("budget-multiplier"),
+            calls.getDuration("min-attempt-budget"),
+            calls.getInt("min-samples"),
+            calls.getInt("max-attempts"),
+            calls.getDuration("backoff.base"),
+            calls.getDuration("backoff.max"),
+            calls.getInt("step-retries"),
+            stepTimeouts(calls.getConfig("step-timeouts")));
+    }
+
+    /** Overall time budget of a workflow step, used as its step timeout. */
+    public Duration stepTimeout(String step) {
+        var timeout = stepTimeouts.get(step);
+        if (timeout == null) {
+            throw new IllegalArgumentException("No step timeout configured for step: " + step);
+        }
+        return timeout;
+    }
+
+    private static Map<String, Duration> stepTimeouts(Config timeouts) {
+        var result = new HashMap<String, Duration>();
+        for (var step : timeouts.root().keySet()) {
+            result.put(step, timeouts.getDuration(step));
+        }
+        return Map.copyOf(result);
+    }
+}
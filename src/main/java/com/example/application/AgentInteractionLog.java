@@ -0,0 +1,236 @@
+package com.example.application;
+
+import akka.javasdk.JsonSupport;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.typesafe.config.Config;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Records agent responses and tool calls with their latencies to an NDJSON file, or replays a
+ * recorded file in place of the model. In replay mode every agent request for a step and case is
+ * answered with the next recorded attempt for that step and case, after its recorded latency, so
+ * captured traffic can be run through the workflow to compare throughput and latency between builds.
+ */
+public class AgentInteractionLog {
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    /**
+     * One line of the log. An agent interaction is keyed by step and case number; a tool call by
+     * tool name and argument. Failed calls have an error instead of a response.
+     */
+    public record Interaction(
+        String kind,
+        String name,
+        String key,
+        long startedAtMillis,
+        long latencyMillis,
+        JsonNode response,
+        String error
+    ) {}
+
+    public record Summary(Mode mode, String file, long recorded, long replayed, long missing, long writeErrors) {}
+
+    public static class NoRecordingException extends RuntimeException {
+        public NoRecordingException(String step, String caseNumber) {
+            super("No recorded " + step + " interaction for case " + caseNumber);
+        }
+    }
+
+    public static class RecordedFailureException extends RuntimeException {
+        public RecordedFailureException(String error) {
+            super("Recorded failure: " + error);
+        }
+    }
+
+    private static final String AGENT = "agent";
+    private static final String TOOL = "tool";
+
+    private final Mode mode;
+    private final Path file;
+    private final BufferedWriter writer;
+    private final Map<String, List<Interaction>> recordings;
+    private final Map<String, AtomicInteger> cursors = new HashMap<>();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+    private final LongAdder writeErrors = new LongAdder();
+
+    private AgentInteractionLog(Mode mode, Path file) {
+        this.mode = mode;
+        this.file = file;
+        this.writer = mode == Mode.RECORD ? openForAppend(file) : null;
+        this.recordings = mode == Mode.REPLAY ? load(file) : Map.of();
+    }
+
+    public static AgentInteractionLog off() {
+        return new AgentInteractionLog(Mode.OFF, null);
+    }
+
+    public static AgentInteractionLog recording(Path file) {
+        return new AgentInteractionLog(Mode.RECORD, file);
+    }
+
+    public static AgentInteractionLog replaying(Path file) {
+        return new AgentInteractionLog(Mode.REPLAY, file);
+    }
+
+    public static AgentInteractionLog fromConfig(Config config) {
+        var recording = config.getConfig("court-onboarding.agent-recording");
+        var file = Path.of(recording.getString("file"));
+        return switch (recording.getString("mode")) {
+            case "off" -> off();
+            case "record" -> recording(file);
+            case "replay" -> replaying(file);
+            default -> throw new IllegalArgumentException("Unknown agent recording mode: " + recording.getString("mode"));
+        };
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Wraps an agent invocation for the given step and case: records its response when recording,
+     * answers from the recording instead of invoking the agent when replaying.
+     */
+    public <T> Function<String, CompletionStage<T>> around(String step, String caseNumber, Class<T> type,
+                                                           Function<String, CompletionStage<T>> invoke) {
+        return switch (mode) {
+            case OFF -> invoke;
+            case RECORD -> session -> {
+                long startedAt = System.currentTimeMillis();
+                long start = System.nanoTime();
+                return invoke.apply(session).whenComplete((value, error) ->
+                    append(AGENT, step, caseNumber, startedAt, start, value, error));
+            };
+            case REPLAY -> session -> replay(step, caseNumber, type);
+        };
+    }
+
+    /** Records a tool call made by an agent; a plain call unless recording. */
+    public <T> T aroundTool(String tool, String argument, Supplier<T> call) {
+        if (mode != Mode.RECORD) {
+            return call.get();
+        }
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            T value = call.get();
+            append(TOOL, tool, argument, startedAt, start, value, null);
+            return value;
+        } catch (RuntimeException e) {
+            append(TOOL, tool, argument, startedAt, start, null, e);
+            throw e;
+        }
+    }
+
+    public Summary summary() {
+        return new Summary(mode, file == null ? null : file.toString(),
+            recorded.sum(), replayed.sum(), missing.sum(), writeErrors.sum());
+    }
+
+    private <T> CompletionStage<T> replay(String step, String caseNumber, Class<T> type) {
+        var key = key(step, caseNumber);
+        var attempts = recordings.get(key);
+        if (attempts == null) {
+            missing.increment();
+            return CompletableFuture.failedFuture(new NoRecordingException(step, caseNumber));
+        }
+        AtomicInteger cursor;
+        synchronized (cursors) {
+            cursor = cursors.computeIfAbsent(key, k -> new AtomicInteger());
+        }
+        var interaction = attempts.get(Math.floorMod(cursor.getAndIncrement(), attempts.size()));
+        replayed.increment();
+        var delayed = CompletableFuture.delayedExecutor(interaction.latencyMillis(), TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> {
+            if (interaction.error() != null) {
+                throw new RecordedFailureException(interaction.error());
+            }
+            try {
+                return JsonSupport.getObjectMapper().treeToValue(interaction.response(), type);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, delayed);
+    }
+
+    private void append(String kind, String name, String key, long startedAt, long startNanos, Object value, Throwable error) {
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        var interaction = new Interaction(kind, name, key, startedAt, latency,
+            error == null ? JsonSupport.getObjectMapper().valueToTree(value) : null,
+            error == null ? null : rootMessage(error));
+        try {
+            var line = JsonSupport.getObjectMapper().writeValueAsString(interaction);
+            synchronized (writer) {
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            }
+            recorded.increment();
+        } catch (IOException e) {
+            writeErrors.increment();
+        }
+    }
+
+    private static String rootMessage(Throwable error) {
+        var root = error;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+
+    private static String key(String step, String caseNumber) {
+        return step + '\u0000' + caseNumber;
+    }
+
+    private static BufferedWriter openForAppend(Path file) {
+        try {
+            return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open agent recording " + file, e);
+        }
+    }
+
+    private static Map<String, List<Interaction>> load(Path file) {
+        var recordings = new HashMap<String, List<Interaction>>();
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            for (var line : (Iterable<String>) lines::iterator) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                var interaction = JsonSupport.getObjectMapper().readValue(line, Interaction.class);
+                if (AGENT.equals(interaction.kind())) {
+                    recordings.computeIfAbsent(key(interaction.name(), interaction.key()), k -> new ArrayList<>())
+                        .add(interaction);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load agent recording " + file, e);
+        }
+        return recordings;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.application;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rolling window of observed agent call latencies per workflow step, shared by all workflow
+ * instances on this node. Percentiles drive hedge delays and per-attempt budgets in
+ * {@link AgentCallPolicy}.
+ */
+public class AgentLatencyTracker {
+
+    public record StepLatency(
+        String step,
+        int samples,
+        long p50Millis,
+        long p95Millis,
+        long p99Millis,
+        long calls,
+        long hedges,
+        long hedgeWins,
+        long retries
+    ) {}
+
+    private final int windowSize;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public AgentLatencyTracker(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public void recordSuccess(String step, long latencyMillis) {
+        window(step).record(latencyMillis);
+    }
+
+    public void recordHedge(String step, boolean hedgeWon) {
+        var window = window(step);
+        window.hedges.increment();
+        if (hedgeWon) {
+            window.hedgeWins.increment();
+        }
+    }
+
+    public void recordRetry(String step) {
+        window(step).retries.increment();
+    }
+
+    public int samples(String step) {
+        return window(step).count();
+    }
+
+    /** @return the latency at the given percentile (0.0 - 1.0), or -1 when nothing was observed yet */
+    public long percentile(String step, double percentile) {
+        return window(step).percentile(percentile);
+    }
+
+    public List<StepLatency> snapshot() {
+        return windows.entrySet().stream()
+            .map(entry -> {
+                var window = entry.getValue();
+                return new StepLatency(
+                    entry.getKey(),
+                    window.count(),
+                    window.percentile(0.50),
+                    window.percentile(0.95),
+                    window.percentile(0.99),
+                    window.calls.sum(),
+                    window.hedges.sum(),
+                    window.hedgeWins.sum(),
+                    window.retries.sum());
+            })
+            .sorted(Comparator.comparing(StepLatency::step))
+            .toList();
+    }
+
+    private Window window(String step) {
+        return windows.computeIfAbsent(step, s -> new Window(windowSize));
+    }
+
+    private static final class Window {
+        private final long[] samples;
+        private int next;
+        private int count;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder hedgeWins = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+
+        Window(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long latencyMillis) {
+            calls.increment();
+            samples[next] = latencyMillis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized long percentile(double percentile) {
+            if (count == 0) {
+                return -1;
+            }
+            var sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+    }
+}
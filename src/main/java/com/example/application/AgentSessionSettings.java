@@ -0,0 +1,22 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.util.Locale;
+
+public record AgentSessionSettings(Scope scope, boolean compaction) {
+
+    /**
+     * How agent sessions are keyed for a case. SHARED keeps every agent of a case in one session,
+     * PER_AGENT gives each agent its own session within the case and PER_INVOCATION starts a fresh
+     * session for every agent call.
+     */
+    public enum Scope { SHARED, PER_AGENT, PER_INVOCATION }
+
+    public static AgentSessionSettings fromConfig(Config config) {
+        var sessions = config.getConfig("court-onboarding.agent-sessions");
+        return new AgentSessionSettings(
+            Scope.valueOf(sessions.getString("scope").toUpperCase(Locale.ROOT).replace('-', '_')),
+            sessions.getBoolean("compaction"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.application;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.keyvalueentity.KeyValueEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * KPI totals of the archived cases, which have left {@link KPIDashboardView}; the KPI summary starts
+ * from these and adds the live rows. A single instance ({@link #ID}) is updated by
+ * {@link CaseProcessingWorkflow} when it archives a case, once per workflow among the most recent.
+ */
+@Component(id = "archived-kpi-totals")
+public class ArchivedKpiTotalsEntity extends KeyValueEntity<ArchivedKpiTotalsEntity.ArchivedTotals> {
+
+    public static final String ID = "all";
+    static final int RECENT_WORKFLOWS = 1000;
+
+    public record ArchivedTotals(KPIDashboardView.KPISummary.Totals totals, List<String> recentWorkflows) {
+        public ArchivedTotals {
+            if (totals == null) {
+                totals = KPIDashboardView.KPISummary.Totals.ZERO;
+            }
+            if (recentWorkflows == null) {
+                recentWorkflows = List.of();
+            }
+        }
+    }
+
+    @Override
+    public ArchivedTotals emptyState() {
+        return new ArchivedTotals(KPIDashboardView.KPISummary.Totals.ZERO, List.of());
+    }
+
+    public Effect<Done> add(KPIDashboardView.KPIEntry entry) {
+        if (currentState().recentWorkflows().contains(entry.workflowId())) {
+            return effects().reply(Done.getInstance());
+        }
+        var recent = new ArrayList<>(currentState().recentWorkflows());
+        recent.add(entry.workflowId());
+        if (recent.size() > RECENT_WORKFLOWS) {
+            recent.remove(0);
+        }
+        return effects()
+            .updateState(new ArchivedTotals(currentState().totals().add(entry), List.copyOf(recent)))
+            .thenReply(Done.getInstance());
+    }
+
+    public ReadOnlyEffect<KPIDashboardView.KPISummary.Totals> get() {
+        return effects().reply(currentState().totals());
+    }
+}
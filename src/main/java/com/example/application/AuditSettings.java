@@ -0,0 +1,11 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+public record AuditSettings(boolean prechecks) {
+
+    public static AuditSettings fromConfig(Config config) {
+        var audit = config.getConfig("court-onboarding.audit");
+        return new AuditSettings(audit.getBoolean("prechecks"));
+    }
+}
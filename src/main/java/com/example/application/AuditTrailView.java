@@ -6,36 +6,52 @@ import akka.javasdk.annotations.Query;
 import akka.javasdk.view.TableUpdater;
 import akka.javasdk.view.View;
 import com.example.domain.CaseState;
+import com.example.domain.CaseStatus;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Component(id = "audit-trail-view")
 public class AuditTrailView extends View {
 
     public record AuditTrailEntry(
         String caseNumber,
+        String workflowId,
         String status,
         boolean hasScreening,
         boolean hasSecretariat,
         boolean hasAudit,
         boolean hasDraft,
-        int citationCount
+        int citationCount,
+        int verifiedCitations,
+        int unverifiedCitations,
+        Instant statusChangedAt
     ) {}
 
     public record AuditTrailEntries(List<AuditTrailEntry> entries) {}
 
+    public record AuditTrailPage(List<AuditTrailEntry> entries, boolean hasMore) {}
+
     @Consume.FromWorkflow(CaseProcessingWorkflow.class)
     public static class AuditTrailUpdater extends TableUpdater<AuditTrailEntry> {
 
         public Effect<AuditTrailEntry> onUpdate(CaseState state) {
+            if (state.status() == CaseStatus.ARCHIVED) {
+                return effects().deleteRow();
+            }
             return effects().updateRow(new AuditTrailEntry(
                 state.caseNumber(),
+                updateContext().eventSubject().orElse(""),
                 state.status().name(),
                 state.screening() != null,
                 state.secretariat() != null,
                 state.audit() != null,
                 state.draft() != null,
-                state.draft() != null ? state.draft().citations().size() : 0
+                state.draft() != null ? state.draft().citations().size() : 0,
+                state.citationCheck() != null ? state.citationCheck().verified() : 0,
+                state.citationCheck() != null ? state.citationCheck().unverifiedCount() : 0,
+                state.statusChangedAt()
             ));
         }
     }
@@ -45,8 +61,19 @@ public class AuditTrailView extends View {
         return queryResult();
     }
 
+    @Query("""
+        SELECT * AS entries, has_more() AS hasMore FROM audit_trail
+        WHERE statusChangedAt >= :from AND statusChangedAt < :to AND status = ANY(:statuses)
+          AND (caseNumber > :after OR (caseNumber = :after AND workflowId > :afterWorkflowId))
+        ORDER BY caseNumber, workflowId
+        LIMIT :limit
+        """)
+    public QueryEffect<AuditTrailPage> getExportPage(ExportPage page) {
+        return queryResult();
+    }
+
     @Query("SELECT * FROM audit_trail WHERE caseNumber = :caseNumber")
-    public QueryEffect<AuditTrailEntry> getByCaseNumber(String caseNumber) {
+    public QueryEffect<Optional<AuditTrailEntry>> getByCaseNumber(String caseNumber) {
         return queryResult();
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.application;
+
+import akka.javasdk.agent.Agent;
+import akka.javasdk.agent.MemoryProvider;
+import akka.javasdk.annotations.Component;
+import com.example.domain.CourtSystemService;
+
+import java.util.List;
+
+/**
+ * Screens several cases in one model request. The reply is returned as-is; {@link ScreeningBatcher}
+ * validates every element and replays the cases individually if any of them is invalid.
+ */
+@Component(id = "batch-screening-agent")
+public class BatchScreeningAgent extends Agent {
+
+    private static final String SYSTEM_MESSAGE = """
+        You are a court screening clerk. You are given several case numbers. For EACH case,
+        use the searchCase tool to retrieve the case data. Then classify:
+        1. The procedure type (ORDINARY, SUMMARY, or FAST_TRACK)
+        2. The urgency level (LOW, MEDIUM, HIGH, or URGENT)
+        3. Whether all required documents are present
+        If documents are missing, list them.
+
+        Respond ONLY with a JSON object in this exact format, no other text, with one
+        entry per case number in the order given:
+        {
+          "results": [
+            {
+              "caseNumber": "CASE-2024-001",
+              "procedureType": "ORDINARY",
+              "urgency": "MEDIUM",
+              "documentsComplete": true,
+              "missingDocuments": []
+            }
+          ]
+        }
+        Enum values must be plain strings, not objects.
+        """.stripIndent();
+
+    private final CourtSystemService courtSystemService;
+
+    public BatchScreeningAgent(CourtSystemService courtSystemService) {
+        this.courtSystemService = courtSystemService;
+    }
+
+    public record BatchRequest(List<String> caseNumbers) {}
+
+    public Effect<String> process(BatchRequest request) {
+        return effects()
+            .memory(MemoryProvider.none())
+            .systemMessage(SYSTEM_MESSAGE)
+            .tools(courtSystemService)
+            .userMessage("Screen these case numbers: " + String.join(", ", request.caseNumbers()))
+            .thenReply();
+    }
+}
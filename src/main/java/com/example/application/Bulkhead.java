@@ -0,0 +1,45 @@
+package com.example.application;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Bounds the number of concurrent calls to one dependency; callers wait at most {@code maxWait} for a slot. */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(int maxConcurrent, Duration maxWait) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public boolean tryAcquire() {
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.application;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.Query;
+import akka.javasdk.view.TableUpdater;
+import akka.javasdk.view.View;
+import com.example.domain.CaseState;
+import com.example.domain.CaseStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cold tier: one compact row per archived case. Archived cases are deleted from the queue and audit
+ * trail views, which stay sized to open and recently finished cases, and from the KPI dashboard, whose
+ * summary adds their totals from {@link ArchivedKpiTotalsEntity}. The audit trail export reads them here.
+ */
+@Component(id = "case-archive-view")
+public class CaseArchiveView extends View {
+
+    public record ArchivedCase(
+        String caseNumber,
+        String workflowId,
+        String procedureType,
+        String urgency,
+        boolean auditConsistent,
+        int auditIssueCount,
+        int actCount,
+        int citationCount,
+        int verifiedCitations,
+        int unverifiedCitations,
+        Instant archivedAt
+    ) {
+
+        public AuditTrailView.AuditTrailEntry toAuditTrailEntry() {
+            return new AuditTrailView.AuditTrailEntry(
+                caseNumber,
+                workflowId,
+                CaseStatus.ARCHIVED.name(),
+                procedureType != null,
+                actCount > 0,
+                true,
+                true,
+                citationCount,
+                verifiedCitations,
+                unverifiedCitations,
+                archivedAt);
+        }
+    }
+
+    @Consume.FromWorkflow(CaseProcessingWorkflow.class)
+    public static class CaseArchiveUpdater extends TableUpdater<ArchivedCase> {
+
+        public Effect<ArchivedCase> onUpdate(CaseState state) {
+            if (state.status() != CaseStatus.ARCHIVED) {
+                return effects().ignore();
+            }
+            return effects().updateRow(new ArchivedCase(
+                state.caseNumber(),
+                updateContext().eventSubject().orElse(""),
+                state.screening() != null ? state.screening().procedureType().name() : null,
+                state.screening() != null ? state.screening().urgency().name() : null,
+                state.audit() != null && state.audit().consistent(),
+                state.audit() != null ? state.audit().issues().size() : 0,
+                state.secretariat() != null ? state.secretariat().generatedActs().size() : 0,
+                state.draft() != null ? state.draft().citations().size() : 0,
+                state.citationCheck() != null ? state.citationCheck().verified() : 0,
+                state.citationCheck() != null ? state.citationCheck().unverifiedCount() : 0,
+                state.statusChangedAt()
+            ));
+        }
+    }
+
+    public record ArchivePage(List<ArchivedCase> entries, boolean hasMore) {}
+
+    @Query("SELECT * FROM case_archive WHERE caseNumber = :caseNumber")
+    public QueryEffect<Optional<ArchivedCase>> findByCaseNumber(String caseNumber) {
+        return queryResult();
+    }
+
+    /** Same paging as the audit trail export, on the time of archiving; the statuses are not used. */
+    @Query("""
+        SELECT * AS entries, has_more() AS hasMore FROM case_archive
+        WHERE archivedAt >= :from AND archivedAt < :to
+          AND (caseNumber > :after OR (caseNumber = :after AND workflowId > :afterWorkflowId))
+        ORDER BY caseNumber, workflowId
+        LIMIT :limit
+        """)
+    public QueryEffect<ArchivePage> getExportPage(ExportPage page) {
+        return queryResult();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.application;
+
+import com.example.domain.CaseDocuments;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Layout of the case data files read by {@link FileBackedCourtSystemService}.
+ * <p>
+ * {@code cases.dat} holds the records back to back: content length and UTF-8 bytes, then the
+ * attachment count and each attachment name. A record never crosses a segment boundary
+ * ({@link #SEGMENT_SIZE} unless written otherwise), so every record fits in a single mapped segment.
+ * <p>
+ * {@code cases.idx} is a header (magic, entry count, segment size) followed by fixed-size entries
+ * sorted by case number: the case number as zero-padded UTF-8 of {@link #KEY_BYTES} bytes and the
+ * record offset.
+ */
+public final class CaseDataFile {
+
+    public static final String DATA_FILE = "cases.dat";
+    public static final String INDEX_FILE = "cases.idx";
+
+    static final int MAGIC = 0x43415345; // "CASE"
+    static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES;
+    static final int KEY_BYTES = 32;
+    static final int ENTRY_BYTES = KEY_BYTES + Long.BYTES;
+    static final long SEGMENT_SIZE = 1L << 30;
+    /** The index is mapped as a single buffer, so it stays under 2 GB. */
+    public static final int MAX_CASES = (Integer.MAX_VALUE - HEADER_BYTES) / ENTRY_BYTES;
+
+    private CaseDataFile() {}
+
+    /** The index key of the case number, or null if it is longer than {@link #KEY_BYTES} bytes. */
+    static byte[] key(String caseNumber) {
+        var bytes = caseNumber.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > KEY_BYTES ? null : Arrays.copyOf(bytes, KEY_BYTES);
+    }
+
+    /** Appends cases in ascending case-number order and writes the index on close. */
+    public static final class Writer implements AutoCloseable {
+
+        private final DataOutputStream data;
+        private final DataOutputStream index;
+        private final Path indexFile;
+        private final long segmentSize;
+        private long offset;
+        private int count;
+        private byte[] lastKey;
+
+        public Writer(Path directory) throws IOException {
+            this(directory, SEGMENT_SIZE);
+        }
+
+        Writer(Path directory, long segmentSize) throws IOException {
+            if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Segment size must be between 1 byte and 2 GB: " + segmentSize);
+            }
+            Files.createDirectories(directory);
+            this.segmentSize = segmentSize;
+            this.data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(DATA_FILE)), 1 << 16));
+            this.indexFile = directory.resolve(INDEX_FILE);
+            this.index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile), 1 << 16));
+            index.writeInt(MAGIC);
+            index.writeInt(0);
+            index.writeLong(segmentSize);
+        }
+
+        public void append(CaseDocuments documents) throws IOException {
+            if (count == MAX_CASES) {
+                throw new IllegalStateException("Case data holds at most " + MAX_CASES + " cases");
+            }
+            var key = key(documents.caseNumber());
+            if (key == null) {
+                throw new IllegalArgumentException("Case number longer than " + KEY_BYTES + " bytes: " + documents.caseNumber());
+            }
+            if (lastKey != null && Arrays.compareUnsigned(lastKey, key) >= 0) {
+                throw new IllegalArgumentException("Cases must be appended in ascending order: " + documents.caseNumber());
+            }
+            var content = documents.content().getBytes(StandardCharsets.UTF_8);
+            var attachments = documents.attachedDocuments().stream()
+                .map(a -> a.getBytes(StandardCharsets.UTF_8))
+                .toList();
+            long size = Integer.BYTES + content.length + Integer.BYTES;
+            for (var attachment : attachments) {
+                size += Short.BYTES + attachment.length;
+            }
+            if (size > segmentSize) {
+                throw new IllegalArgumentException("Case record larger than a segment: " + documents.caseNumber());
+            }
+            long segmentEnd = (offset / segmentSize + 1) * segmentSize;
+            if (offset + size > segmentEnd) {
+                data.write(new byte[(int) (segmentEnd - offset)]);
+                offset = segmentEnd;
+            }
+
+            index.write(key);
+            index.writeLong(offset);
+            data.writeInt(content.length);
+            data.write(content);
+            data.writeInt(attachments.size());
+            for (var attachment : attachments) {
+                data.writeShort(attachment.length);
+                data.write(attachment);
+            }
+            offset += size;
+            count++;
+            lastKey = key;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            data.close();
+            index.close();
+            try (var file = new RandomAccessFile(indexFile.toFile(), "rw")) {
+                file.seek(Integer.BYTES);
+                file.writeInt(count);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.application;
+
+import com.example.domain.CaseDocuments;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic court cases for {@link FileBackedCourtSystemService}.
+ * <p>
+ * Usage: {@code CaseDataGenerator <output-dir> <case-count> [seed]}
+ * <p>
+ * Cases are spread over several claim types and a pool of repeat defendants (mass filings). Body
+ * length is log-normal (median around 2 KB, long tail to ~200 KB) and attachment counts are
+ * geometric. Headers follow the format of {@link CourtSystemServiceStub}, so the rule-based
+ * screening and prechecks work on generated cases. Case numbers are {@code CASE-<year>-<sequence>},
+ * with the sequence zero-padded to at least 7 digits and to the width of the case count so they
+ * sort in sequence order, and filings spread evenly over five years from 2020.
+ */
+public final class CaseDataGenerator {
+
+    private record ClaimType(String title, String subject, String[] attachments, String[] facts) {}
+
+    private static final ClaimType[] CLAIM_TYPES = {
+        new ClaimType(
+            "Civil Liability Claim",
+            "Claim for damages arising from traffic accident",
+            new String[] {"police report", "medical report", "vehicle repair estimate", "insurance policy", "witness statement", "photographs"},
+            new String[] {
+                "The vehicles collided at an intersection controlled by traffic lights.",
+                "The plaintiff was taken to hospital and remained under observation for two days.",
+                "The defendant's insured driver admitted fault at the scene according to the police report.",
+                "Repair of the vehicle was estimated by an accredited workshop.",
+                "The plaintiff was unable to work during the recovery period."
+            }),
+        new ClaimType(
+            "Consumer Protection Claim",
+            "Claim for defective product delivered",
+            new String[] {"purchase invoice", "warranty certificate", "technical report", "customer service protocol", "photographs"},
+            new String[] {
+                "The product stopped working within the warranty period.",
+                "The plaintiff contacted customer service several times without a solution.",
+                "The technical report confirms a manufacturing defect.",
+                "The defendant refused to replace the product or refund the price paid.",
+                "The plaintiff seeks the refund of the price and compensation for moral damages."
+            }),
+        new ClaimType(
+            "Labor Claim",
+            "Claim for unpaid overtime and severance after dismissal",
+            new String[] {"employment contract", "pay slips", "time records", "termination notice", "bank statements"},
+            new String[] {
+                "The plaintiff worked regularly beyond the contractual hours without compensation.",
+                "The time records show shifts of up to twelve hours on weekdays.",
+                "The dismissal occurred without cause and severance was not paid in full.",
+                "Holiday pay for the last period was withheld by the employer.",
+                "The plaintiff requests payment of all amounts with legal interest."
+            }),
+        new ClaimType(
+            "Lease Eviction Claim",
+            "Eviction for non-payment of rent",
+            new String[] {"lease agreement", "payment notices", "extrajudicial notification", "property registration"},
+            new String[] {
+                "The tenant stopped paying rent and condominium fees.",
+                "An extrajudicial notification was delivered and ignored.",
+                "The lease agreement provides for termination after two months of default.",
+                "The landlord requests eviction and payment of the outstanding amounts.",
+                "The property is needed for the landlord's own use."
+            }),
+        new ClaimType(
+            "Tax Enforcement",
+            "Enforcement of unpaid municipal property tax",
+            new String[] {"certificate of outstanding debt", "tax assessment", "notification record"},
+            new String[] {
+                "The debt was registered after the administrative proceedings were closed.",
+                "The taxpayer was notified of the assessment and did not appeal.",
+                "Interest and penalties were applied as provided by municipal law.",
+                "The municipality requests the seizure of assets sufficient to cover the debt."
+            })
+    };
+
+    private static final String[] FIRST_NAMES = {"Maria", "Joao", "Ana", "Pedro", "Carla", "Lucas", "Fernanda", "Rafael", "Juliana", "Bruno"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa", "Almeida", "Ferreira", "Rocha"};
+    private static final String[] DEFENDANTS = {
+        "Auto Insurance Corp.", "National Telecom S.A.", "MegaStore Retail Ltd.", "Urban Transit Co.",
+        "City Bank S.A.", "Prime Airlines S.A.", "Municipality of Sao Paulo", "Global Logistics Ltd."
+    };
+
+    private static final LocalDate FIRST_FILING = LocalDate.of(2020, 1, 1);
+    private static final int FILING_DAYS = 5 * 365;
+
+    private final SplittableRandom random;
+    private final int total;
+    private final String caseNumberFormat;
+
+    public CaseDataGenerator(long seed, int total) {
+        this.random = new SplittableRandom(seed);
+        this.total = total;
+        this.caseNumberFormat = "CASE-%d-%0" + Math.max(7, Integer.toString(total).length()) + "d";
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CaseDataGenerator <output-dir> <case-count> [seed]");
+            System.exit(1);
+        }
+        var directory = Path.of(args[0]);
+        int count = Integer.parseInt(args[1]);
+        if (count < 1 || count > CaseDataFile.MAX_CASES) {
+            System.err.println("Case count must be between 1 and " + CaseDataFile.MAX_CASES);
+            System.exit(1);
+        }
+        var generator = new CaseDataGenerator(args.length > 2 ? Long.parseLong(args[2]) : 42L, count);
+
+        long started = System.nanoTime();
+        try (var writer = new CaseDataFile.Writer(directory)) {
+            for (int i = 1; i <= count; i++) {
+                writer.append(generator.generate(i));
+                if (i % 1_000_000 == 0) {
+                    System.out.println(i + " cases written");
+                }
+            }
+        }
+        System.out.printf(Locale.ROOT, "%d cases written to %s in %.1fs%n", count, directory, (System.nanoTime() - started) / 1e9);
+    }
+
+    public CaseDocuments generate(int sequence) {
+        var type = CLAIM_TYPES[random.nextInt(CLAIM_TYPES.length)];
+        // filed in sequence order, so case numbers (year, then sequence) come out sorted
+        var filed = FIRST_FILING.plusDays((long) sequence * FILING_DAYS / Math.max(1, total));
+        var event = filed.minusDays(10 + random.nextInt(300));
+        var notified = filed.plusDays(1 + random.nextInt(15));
+        var deadline = notified.plusDays(15);
+        var caseNumber = String.format(Locale.ROOT, caseNumberFormat, filed.getYear(), sequence);
+        var plaintiff = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        // a few defendants account for most filings
+        var defendant = DEFENDANTS[Math.min(DEFENDANTS.length - 1, (int) (-Math.log(1 - random.nextDouble()) * 2))];
+
+        int material = 1_000 * (1 + (int) Math.exp(random.nextGaussian() * 1.1 + 2.5));
+        int moral = random.nextInt(4) == 0 ? 0 : 1_000 * (1 + random.nextInt(30));
+        var attachments = attachments(type);
+
+        var content = new StringBuilder(4096);
+        content.append("Case ").append(caseNumber).append(" - ").append(type.title()).append('\n');
+        content.append("Plaintiff: ").append(plaintiff).append('\n');
+        content.append("Defendant: ").append(defendant).append('\n');
+        content.append("Filed: ").append(filed).append('\n');
+        content.append("Subject: ").append(type.subject()).append(" on ").append(event).append(".\n");
+        content.append("Plaintiff alleges material damage of ").append(reais(material));
+        if (moral > 0) {
+            content.append(" and moral damages of ").append(reais(moral));
+        }
+        content.append(".\n");
+        content.append("Defendant was notified on ").append(notified).append(".\n");
+        content.append("Response deadline: ").append(deadline).append(".\n");
+        if (!attachments.isEmpty()) {
+            content.append("Attached: ")
+                .append(String.join(", ", attachments.stream().map(a -> a.replace('_', ' ').replace(".pdf", "")).toList()))
+                .append(".\n");
+        }
+
+        // log-normal body length: median ~2 KB, occasionally ~200 KB
+        int bodyLength = (int) Math.min(200_000, Math.exp(random.nextGaussian() * 1.0 + 7.6));
+        content.append("\nStatement of facts:\n");
+        while (content.length() < bodyLength) {
+            content.append(type.facts()[random.nextInt(type.facts().length)]).append(' ');
+            if (random.nextInt(6) == 0) {
+                content.append('\n');
+            }
+        }
+        return new CaseDocuments(caseNumber, content.toString(), attachments);
+    }
+
+    private List<String> attachments(ClaimType type) {
+        var attachments = new ArrayList<String>();
+        // geometric count, mean around 3
+        while (attachments.size() < 20 && random.nextDouble() < 0.75) {
+            var name = type.attachments()[random.nextInt(type.attachments().length)];
+            attachments.add(name.replace(' ', '_') + "_" + (attachments.size() + 1) + ".pdf");
+        }
+        return attachments;
+    }
+
+    private static String reais(int amount) {
+        return String.format(Locale.ROOT, "R$ %,d", amount);
+    }
+}
@@ -6,25 +6,99 @@ import akka.javasdk.annotations.Component;
 import akka.javasdk.annotations.StepName;
 import akka.javasdk.client.ComponentClient;
 import akka.javasdk.workflow.Workflow;
+import akka.stream.Materializer;
 import com.example.domain.AuditResult;
+import com.example.domain.CaseContextSummary;
+import com.example.domain.CaseDocuments;
 import com.example.domain.CaseState;
 import com.example.domain.CaseStatus;
+import com.example.domain.CitationCheck;
+import com.example.domain.CitationIndex;
+import com.example.domain.ConsistencyPrechecks;
+import com.example.domain.CourtSystemService;
 import com.example.domain.DraftResult;
+import com.example.domain.DraftRevision;
+import com.example.domain.DraftStreamFormat;
+import com.example.domain.PreScreeningEngine;
+import com.example.domain.ProcessingStats.Speculation;
 import com.example.domain.ScreeningResult;
+import com.example.domain.SecretariatRules;
+import com.example.domain.SimilarCase;
+import com.example.domain.SimilarCaseIndex;
 import com.example.domain.SecretariatResult;
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 import static java.time.Duration.*;
 
 @Component(id = "case-processing")
 public class CaseProcessingWorkflow extends Workflow<CaseState> {
 
+    private static final Duration ARCHIVE_RETRY_DELAY = ofHours(1);
+
     private final ComponentClient componentClient;
     private final NotificationPublisher<String> notificationPublisher;
+    private final CourtSystemService courtSystemService;
+    private final Materializer materializer;
+    private final AgentSessionSettings sessionSettings;
+    private final ScreeningSettings screeningSettings;
+    private final SecretariatSettings secretariatSettings;
+    private final AuditSettings auditSettings;
+    private final DraftingSettings draftingSettings;
+    private final AgentCallSettings agentCallSettings;
+    private final AgentCallPolicy agentCalls;
+    private final CitationIndex citationIndex;
+    private final SimilarCaseIndex similarCaseIndex;
+    private final SimilarCaseSettings similarCaseSettings;
+    private final RetentionSettings retentionSettings;
+    private final ScreeningBatcher screeningBatcher;
+    private final SpeculativeDrafts speculativeDrafts;
+    private final AgentInteractionLog interactions;
+    private final TokenBudgetSettings tokenBudget;
 
     public CaseProcessingWorkflow(ComponentClient componentClient,
-                                   NotificationPublisher<String> notificationPublisher) {
+                                   NotificationPublisher<String> notificationPublisher,
+                                   CourtSystemService courtSystemService,
+                                   Materializer materializer,
+                                   AgentLatencyTracker latencyTracker,
+                                   CitationIndex citationIndex,
+                                   SimilarCaseIndex similarCaseIndex,
+                                   ScreeningBatcher screeningBatcher,
+                                   SpeculativeDrafts speculativeDrafts,
+                                   AgentInteractionLog interactions,
+                                   Config config) {
         this.componentClient = componentClient;
         this.notificationPublisher = notificationPublisher;
+        this.courtSystemService = courtSystemService;
+        this.materializer = materializer;
+        this.sessionSettings = AgentSessionSettings.fromConfig(config);
+        this.screeningSettings = ScreeningSettings.fromConfig(config);
+        this.secretariatSettings = SecretariatSettings.fromConfig(config);
+        this.auditSettings = AuditSettings.fromConfig(config);
+        this.draftingSettings = DraftingSettings.fromConfig(config);
+        this.agentCallSettings = AgentCallSettings.fromConfig(config);
+        this.agentCalls = new AgentCallPolicy(agentCallSettings, latencyTracker);
+        this.citationIndex = citationIndex;
+        this.similarCaseIndex = similarCaseIndex;
+        this.similarCaseSettings = SimilarCaseSettings.fromConfig(config);
+        this.retentionSettings = RetentionSettings.fromConfig(config);
+        this.screeningBatcher = screeningBatcher;
+        this.speculativeDrafts = speculativeDrafts;
+        this.interactions = interactions;
+        this.tokenBudget = TokenBudgetSettings.fromConfig(config);
     }
 
     public NotificationPublisher.NotificationStream<String> updates() {
@@ -84,7 +158,10 @@ public class CaseProcessingWorkflow extends Workflow<CaseState> {
             return effects().error("Case is not in failed state, current status: " + currentState().status());
         }
         return effects()
-            .updateState(currentState().withStatus(CaseStatus.RECEIVED))
+            .updateState(currentState()
+                .withStatus(CaseStatus.RECEIVED)
+                .withPendingDraft(null)
+                .withTokenUsage(currentState().tokenUsage().clearFailures()))
             .transitionTo(CaseProcessingWorkflow::screeningStep)
             .thenReply(Done.getInstance());
     }
@@ -102,6 +179,62 @@ public class CaseProcessingWorkflow extends Workflow<CaseState> {
             .thenReply(Done.getInstance());
     }
 
+    /**
+     * Moves a published case out of the live views into the archive, once the retention period passed.
+     * Its KPIs are added to the archived totals first, so the KPI summary keeps counting it.
+     */
+    public Effect<Done> archive() {
+        if (currentState() == null) {
+            return effects().error("Case not started");
+        }
+        if (currentState().status() == CaseStatus.ARCHIVED) {
+            return effects().reply(Done.getInstance());
+        }
+        if (currentState().status() != CaseStatus.PUBLISHED) {
+            return effects().error("Only published cases can be archived, current status: " + currentState().status());
+        }
+        return effects()
+            .transitionTo(CaseProcessingWorkflow::archiveStep)
+            .thenReply(Done.getInstance());
+    }
+
+    /** Grants a case paused with BUDGET_EXCEEDED more tokens and resumes the step it was paused in. */
+    public Effect<Done> raiseBudget(long tokens) {
+        if (currentState() == null) {
+            return effects().error("Case not started");
+        }
+        if (currentState().status() != CaseStatus.BUDGET_EXCEEDED) {
+            return effects().error("Case is not over its token budget, current status: " + currentState().status());
+        }
+        if (tokens <= 0) {
+            return effects().error("Budget raise must be positive");
+        }
+        var pausedStep = currentState().tokenUsage().pausedStep();
+        var state = currentState().withTokenUsage(currentState().tokenUsage().raise(tokens).clearFailures());
+        return switch (pausedStep) {
+            case "screening" -> effects()
+                .updateState(state.withStatus(CaseStatus.RECEIVED))
+                .transitionTo(CaseProcessingWorkflow::screeningStep)
+                .thenReply(Done.getInstance());
+            case "secretariat" -> effects()
+                .updateState(state.withStatus(CaseStatus.SCREENING_COMPLETE))
+                .transitionTo(CaseProcessingWorkflow::secretariatStep)
+                .thenReply(Done.getInstance());
+            case "audit" -> effects()
+                .updateState(state.withStatus(CaseStatus.SECRETARIAT_COMPLETE))
+                .transitionTo(CaseProcessingWorkflow::auditStep)
+                .thenReply(Done.getInstance());
+            case "drafting" -> effects()
+                .updateState(state.withStatus(CaseStatus.AUDIT_PASSED))
+                .transitionTo(CaseProcessingWorkflow::draftingStep)
+                .thenReply(Done.getInstance());
+            default -> effects()
+                .updateState(state.withStatus(CaseStatus.REJECTED))
+                .transitionTo(CaseProcessingWorkflow::reviseDraftStep)
+                .thenReply(Done.getInstance());
+        };
+    }
+
     public Effect<Done> fail(String reason) {
         if (currentState() == null) {
             return effects().error("Case not started");
@@ -118,7 +251,14 @@ public class CaseProcessingWorkflow extends Workflow<CaseState> {
     public WorkflowSettings settings() {
         return WorkflowSettings.builder()
             .defaultStepTimeout(ofMinutes(3))
-            .defaultStepRecovery(maxRetries(2).failoverTo(CaseProcessingWorkflow::failureStep))
+            .stepTimeout(CaseProcessingWorkflow::screeningStep, agentCallSettings.stepTimeout("screening"))
+            .stepTimeout(CaseProcessingWorkflow::secretariatStep, agentCallSettings.stepTimeout("secretariat"))
+            .stepTimeout(CaseProcessingWorkflow::auditStep, agentCallSettings.stepTimeout("audit"))
+            .stepTimeout(CaseProcessingWorkflow::draftingStep, agentCallSettings.stepTimeout("drafting"))
+            .stepTimeout(CaseProcessingWorkflow::reviseDraftStep, agentCallSettings.stepTimeout("drafting"))
+            .stepRecovery(CaseProcessingWorkflow::archiveStep,
+                maxRetries(agentCallSettings.stepRetries()).failoverTo(CaseProcessingWorkflow::postponeArchiveStep))
+            .defaultStepRecovery(maxRetries(agentCallSettings.stepRetries()).failoverTo(CaseProcessingWorkflow::failureStep))
             .build();
     }
 
@@ -128,16 +268,56 @@ public class CaseProcessingWorkflow extends Workflow<CaseState> {
     private StepEffect screeningStep() {
         notificationPublisher.publish("Screening started for case " + currentState().caseNumber());
 
-        ScreeningResult result = componentClient
-            .forAgent()
-            .inSession(sessionId())
-            .method(ScreeningAgent::process)
-            .invoke(currentState().caseNumber());
+        var documents = screeningSettings.fastPath() || similarCaseSettings.enabled()
+            ? courtSystemService.getCase(currentState().caseNumber())
+            : null;
+        var state = similarCaseSettings.enabled()
+            ? currentState().withSimilarCases(detectSimilarCases(documents))
+            : currentState();
+
+        var reused = reusableScreening(state.similarCases());
+        if (reused != null) {
+            notificationPublisher.publish("Screening reused from similar case " + state.similarCases().get(0).caseNumber()
+                + ": " + reused.procedureType() + ", urgency " + reused.urgency());
+
+            return stepEffects()
+                .updateState(state.withScreening(reused))
+                .thenTransitionTo(CaseProcessingWorkflow::secretariatStep);
+        }
+
+        if (screeningSettings.fastPath()) {
+            var outcome = PreScreeningEngine.standard().evaluate(documents, LocalDate.now(ZoneOffset.UTC));
+            if (outcome.confidence() >= screeningSettings.minConfidence()) {
+                var result = outcome.result();
+                notificationPublisher.publish("Screening completed by rules: " + result.procedureType() + ", urgency " + result.urgency());
+
+                return stepEffects()
+                    .updateState(state
+                        .withScreening(result)
+                        .withStats(state.stats().withScreeningFastPath(true)))
+                    .thenTransitionTo(CaseProcessingWorkflow::secretariatStep);
+            }
+        }
+
+        var overBudget = overBudgetReason();
+        if (overBudget != null) {
+            return pauseForBudget(state, "screening", overBudget);
+        }
+
+        var meter = tokenMeter();
+        ScreeningResult result;
+        try {
+            result = screeningSettings.batching() ? screenInBatch(meter) : runScreeningAgent(meter);
+        } catch (AgentCallPolicy.AgentCallFailedException e) {
+            return failedCall(state, "screening", meter, e);
+        }
 
         notificationPublisher.publish("Screening completed: " + result.procedureType() + ", urgency " + result.urgency());
 
         return stepEffects()
-            .updateState(currentState().withScreening(result))
+            .updateState(charged(state
+                .withScreening(result)
+                .withStats(state.stats().withScreeningFastPath(false)), "screening", meter))
             .thenTransitionTo(CaseProcessingWorkflow::secretariatStep);
     }
 
@@ -145,60 +325,142 @@ public class CaseProcessingWorkflow extends Workflow<CaseState> {
     private StepEffect secretariatStep() {
         notificationPublisher.publish("Secretariat processing started");
 
-        SecretariatResult result = componentClient
-            .forAgent()
-            .inSession(sessionId())
-            .method(SecretariatRoutineAgent::process)
-            .invoke(currentState().caseNumber());
+        if (secretariatSettings.templates()) {
+            var templated = SecretariatRules.standard()
+                .generate(courtSystemService.getCase(currentState().caseNumber()), currentState().screening());
+            if (templated.isPresent()) {
+                var result = templated.get();
+                notificationPublisher.publish("Secretariat completed from templates: " + result.generatedActs().size() + " acts generated");
+
+                return stepEffects()
+                    .updateState(currentState()
+                        .withSecretariat(result)
+                        .withStats(currentState().stats().withSecretariatTemplated(true)))
+                    .thenTransitionTo(CaseProcessingWorkflow::auditStep);
+            }
+        }
+
+        var overBudget = overBudgetReason();
+        if (overBudget != null) {
+            return pauseForBudget(currentState(), "secretariat", overBudget);
+        }
+
+        var meter = tokenMeter();
+        var caseNumber = currentState().caseNumber();
+        SecretariatResult result;
+        try {
+            result = callAgent("secretariat", SecretariatResult.class, meter, caseNumber, session -> componentClient
+                .forAgent()
+                .inSession(session)
+                .method(SecretariatRoutineAgent::process)
+                .invokeAsync(caseNumber));
+        } catch (AgentCallPolicy.AgentCallFailedException e) {
+            return failedCall(currentState(), "secretariat", meter, e);
+        }
 
         notificationPublisher.publish("Secretariat completed: " + result.generatedActs().size() + " acts generated");
 
         return stepEffects()
-            .updateState(currentState().withSecretariat(result))
+            .updateState(charged(currentState()
+                .withSecretariat(result)
+                .withStats(currentState().stats().withSecretariatTemplated(false)), "secretariat", meter))
             .thenTransitionTo(CaseProcessingWorkflow::auditStep);
     }
 
     @StepName("audit")
     private StepEffect auditStep() {
+        var overBudget = overBudgetReason();
+        if (overBudget != null) {
+            var speculative = speculativeDrafts.take(commandContext().workflowId());
+            return pauseForBudget(chargedSpeculation(discardSpeculation(currentState(), speculative), speculative), "audit", overBudget);
+        }
+
         notificationPublisher.publish("Consistency audit started");
 
-        AuditResult result = componentClient
-            .forAgent()
-            .inSession(sessionId())
-            .method(ConsistencyAuditAgent::process)
-            .invoke(currentState().caseNumber());
+        long startedNanos = System.nanoTime();
+        var meter = tokenMeter();
+        AuditResult result;
+        try {
+            if (auditSettings.prechecks()) {
+                var issues = ConsistencyPrechecks.check(courtSystemService.getCase(currentState().caseNumber()));
+                if (issues.isEmpty()) {
+                    startSpeculativeDraft();
+                    result = runAuditAgent(meter, true);
+                } else {
+                    result = new AuditResult(false, issues);
+                }
+            } else {
+                startSpeculativeDraft();
+                result = runAuditAgent(meter, false);
+            }
+        } catch (AgentCallPolicy.AgentCallFailedException e) {
+            // the speculative draft stays registered for the retry to adopt
+            return failedCall(currentState(), "audit", meter, e);
+        }
+        var speculative = speculativeDrafts.take(commandContext().workflowId());
 
         if (result.consistent()) {
             notificationPublisher.publish("Audit passed: no issues found");
+            var draft = awaitSpeculativeDraft(speculative, startedNanos);
+            if (draft != null) {
+                notificationPublisher.publish("Draft ready with " + draft.citations().size() + " citations (speculative)");
+                return stepEffects()
+                    .updateState(charged(chargedSpeculation(withVerifiedDraft(currentState().withAuditPassed(result), draft)
+                        .withStats(currentState().stats().withSpeculation(Speculation.HIT, 0)), speculative), "audit", meter))
+                    .thenTransitionTo(CaseProcessingWorkflow::awaitApprovalStep);
+            }
             return stepEffects()
-                .updateState(currentState().withAuditPassed(result))
+                .updateState(charged(chargedSpeculation(
+                    discardSpeculation(currentState().withAuditPassed(result), speculative), speculative), "audit", meter))
                 .thenTransitionTo(CaseProcessingWorkflow::draftingStep);
         } else {
             notificationPublisher.publish("Audit failed: " + result.issues().size() + " issues found - human intervention required");
+            var failed = currentState().withAuditFailed(result);
+            var draft = draftingSettings.keepSpeculativeOnAuditFailure() ? awaitSpeculativeDraft(speculative, startedNanos) : null;
+            failed = draft != null
+                ? failed.withPendingDraft(draft).withStats(failed.stats().withSpeculation(Speculation.KEPT, wastedTokens(speculative)))
+                : discardSpeculation(failed, speculative);
             return stepEffects()
-                .updateState(currentState().withAuditFailed(result))
+                .updateState(charged(chargedSpeculation(failed, speculative), "audit", meter))
                 .thenPause();
         }
     }
 
     @StepName("drafting")
     private StepEffect draftingStep() {
+        var pendingDraft = currentState().pendingDraft();
+        if (pendingDraft != null) {
+            notificationPublisher.publish("Draft ready with " + pendingDraft.citations().size() + " citations (speculative)");
+            return stepEffects()
+                .updateState(withVerifiedDraft(currentState(), pendingDraft)
+                    .withStats(currentState().stats().withSpeculation(Speculation.REUSED, 0)))
+                .thenTransitionTo(CaseProcessingWorkflow::awaitApprovalStep);
+        }
+
+        var overBudget = overBudgetReason();
+        if (overBudget != null) {
+            return pauseForBudget(currentState(), "drafting", overBudget);
+        }
+
         notificationPublisher.publish("Draft generation started");
 
         String auditSummary = currentState().audit() != null
             ? "Audit passed. No issues found."
             : "No audit available.";
 
-        DraftResult result = componentClient
-            .forAgent()
-            .inSession(sessionId())
-            .method(DraftingSupportAgent::process)
-            .invoke(new DraftingSupportAgent.DraftRequest(currentState().caseNumber(), auditSummary));
+        var meter = tokenMeter();
+        DraftResult result;
+        try {
+            result = generateDraft(
+                new DraftingSupportAgent.DraftRequest(currentState().caseNumber(), auditSummary, compactedContext()), meter);
+        } catch (AgentCallPolicy.AgentCallFailedException e) {
+            return failedCall(currentState(), "drafting", meter, e);
+        }
 
         notificationPublisher.publish("Draft ready with " + result.citations().size() + " citations");
 
         return stepEffects()
-            .updateState(currentState().withDraft(result))
+            .updateState(charged(withVerifiedDraft(currentState(), result), "drafting", meter))
             .thenTransitionTo(CaseProcessingWorkflow::awaitApprovalStep);
     }
 
@@ -213,33 +475,100 @@ public class CaseProcessingWorkflow extends Workflow<CaseState> {
 
     @StepName("revise-draft")
     private StepEffect reviseDraftStep() {
+        var overBudget = overBudgetReason();
+        if (overBudget != null) {
+            return pauseForBudget(currentState(), "revise-draft", overBudget);
+        }
+
         notificationPublisher.publish("Revising draft after rejection");
 
+        var previous = currentState().draft();
+        if (draftingSettings.incrementalRevision() && previous != null) {
+            return reviseIncrementally(previous);
+        }
+
         String context = "Previous draft was rejected. Reason: " + currentState().rejectionReason()
             + ". Please revise the draft.";
 
-        DraftResult result = componentClient
-            .forAgent()
-            .inSession(sessionId())
-            .method(DraftingSupportAgent::process)
-            .invoke(new DraftingSupportAgent.DraftRequest(currentState().caseNumber(), context));
+        var meter = tokenMeter();
+        DraftResult result;
+        try {
+            result = generateDraft(
+                new DraftingSupportAgent.DraftRequest(currentState().caseNumber(), context, compactedContext()), meter);
+        } catch (AgentCallPolicy.AgentCallFailedException e) {
+            return failedCall(currentState(), "revise-draft", meter, e);
+        }
 
         notificationPublisher.publish("Revised draft ready");
 
         return stepEffects()
-            .updateState(currentState().withDraft(result))
+            .updateState(charged(withVerifiedDraft(currentState(), result), "revise-draft", meter))
+            .thenTransitionTo(CaseProcessingWorkflow::awaitApprovalStep);
+    }
+
+    private StepEffect reviseIncrementally(DraftResult previous) {
+        var meter = tokenMeter();
+        var request = new DraftRevisionAgent.RevisionRequest(
+            currentState().caseNumber(), currentState().rejectionReason(), previous);
+        DraftRevision revision;
+        try {
+            revision = callAgent("drafting", DraftRevision.class, meter, request, session -> componentClient
+                .forAgent()
+                .inSession(session)
+                .method(DraftRevisionAgent::process)
+                .invokeAsync(request));
+        } catch (AgentCallPolicy.AgentCallFailedException e) {
+            return failedCall(currentState(), "revise-draft", meter, e);
+        }
+        var revised = revision.applyTo(previous);
+
+        notificationPublisher.publish("Revised draft ready, " + revision.changedSections() + " of "
+            + DraftRevision.sectionsOf(revised.content()).size() + " sections rewritten");
+
+        return stepEffects()
+            .updateState(charged(currentState().withRevisedDraft(revised, revision).withCitationCheck(checkCitations(revised)),
+                "revise-draft", meter))
             .thenTransitionTo(CaseProcessingWorkflow::awaitApprovalStep);
     }
 
     @StepName("publish")
     private StepEffect publishStep() {
+        var acts = currentState().secretariat() != null
+            ? currentState().secretariat().generatedActs()
+            : List.<String>of();
+        componentClient.forKeyValueEntity(commandContext().workflowId())
+            .method(PublicationOutboxEntity::enqueue)
+            .invoke(new PublicationOutboxEntity.Enqueue(currentState().caseNumber(), acts, System.currentTimeMillis()));
         notificationPublisher.publish("Case approved and published");
 
+        if (retentionSettings.enabled()) {
+            scheduleArchive(retentionSettings.archiveAfter());
+            return stepEffects()
+                .updateState(currentState().withStatus(CaseStatus.PUBLISHED))
+                .thenPause();
+        }
         return stepEffects()
             .updateState(currentState().withStatus(CaseStatus.PUBLISHED))
             .thenEnd();
     }
 
+    @StepName("archive")
+    private StepEffect archiveStep() {
+        componentClient.forKeyValueEntity(ArchivedKpiTotalsEntity.ID)
+            .method(ArchivedKpiTotalsEntity::add)
+            .invoke(KPIDashboardView.KPIEntry.of(commandContext().workflowId(), currentState()));
+        return stepEffects()
+            .updateState(currentState().withStatus(CaseStatus.ARCHIVED))
+            .thenEnd();
+    }
+
+    /** The case stays published and live until a later archive attempt gets its KPIs recorded. */
+    @StepName("postpone-archive")
+    private StepEffect postponeArchiveStep() {
+        scheduleArchive(ARCHIVE_RETRY_DELAY);
+        return stepEffects().thenPause();
+    }
+
     @StepName("failure")
     private StepEffect failureStep() {
         String failedDuring = switch (currentState().status()) {
@@ -254,14 +583,339 @@ public class CaseProcessingWorkflow extends Workflow<CaseState> {
         String message = failedDuring + " failed after retries. Human intervention required.";
         notificationPublisher.publish("Workflow failed during: " + failedDuring);
 
+        var speculative = speculativeDrafts.take(commandContext().workflowId());
+        var state = chargedSpeculation(discardSpeculation(currentState(), speculative), speculative);
         return stepEffects()
-            .updateState(currentState().withFailure(message))
+            .updateState(state.withFailure(message))
             .thenPause();
     }
 
     // --- Helpers ---
 
-    private String sessionId() {
-        return commandContext().workflowId();
+    private void scheduleArchive(Duration delay) {
+        timers().createSingleTimer(
+            "archive-" + commandContext().workflowId(),
+            delay,
+            componentClient.forWorkflow(commandContext().workflowId())
+                .method(CaseProcessingWorkflow::archive)
+                .deferred());
+    }
+
+    /**
+     * Looks the case up in the near-duplicate index and adds it, so later filings can find it. A
+     * placeholder for a case that could not be retrieved is neither matched nor indexed, since all
+     * of them would look alike.
+     */
+    private List<SimilarCase> detectSimilarCases(CaseDocuments documents) {
+        if (documents.isPlaceholder()) {
+            return List.of();
+        }
+        var workflowId = commandContext().workflowId();
+        var signature = similarCaseIndex.signature(documents.content());
+        var matches = similarCaseIndex.findSimilar(
+            signature, similarCaseSettings.threshold(), similarCaseSettings.maxMatches(), workflowId);
+        similarCaseIndex.add(currentState().caseNumber(), workflowId, signature);
+        return matches;
+    }
+
+    /** The screening of the closest match, when reuse is on and it is near-identical and already screened. */
+    private ScreeningResult reusableScreening(List<SimilarCase> similarCases) {
+        if (!similarCaseSettings.reuseScreening() || similarCases.isEmpty()
+            || similarCases.get(0).similarity() < similarCaseSettings.reuseThreshold()) {
+            return null;
+        }
+        try {
+            return componentClient.forWorkflow(similarCases.get(0).workflowId())
+                .method(CaseProcessingWorkflow::getState)
+                .invoke()
+                .screening();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private ScreeningResult runScreeningAgent(TokenMeter meter) {
+        var caseNumber = currentState().caseNumber();
+        return callAgent("screening", ScreeningResult.class, meter, caseNumber, session -> componentClient
+            .forAgent()
+            .inSession(session)
+            .method(ScreeningAgent::process)
+            .invokeAsync(caseNumber));
+    }
+
+    /**
+     * Screens the case as part of a micro-batch shared with other cases on this node. The batch
+     * request goes through the call policy and the interaction log within half of the step budget
+     * less max-wait, so it has answered or been cancelled by the time this case stops waiting, and
+     * a rejected batch falls back to screening the case on its own. The case is charged its share
+     * of the batch's tokens either way.
+     */
+    private ScreeningResult screenInBatch(TokenMeter meter) {
+        var caseNumber = currentState().caseNumber();
+        var waitBudget = agentCallSettings.stepTimeout("screening").dividedBy(2);
+        var batchBudget = waitBudget.minus(screeningSettings.maxBatchWait());
+        try {
+            var screened = screeningBatcher.submit(caseNumber, (caseNumbers, batchMeter) -> {
+                    var request = new BatchScreeningAgent.BatchRequest(caseNumbers);
+                    return agentCalls.callAsync("screening-batch", batchBudget, "screening-batch-" + UUID.randomUUID(),
+                        batchMeter.around(request, interactions.around("screening-batch", String.join(",", caseNumbers), String.class,
+                            session -> componentClient
+                                .forAgent()
+                                .inSession(session)
+                                .method(BatchScreeningAgent::process)
+                                .invokeAsync(request))));
+                })
+                .toCompletableFuture()
+                .get(waitBudget.toMillis(), TimeUnit.MILLISECONDS);
+            meter.add(screened.tokens());
+            return screened.result();
+        } catch (ExecutionException | TimeoutException e) {
+            if (e.getCause() instanceof ScreeningBatcher.BatchRejectedException rejected) {
+                meter.add(rejected.tokens());
+            }
+            notificationPublisher.publish("Batched screening unavailable for case " + caseNumber + ", screening individually");
+            return runScreeningAgent(meter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CaseState withVerifiedDraft(CaseState state, DraftResult draft) {
+        return state.withDraft(draft).withCitationCheck(checkCitations(draft));
+    }
+
+    private CitationCheck checkCitations(DraftResult draft) {
+        var check = citationIndex.check(draft.citations());
+        if (check.unverifiedCount() > 0) {
+            notificationPublisher.publish("Citations not found in the jurisprudence corpus: " + String.join("; ", check.unverified()));
+        }
+        return check;
+    }
+
+    private AuditResult runAuditAgent(TokenMeter meter, boolean legalCoherenceOnly) {
+        var request = new ConsistencyAuditAgent.AuditRequest(currentState().caseNumber(), legalCoherenceOnly);
+        return callAgent("audit", AuditResult.class, meter, request, session -> componentClient
+            .forAgent()
+            .inSession(session)
+            .method(ConsistencyAuditAgent::process)
+            .invokeAsync(request));
+    }
+
+    private DraftResult generateDraft(DraftingSupportAgent.DraftRequest request, TokenMeter meter) {
+        if (!draftingSettings.streaming()) {
+            return callAgent("drafting", DraftResult.class, meter, request, session -> componentClient
+                .forAgent()
+                .inSession(session)
+                .method(DraftingSupportAgent::process)
+                .invokeAsync(request));
+        }
+        // not through the call policy: a hedged or retried stream would publish the text twice
+        try {
+            return meter.around(request, interactions.around("drafting", currentState().caseNumber(), DraftResult.class,
+                    session -> streamDraft(session, request)))
+                .apply(sessionId("drafting"))
+                .toCompletableFuture()
+                .join();
+        } catch (CompletionException e) {
+            throw new AgentCallPolicy.AgentCallFailedException("drafting", 1, e.getCause());
+        }
+    }
+
+    /**
+     * Streams the draft from StreamingDraftingAgent, publishing the decision text to update
+     * subscribers in batches of at most max-tokens-per-chunk tokens or one chunk-interval, and parses
+     * the complete text into a DraftResult at the end. A replayed draft is published only as the
+     * final "Draft ready" notification.
+     */
+    private CompletionStage<DraftResult> streamDraft(String session, DraftingSupportAgent.DraftRequest request) {
+        var text = new StringBuilder();
+        var published = new int[] {0};
+        return componentClient
+            .forAgent()
+            .inSession(session)
+            .tokenStream(StreamingDraftingAgent::process)
+            .source(request)
+            .groupedWithin(draftingSettings.streamMaxTokensPerChunk(), draftingSettings.streamChunkInterval())
+            .runForeach(tokens -> {
+                tokens.forEach(text::append);
+                int visible = DraftStreamFormat.visibleLength(text, published[0]);
+                if (visible > published[0]) {
+                    notificationPublisher.publish("Draft text: " + text.substring(published[0], visible));
+                    published[0] = visible;
+                }
+            }, materializer)
+            .thenApply(done -> DraftStreamFormat.parse(text.toString()));
+    }
+
+    /**
+     * Starts drafting concurrently with the audit agent, unless speculation is disabled or an earlier
+     * attempt of the audit step already started a draft that is still usable. The speculative draft
+     * never shares the audit agent's session, even with the shared scope.
+     */
+    private void startSpeculativeDraft() {
+        if (!draftingSettings.speculative()) {
+            return;
+        }
+        speculativeDrafts.startOrAdopt(commandContext().workflowId(), () -> {
+            notificationPublisher.publish("Draft generation started (speculative)");
+            var sessionId = sessionSettings.scope() == AgentSessionSettings.Scope.SHARED
+                ? commandContext().workflowId() + "-drafting"
+                : sessionId("drafting");
+            var request = new DraftingSupportAgent.DraftRequest(
+                currentState().caseNumber(), "Audit in progress, draft assuming it passes.", compactedContext());
+            var meter = tokenMeter();
+            var future = meter.around(request, interactions.around("speculative-drafting", currentState().caseNumber(), DraftResult.class,
+                    session -> componentClient
+                        .forAgent()
+                        .inSession(session)
+                        .method(DraftingSupportAgent::process)
+                        .invokeAsync(request)))
+                .apply(sessionId)
+                .toCompletableFuture();
+            return new SpeculativeDrafts.InFlight(future, meter, System.nanoTime());
+        });
+    }
+
+    /**
+     * Waits for the speculative draft within the audit step's own timeout, keeping a tenth of it to
+     * commit the step. A draft that failed or is not ready by then is not an audit failure; the
+     * regular drafting step runs instead.
+     */
+    private DraftResult awaitSpeculativeDraft(SpeculativeDrafts.InFlight speculative, long stepStartedNanos) {
+        if (speculative == null) {
+            return null;
+        }
+        long timeoutNanos = agentCallSettings.stepTimeout("audit").toNanos();
+        long remainingNanos = timeoutNanos - timeoutNanos / 10 - (System.nanoTime() - stepStartedNanos);
+        try {
+            return speculative.future().get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /** Cancels a speculative draft that will not be used and records its tokens as wasted. */
+    private static CaseState discardSpeculation(CaseState state, SpeculativeDrafts.InFlight speculative) {
+        if (speculative == null) {
+            return state;
+        }
+        speculative.future().cancel(true);
+        return state.withStats(state.stats().withSpeculation(Speculation.DISCARDED, wastedTokens(speculative)));
+    }
+
+    private static int wastedTokens(SpeculativeDrafts.InFlight speculative) {
+        return (int) Math.min(speculative.meter().tokens(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calls an agent through the call policy, metering the tokens of every attempt, recorded or
+     * replayed by the interaction log when enabled.
+     */
+    private <T> T callAgent(String step, Class<T> type, TokenMeter meter, Object request,
+                            Function<String, CompletionStage<T>> invoke) {
+        return agentCalls.call(step, sessionId(step),
+            meter.around(request, interactions.around(step, currentState().caseNumber(), type, invoke)));
+    }
+
+    private TokenMeter tokenMeter() {
+        return new TokenMeter(tokenBudget.overheadPerCall());
+    }
+
+    /**
+     * Null while the case may call agents, otherwise why not. A raised case may spend the raised
+     * tokens even when its tenant is over budget.
+     */
+    private String overBudgetReason() {
+        var usage = currentState().tokenUsage();
+        long caseBudget = tokenBudget.perCase() + usage.raised();
+        if (tokenBudget.perCase() > 0 && usage.total() >= caseBudget) {
+            return "case used " + usage.total() + " of " + caseBudget + " tokens";
+        }
+        if (tokenBudget.perTenantMonthly() > 0 && usage.total() >= usage.exemptUntil()) {
+            var tenant = tokenBudget.tenantOf(currentState().caseNumber());
+            long used = componentClient.forKeyValueEntity(tenantLedgerId(tenant))
+                .method(TenantTokenLedgerEntity::get)
+                .invoke()
+                .tokens();
+            if (used >= tokenBudget.perTenantMonthly()) {
+                return "tenant " + tenant + " used " + used + " of " + tokenBudget.perTenantMonthly() + " tokens this month";
+            }
+        }
+        return null;
+    }
+
+    private StepEffect pauseForBudget(CaseState state, String step, String reason) {
+        notificationPublisher.publish("Token budget exceeded: " + reason + " - human review required");
+        return stepEffects()
+            .updateState(state.withBudgetExceeded(step))
+            .thenPause();
+    }
+
+    /** Adds the tokens metered in a step to the case and, with a tenant budget, to the tenant's monthly ledger. */
+    private CaseState charged(CaseState state, String step, TokenMeter meter) {
+        chargeTenant(state, step, meter.tokens());
+        return state.withTokenUsage(state.tokenUsage().add(step, meter.tokens()));
+    }
+
+    /** Charges a speculative draft's tokens to drafting, whether the draft was used or not. */
+    private CaseState chargedSpeculation(CaseState state, SpeculativeDrafts.InFlight speculative) {
+        return speculative == null ? state : charged(state, "drafting", speculative.meter());
+    }
+
+    /**
+     * Keeps the tokens metered before an agent call failed, which a thrown failure would lose with
+     * the step, and retries the step up to step-retries times before failing the case.
+     */
+    private StepEffect failedCall(CaseState state, String step, TokenMeter meter, AgentCallPolicy.AgentCallFailedException error) {
+        chargeTenant(state, step, meter.tokens());
+        var failed = state.withTokenUsage(state.tokenUsage().failed(step, meter.tokens()));
+        if (failed.tokenUsage().failedAttempts() > agentCallSettings.stepRetries()) {
+            return stepEffects()
+                .updateState(failed)
+                .thenTransitionTo(CaseProcessingWorkflow::failureStep);
+        }
+        notificationPublisher.publish("Agent call failed during " + step + ", retrying: " + error.getMessage());
+        var retry = stepEffects().updateState(failed);
+        return switch (step) {
+            case "screening" -> retry.thenTransitionTo(CaseProcessingWorkflow::screeningStep);
+            case "secretariat" -> retry.thenTransitionTo(CaseProcessingWorkflow::secretariatStep);
+            case "audit" -> retry.thenTransitionTo(CaseProcessingWorkflow::auditStep);
+            case "drafting" -> retry.thenTransitionTo(CaseProcessingWorkflow::draftingStep);
+            default -> retry.thenTransitionTo(CaseProcessingWorkflow::reviseDraftStep);
+        };
+    }
+
+    /**
+     * Charges the tenant's monthly ledger, keyed by workflow, step and the case's charge number, so
+     * a step retried after charging does not count the same charge twice.
+     */
+    private void chargeTenant(CaseState state, String step, long tokens) {
+        if (tokens > 0 && tokenBudget.perTenantMonthly() > 0) {
+            var key = commandContext().workflowId() + ":" + step + ":" + state.tokenUsage().charges();
+            componentClient.forKeyValueEntity(tenantLedgerId(tokenBudget.tenantOf(state.caseNumber())))
+                .method(TenantTokenLedgerEntity::charge)
+                .invoke(new TenantTokenLedgerEntity.Charge(key, tokens));
+        }
+    }
+
+    private static String tenantLedgerId(String tenant) {
+        return tenant + "-" + YearMonth.now(ZoneOffset.UTC);
+    }
+
+    private String sessionId(String agent) {
+        var workflowId = commandContext().workflowId();
+        return switch (sessionSettings.scope()) {
+            case SHARED -> workflowId;
+            case PER_AGENT -> workflowId + "-" + agent;
+            case PER_INVOCATION -> workflowId + "-" + agent + "-" + UUID.randomUUID();
+        };
+    }
+
+    private String compactedContext() {
+        return sessionSettings.compaction() ? CaseContextSummary.of(currentState()) : null;
     }
 }
\ No newline at end of file
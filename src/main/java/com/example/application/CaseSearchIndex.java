@@ -0,0 +1,188 @@
+package com.example.application;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the case queue rows (case number, status, procedure type, urgency,
+ * audit issues and failure message), ranked with BM25, one document per workflow since case numbers
+ * need not be unique. Each node keeps a full copy, fed from the {@link CasesByQueueView#streamAll}
+ * update stream; rows removed from the view (archived cases) stay searchable with their last live
+ * status until the node restarts.
+ */
+public class CaseSearchIndex {
+
+    public record Hit(
+        String caseNumber,
+        String workflowId,
+        String status,
+        String procedureType,
+        String urgency,
+        String auditIssues,
+        String failureMessage,
+        double score
+    ) {}
+
+    public record SearchResults(List<Hit> hits, int total, boolean hasMore) {}
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private record Document(CasesByQueueView.CaseQueueEntry entry, Map<String, Integer> termFrequencies, int length) {}
+
+    private record Scored(Document document, double score) {}
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingDouble(Scored::score).reversed()
+        .thenComparing(scored -> scored.document().entry().caseNumber())
+        .thenComparing(scored -> scored.document().entry().workflowId());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Document> documents = new HashMap<>();
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private long totalLength;
+
+    public void put(CasesByQueueView.CaseQueueEntry entry) {
+        var document = document(entry);
+        lock.writeLock().lock();
+        try {
+            var previous = documents.put(entry.workflowId(), document);
+            if (previous != null) {
+                unindex(entry.workflowId(), previous);
+            }
+            document.termFrequencies().forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(entry.workflowId(), frequency));
+            totalLength += document.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Cases containing every term of the query, best match first. */
+    public SearchResults search(String query, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Offset must be >= 0 and limit >= 1");
+        }
+        var terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return new SearchResults(List.of(), 0, false);
+        }
+        lock.readLock().lock();
+        try {
+            var termPostings = new ArrayList<Map<String, Integer>>(terms.size());
+            for (var term : terms) {
+                var posting = postings.get(term);
+                if (posting == null) {
+                    return new SearchResults(List.of(), 0, false);
+                }
+                termPostings.add(posting);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            double averageLength = documents.isEmpty() ? 1.0 : (double) totalLength / documents.size();
+            var idf = new double[termPostings.size()];
+            for (int i = 0; i < idf.length; i++) {
+                int documentFrequency = termPostings.get(i).size();
+                idf[i] = Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            }
+            var candidates = termPostings.get(0);
+            int wanted = (int) Math.min((long) offset + limit, candidates.size());
+            var best = new PriorityQueue<Scored>(wanted + 1, RANKING.reversed());
+            int total = 0;
+            candidates:
+            for (var candidate : candidates.entrySet()) {
+                var workflowId = candidate.getKey();
+                var document = documents.get(workflowId);
+                double lengthNorm = K1 * (1 - B + B * document.length() / averageLength);
+                double score = bm25(idf[0], candidate.getValue(), lengthNorm);
+                for (int i = 1; i < termPostings.size(); i++) {
+                    var frequency = termPostings.get(i).get(workflowId);
+                    if (frequency == null) {
+                        continue candidates;
+                    }
+                    score += bm25(idf[i], frequency, lengthNorm);
+                }
+                total++;
+                var scored = new Scored(document, score);
+                if (best.size() < wanted) {
+                    best.add(scored);
+                } else if (RANKING.compare(scored, best.peek()) < 0) {
+                    best.poll();
+                    best.add(scored);
+                }
+            }
+
+            var ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            var hits = ranked.subList(Math.min(offset, ranked.size()), ranked.size()).stream()
+                .map(scored -> hit(scored.document().entry(), scored.score()))
+                .toList();
+            return new SearchResults(hits, total, (long) offset + limit < total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double bm25(double idf, int frequency, double lengthNorm) {
+        return idf * frequency * (K1 + 1) / (frequency + lengthNorm);
+    }
+
+    private void unindex(String workflowId, Document document) {
+        for (var term : document.termFrequencies().keySet()) {
+            var posting = postings.get(term);
+            posting.remove(workflowId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    private static Document document(CasesByQueueView.CaseQueueEntry entry) {
+        var tokens = new ArrayList<String>();
+        for (var field : new String[] {entry.caseNumber(), entry.status(), entry.procedureType(), entry.urgency(),
+            entry.auditIssues(), entry.failureMessage()}) {
+            tokens.addAll(tokenize(field));
+        }
+        var frequencies = new HashMap<String, Integer>();
+        for (var token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return new Document(entry, Map.copyOf(frequencies), tokens.size());
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        var tokens = new ArrayList<String>();
+        for (var token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Hit hit(CasesByQueueView.CaseQueueEntry entry, double score) {
+        return new Hit(entry.caseNumber(), entry.workflowId(), entry.status(), entry.procedureType(), entry.urgency(),
+            entry.auditIssues(), entry.failureMessage(), score);
+    }
+}
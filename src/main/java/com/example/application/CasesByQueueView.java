@@ -6,7 +6,10 @@ import akka.javasdk.annotations.Query;
 import akka.javasdk.view.TableUpdater;
 import akka.javasdk.view.View;
 import com.example.domain.CaseState;
+import com.example.domain.CaseStatus;
+import com.example.domain.Urgency;
 
+import java.time.Instant;
 import java.util.List;
 
 @Component(id = "cases-by-queue-view")
@@ -14,30 +17,46 @@ public class CasesByQueueView extends View {
 
     public record CaseQueueEntry(
         String caseNumber,
+        String workflowId,
         String status,
         String procedureType,
         String urgency,
         String failureMessage,
-        String auditIssues
+        String auditIssues,
+        int priority,
+        Instant enteredStatusAt
     ) {}
 
     public record CaseQueueEntries(List<CaseQueueEntry> entries) {}
 
+    public record InboxRequest(String status, int limit) {}
+
+    /** Sort key of the inbox: URGENT 0 to LOW 3, cases not screened yet last. */
+    static final int UNSCREENED_PRIORITY = Urgency.values().length;
+
     @Consume.FromWorkflow(CaseProcessingWorkflow.class)
     public static class CasesByQueueUpdater extends TableUpdater<CaseQueueEntry> {
 
         public Effect<CaseQueueEntry> onUpdate(CaseState state) {
+            if (state.status() == CaseStatus.ARCHIVED) {
+                return effects().deleteRow();
+            }
             String auditIssues = "";
             if (state.audit() != null && state.audit().issues() != null && !state.audit().issues().isEmpty()) {
                 auditIssues = String.join("; ", state.audit().issues());
             }
             return effects().updateRow(new CaseQueueEntry(
                 state.caseNumber(),
+                updateContext().eventSubject().orElse(""),
                 state.status().name(),
                 state.screening() != null ? state.screening().procedureType().name() : "UNKNOWN",
                 state.screening() != null ? state.screening().urgency().name() : "UNKNOWN",
                 state.failureMessage() != null ? state.failureMessage() : "",
-                auditIssues
+                auditIssues,
+                state.screening() != null
+                    ? Urgency.URGENT.ordinal() - state.screening().urgency().ordinal()
+                    : UNSCREENED_PRIORITY,
+                state.statusChangedAt()
             ));
         }
     }
@@ -47,6 +66,17 @@ public class CasesByQueueView extends View {
         return queryResult();
     }
 
+    /** The most urgent cases in a status, oldest in that status first within the same urgency. */
+    @Query("""
+        SELECT * AS entries FROM cases_by_queue
+        WHERE status = :status
+        ORDER BY priority ASC, enteredStatusAt ASC
+        LIMIT :limit
+        """)
+    public QueryEffect<CaseQueueEntries> getInbox(InboxRequest request) {
+        return queryResult();
+    }
+
     @Query("SELECT * AS entries FROM cases_by_queue")
     public QueryEffect<CaseQueueEntries> getAll() {
         return queryResult();
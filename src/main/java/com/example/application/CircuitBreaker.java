@@ -0,0 +1,83 @@
+package com.example.application;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consecutive-failure circuit breaker. Opens after {@code failureThreshold} failures in a row,
+ * rejects calls while open and, after {@code openDuration}, lets a single probe call through
+ * (half-open). The probe's outcome closes or re-opens the breaker.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /** @return whether the call may proceed; every permitted call must be followed by exactly one outcome callback */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                opened.increment();
+            }
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /** The permitted call was not executed (e.g. rejected by the bulkhead); releases a half-open probe slot. */
+    public synchronized void onNotExecuted() {
+        probeInFlight = false;
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long openedCount() {
+        return opened.sum();
+    }
+}
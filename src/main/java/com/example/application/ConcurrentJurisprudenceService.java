@@ -0,0 +1,105 @@
+package com.example.application;
+
+import com.example.domain.CitedSource;
+import com.example.domain.JurisprudenceService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the sub-queries of a batch search concurrently, one virtual thread each, under a deadline
+ * shared by the whole batch. Results are merged rank by rank across queries, so every query's best
+ * match comes first, and each source is listed once. Queries that fail or miss the deadline are
+ * reported in a single UNAVAILABLE source instead of failing the batch.
+ */
+public class ConcurrentJurisprudenceService implements JurisprudenceService {
+
+    private final JurisprudenceService delegate;
+    private final JurisprudenceBatchSettings settings;
+
+    public ConcurrentJurisprudenceService(JurisprudenceService delegate, JurisprudenceBatchSettings settings) {
+        this.delegate = delegate;
+        this.settings = settings;
+    }
+
+    @Override
+    public List<CitedSource> searchJurisprudence(String query) {
+        return delegate.searchJurisprudence(query);
+    }
+
+    @Override
+    public List<CitedSource> searchJurisprudenceBatch(List<String> queries) {
+        var distinct = queries.stream().map(String::strip).filter(q -> !q.isEmpty()).distinct().toList();
+        var accepted = distinct.subList(0, Math.min(distinct.size(), settings.maxQueries()));
+        var tasks = accepted.stream()
+            .<Callable<List<CitedSource>>>map(query -> () -> delegate.searchJurisprudence(query))
+            .toList();
+
+        var results = new ArrayList<List<CitedSource>>();
+        var missing = new ArrayList<>(distinct.subList(accepted.size(), distinct.size()));
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            // invokeAll cancels whatever has not completed when the deadline passes
+            var futures = executor.invokeAll(tasks, settings.deadline().toMillis(), TimeUnit.MILLISECONDS);
+            for (int i = 0; i < futures.size(); i++) {
+                var result = resultOf(futures.get(i));
+                if (result == null) {
+                    missing.add(accepted.get(i));
+                } else {
+                    results.add(result);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            missing.addAll(accepted);
+        } finally {
+            executor.shutdownNow();
+        }
+        return merge(results, missing);
+    }
+
+    @Override
+    public List<CitedSource> findSources(List<String> identifiers) {
+        return delegate.findSources(identifiers);
+    }
+
+    @Override
+    public List<String> knownSources() {
+        return delegate.knownSources();
+    }
+
+    private static List<CitedSource> resultOf(Future<List<CitedSource>> future) {
+        try {
+            return future.state() == Future.State.SUCCESS ? future.get() : null;
+        } catch (ExecutionException | CancellationException | InterruptedException e) {
+            return null;
+        }
+    }
+
+    private static List<CitedSource> merge(List<List<CitedSource>> results, List<String> missing) {
+        var merged = new LinkedHashMap<String, CitedSource>();
+        int deepest = results.stream().mapToInt(List::size).max().orElse(0);
+        for (int rank = 0; rank < deepest; rank++) {
+            for (var result : results) {
+                if (rank < result.size()) {
+                    var source = result.get(rank);
+                    merged.putIfAbsent(source.source(), source);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            merged.put("UNAVAILABLE", new CitedSource(
+                "UNAVAILABLE: no jurisprudence could be retrieved for " + String.join("; ", missing) + ". " +
+                    "Search these separately or state that their legal basis could not be verified.",
+                "UNAVAILABLE"));
+        }
+        return List.copyOf(merged.values());
+    }
+}
@@ -9,14 +9,14 @@ import com.example.domain.JurisprudenceService;
 @Component(id = "consistency-audit-agent")
 public class ConsistencyAuditAgent extends Agent {
 
-    private static final String SYSTEM_MESSAGE = """
+    private static final String ROLE_AND_TOOLS = """
         You are a court auditor. Given a case number, use the searchCase
-        tool to retrieve case data and the searchJurisprudence tool to
-        validate against legal norms. Verify formal consistency:
-        - Dates are valid and not contradictory
-        - Claimed values match supporting documents
-        - The request is legally coherent
-        If you find issues, list each one.
+        tool to retrieve case data and the searchJurisprudenceBatch tool
+        to validate against legal norms, passing every legal question in
+        a single call.
+        """.stripIndent();
+
+    private static final String RESPONSE_FORMAT = """
 
         Respond ONLY with a JSON object in this exact format, no other text:
         {
@@ -25,21 +25,44 @@ public class ConsistencyAuditAgent extends Agent {
         }
         """.stripIndent();
 
+    private static final String SYSTEM_MESSAGE = ROLE_AND_TOOLS + """
+        Verify formal consistency:
+        - Dates are valid and not contradictory
+        - Claimed values match supporting documents
+        - The request is legally coherent
+        If you find issues, list each one.
+        """.stripIndent() + RESPONSE_FORMAT;
+
+    private static final String LEGAL_COHERENCE_SYSTEM_MESSAGE = ROLE_AND_TOOLS + """
+        Dates, claimed values and attached documents have already been
+        verified mechanically and found consistent; do not re-check them.
+        Verify only that the request is legally coherent. If you find
+        issues, list each one.
+        """.stripIndent() + RESPONSE_FORMAT;
+
     private final CourtSystemService courtSystemService;
     private final JurisprudenceService jurisprudenceService;
+    private final StructuredOutput<AuditResult> output;
 
     public ConsistencyAuditAgent(CourtSystemService courtSystemService,
-                                  JurisprudenceService jurisprudenceService) {
+                                  JurisprudenceService jurisprudenceService,
+                                  StructuredOutputStats structuredOutputStats) {
         this.courtSystemService = courtSystemService;
         this.jurisprudenceService = jurisprudenceService;
+        this.output = StructuredOutput.of(AuditResult.class, structuredOutputStats);
     }
 
-    public Effect<AuditResult> process(String caseNumber) {
+    /**
+     * @param legalCoherenceOnly whether the mechanical checks already passed and only legal coherence is left to audit
+     */
+    public record AuditRequest(String caseNumber, boolean legalCoherenceOnly) {}
+
+    public Effect<AuditResult> process(AuditRequest request) {
         return effects()
-            .systemMessage(SYSTEM_MESSAGE)
+            .systemMessage(request.legalCoherenceOnly() ? LEGAL_COHERENCE_SYSTEM_MESSAGE : SYSTEM_MESSAGE)
             .tools(courtSystemService, jurisprudenceService)
-            .userMessage("Audit case number: " + caseNumber)
-            .responseAs(AuditResult.class)
+            .userMessage("Audit case number: " + request.caseNumber())
+            .map(output::parse)
             .thenReply();
     }
 }
\ No newline at end of file
@@ -3,12 +3,19 @@ package com.example.application;
 import com.example.domain.CaseDocuments;
 import com.example.domain.CourtSystemService;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
 
 public class CourtSystemServiceStub implements CourtSystemService {
 
-    private final List<String> publishedActs = new ArrayList<>();
+    private final Queue<String> publishedActs = new ConcurrentLinkedQueue<>();
+    private final Set<String> deliveredKeys = ConcurrentHashMap.newKeySet();
+    private final LongAdder publishCalls = new LongAdder();
+    private final LongAdder duplicateDeliveries = new LongAdder();
 
     @Override
     public CaseDocuments searchCase(String caseNumber) {
@@ -36,10 +43,28 @@ public class CourtSystemServiceStub implements CourtSystemService {
 
     @Override
     public void updateCase(String caseNumber, List<String> acts) {
+        publishCalls.increment();
         publishedActs.addAll(acts);
     }
 
+    @Override
+    public void publishActs(String idempotencyKey, String caseNumber, List<String> acts) {
+        if (deliveredKeys.add(idempotencyKey)) {
+            updateCase(caseNumber, acts);
+        } else {
+            duplicateDeliveries.increment();
+        }
+    }
+
     public List<String> getPublishedActs() {
         return List.copyOf(publishedActs);
     }
+
+    public long publishCalls() {
+        return publishCalls.sum();
+    }
+
+    public long duplicateDeliveries() {
+        return duplicateDeliveries.sum();
+    }
 }
\ No newline at end of file
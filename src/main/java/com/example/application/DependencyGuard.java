@@ -0,0 +1,87 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker plus bulkhead for one external dependency. Calls that are rejected, fail or take
+ * longer than {@code slowCallThreshold} count as failures for the breaker; rejected calls get the
+ * caller's fast-fail response immediately instead of queueing behind a slow dependency.
+ */
+public class DependencyGuard {
+
+    public record Status(
+        String dependency,
+        CircuitBreaker.State state,
+        int inFlight,
+        long circuitOpened,
+        long circuitRejections,
+        long bulkheadRejections,
+        long slowCalls
+    ) {}
+
+    private final String name;
+    private final CircuitBreaker breaker;
+    private final Bulkhead bulkhead;
+    private final long slowCallNanos;
+    private final LongAdder slowCalls = new LongAdder();
+
+    public DependencyGuard(String name, CircuitBreaker breaker, Bulkhead bulkhead, Duration slowCallThreshold) {
+        this.name = name;
+        this.breaker = breaker;
+        this.bulkhead = bulkhead;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+    }
+
+    public static DependencyGuard fromConfig(String name, Config config) {
+        return new DependencyGuard(
+            name,
+            new CircuitBreaker(config.getInt("failure-threshold"), config.getDuration("open-duration")),
+            new Bulkhead(config.getInt("max-concurrent"), config.getDuration("max-wait")),
+            config.getDuration("slow-call-threshold"));
+    }
+
+    /**
+     * @param fallback fast-fail response, given a human-readable reason the call was not made
+     */
+    public <T> T call(Supplier<T> action, Function<String, T> fallback) {
+        if (!breaker.tryAcquire()) {
+            return fallback.apply(name + " is temporarily unavailable (circuit open after repeated failures)");
+        }
+        if (!bulkhead.tryAcquire()) {
+            breaker.onNotExecuted();
+            return fallback.apply(name + " is overloaded (too many concurrent requests)");
+        }
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            if (System.nanoTime() - start > slowCallNanos) {
+                slowCalls.increment();
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            breaker.onFailure();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public Status status() {
+        return new Status(
+            name,
+            breaker.state(),
+            bulkhead.inFlight(),
+            breaker.openedCount(),
+            breaker.rejectedCount(),
+            bulkhead.rejectedCount(),
+            slowCalls.sum());
+    }
+}
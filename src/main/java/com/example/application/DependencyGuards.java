@@ -0,0 +1,11 @@
+package com.example.application;
+
+import java.util.List;
+
+/** The guards around external dependencies, exposed for metrics. */
+public record DependencyGuards(List<DependencyGuard> guards) {
+
+    public List<DependencyGuard.Status> status() {
+        return guards.stream().map(DependencyGuard::status).toList();
+    }
+}
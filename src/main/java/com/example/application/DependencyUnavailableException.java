@@ -0,0 +1,8 @@
+package com.example.application;
+
+public class DependencyUnavailableException extends RuntimeException {
+
+    public DependencyUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.application;
+
+import akka.javasdk.agent.Agent;
+import akka.javasdk.agent.MemoryProvider;
+import akka.javasdk.annotations.Component;
+import com.example.domain.DraftResult;
+import com.example.domain.DraftRevision;
+import com.example.domain.JurisprudenceService;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Revises a rejected draft with targeted edits instead of drafting again. The agent gets the
+ * previous draft split into numbered sections together with the sources it cited, and replies with
+ * only the sections it rewrites, referring to the others by number.
+ */
+@Component(id = "draft-revision-agent")
+public class DraftRevisionAgent extends Agent {
+
+    private static final String SYSTEM_MESSAGE = """
+        You are a court drafting assistant revising a decision draft that a
+        magistrate rejected. You get the rejection reason, the previous draft
+        split into numbered sections and the jurisprudence it cited. Change
+        only what the rejection reason requires and keep everything else.
+        The cited jurisprudence has already been retrieved; use the
+        searchJurisprudenceBatch tool only for legal questions it does not
+        cover. Every statement must cite its source. If insufficient legal
+        basis exists, explicitly state that rather than inventing content.
+
+        List the sections of the revised draft in order. Write "=N" to keep
+        section N unchanged, write the full text of a new or rewritten
+        section, and leave out sections to remove. List all citations of
+        the revised draft, set citations to null to keep the previous ones,
+        or to an empty list when the revised draft cites nothing.
+
+        Respond ONLY with a JSON object in this exact format, no other text:
+        {
+          "sections": ["=1", "The rewritten second section...", "=3"],
+          "citations": ["Civil Code Art. 927", "Court Precedent STJ-331/2024"]
+        }
+        """.stripIndent();
+
+    private final JurisprudenceService jurisprudenceService;
+    private final StructuredOutput<DraftRevision> output;
+
+    public DraftRevisionAgent(JurisprudenceService jurisprudenceService, StructuredOutputStats structuredOutputStats) {
+        this.jurisprudenceService = jurisprudenceService;
+        this.output = StructuredOutput.of(DraftRevision.class, structuredOutputStats).withNullableLists("citations");
+    }
+
+    public record RevisionRequest(String caseNumber, String rejectionReason, DraftResult previousDraft) {}
+
+    public Effect<DraftRevision> process(RevisionRequest request) {
+        var sections = DraftRevision.sectionsOf(request.previousDraft().content());
+        var numbered = IntStream.range(0, sections.size())
+            .mapToObj(i -> "[" + (i + 1) + "] " + sections.get(i))
+            .collect(Collectors.joining("\n\n"));
+        var sources = jurisprudenceService.findSources(request.previousDraft().citations()).stream()
+            .map(source -> source.source() + ": " + source.content())
+            .collect(Collectors.joining("\n"));
+        var userMessage = """
+            Revise the draft decision for case %s.
+            Rejection reason: %s
+
+            Previous draft:
+            %s
+
+            Cited jurisprudence:
+            %s""".formatted(request.caseNumber(), request.rejectionReason(), numbered,
+            sources.isEmpty() ? String.join("\n", request.previousDraft().citations()) : sources);
+
+        return effects()
+            .memory(MemoryProvider.none())
+            .systemMessage(SYSTEM_MESSAGE)
+            .tools(jurisprudenceService)
+            .userMessage(userMessage)
+            .map(reply -> {
+                var revision = output.parse(reply);
+                var invalid = revision.invalidReferences(sections.size());
+                if (!invalid.isEmpty()) {
+                    throw new StructuredOutputException(
+                        "DraftRevision: unknown sections " + String.join(", ", invalid) + " of " + sections.size());
+                }
+                return revision;
+            })
+            .thenReply();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+public record DraftingSettings(
+    boolean speculative,
+    boolean keepSpeculativeOnAuditFailure,
+    boolean incrementalRevision,
+    boolean streaming,
+    Duration streamChunkInterval,
+    int streamMaxTokensPerChunk
+) {
+
+    public static DraftingSettings fromConfig(Config config) {
+        var drafting = config.getConfig("court-onboarding.drafting");
+        return new DraftingSettings(
+            drafting.getBoolean("speculative"),
+            drafting.getBoolean("keep-speculative-on-audit-failure"),
+            drafting.getBoolean("incremental-revision"),
+            drafting.getBoolean("streaming.enabled"),
+            drafting.getDuration("streaming.chunk-interval"),
+            drafting.getInt("streaming.max-tokens-per-chunk"));
+    }
+}
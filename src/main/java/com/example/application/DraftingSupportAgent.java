@@ -1,6 +1,7 @@
 package com.example.application;
 
 import akka.javasdk.agent.Agent;
+import akka.javasdk.agent.MemoryProvider;
 import akka.javasdk.annotations.Component;
 import com.example.domain.DraftResult;
 import com.example.domain.JurisprudenceService;
@@ -8,12 +9,16 @@ import com.example.domain.JurisprudenceService;
 @Component(id = "drafting-support-agent")
 public class DraftingSupportAgent extends Agent {
 
-    private static final String SYSTEM_MESSAGE = """
+    /** The drafting task, shared with StreamingDraftingAgent, which only asks for another reply format. */
+    static final String INSTRUCTIONS = """
         You are a court drafting assistant. Given a case and its audit
-        results, use the searchJurisprudence tool to find relevant
-        precedents. Draft a decision suggestion based ONLY on retrieved
+        results, use the searchJurisprudenceBatch tool to find relevant
+        precedents, passing all of your queries in a single call. Draft a decision suggestion based ONLY on retrieved
         jurisprudence. Every statement must cite its source. If insufficient
         legal basis exists, explicitly state that rather than inventing content.
+        """.stripIndent();
+
+    private static final String SYSTEM_MESSAGE = INSTRUCTIONS + """
 
         Respond ONLY with a JSON object in this exact format, no other text:
         {
@@ -23,20 +28,36 @@ public class DraftingSupportAgent extends Agent {
         """.stripIndent();
 
     private final JurisprudenceService jurisprudenceService;
+    private final StructuredOutput<DraftResult> output;
 
-    public DraftingSupportAgent(JurisprudenceService jurisprudenceService) {
+    public DraftingSupportAgent(JurisprudenceService jurisprudenceService, StructuredOutputStats structuredOutputStats) {
         this.jurisprudenceService = jurisprudenceService;
+        this.output = StructuredOutput.of(DraftResult.class, structuredOutputStats);
     }
 
-    public record DraftRequest(String caseNumber, String auditSummary) {}
+    /**
+     * @param caseContext compacted summary of the case so far; when present it replaces the session
+     *                    history, so the agent does not read or accumulate earlier turns
+     */
+    public record DraftRequest(String caseNumber, String auditSummary, String caseContext) {}
 
     public Effect<DraftResult> process(DraftRequest request) {
+        var userMessage = "Draft decision for case %s. Audit summary: %s".formatted(
+            request.caseNumber(), request.auditSummary());
+        if (request.caseContext() == null) {
+            return effects()
+                .systemMessage(SYSTEM_MESSAGE)
+                .tools(jurisprudenceService)
+                .userMessage(userMessage)
+                .map(output::parse)
+                .thenReply();
+        }
         return effects()
+            .memory(MemoryProvider.none())
             .systemMessage(SYSTEM_MESSAGE)
             .tools(jurisprudenceService)
-            .userMessage("Draft decision for case %s. Audit summary: %s".formatted(
-                request.caseNumber(), request.auditSummary()))
-            .responseAs(DraftResult.class)
+            .userMessage(userMessage + "\n\nCase context so far:\n" + request.caseContext())
+            .map(output::parse)
             .thenReply();
     }
 }
\ No newline at end of file
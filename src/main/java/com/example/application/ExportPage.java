@@ -0,0 +1,23 @@
+package com.example.application;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of a view export: rows whose status changed in [from, to) with one of the statuses,
+ * ordered by case number and workflow id and starting after the row (after, afterWorkflowId).
+ * Case numbers need not be unique, so the workflow id breaks ties; both are empty for the first page.
+ */
+public record ExportPage(
+    Instant from,
+    Instant to,
+    List<String> statuses,
+    String after,
+    String afterWorkflowId,
+    int limit
+) {
+
+    public ExportPage next(String lastCaseNumber, String lastWorkflowId) {
+        return new ExportPage(from, to, statuses, lastCaseNumber, lastWorkflowId, limit);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.application;
+
+import com.example.domain.CaseDocuments;
+import com.example.domain.CourtSystemService;
+
+import java.util.List;
+
+/** Court system stand-in with injected latency and failures, for resilience and throughput experiments. */
+public class FaultInjectingCourtSystemService implements CourtSystemService {
+
+    private final CourtSystemService delegate;
+    private final FaultInjector faults;
+
+    public FaultInjectingCourtSystemService(CourtSystemService delegate, FaultInjector faults) {
+        this.delegate = delegate;
+        this.faults = faults;
+    }
+
+    @Override
+    public CaseDocuments searchCase(String caseNumber) {
+        return faults.call(caseNumber, () -> delegate.searchCase(caseNumber));
+    }
+
+    @Override
+    public CaseDocuments getCase(String caseNumber) {
+        return faults.call(caseNumber, () -> delegate.getCase(caseNumber));
+    }
+
+    @Override
+    public void updateCase(String caseNumber, List<String> acts) {
+        faults.run(caseNumber, () -> delegate.updateCase(caseNumber, acts));
+    }
+
+    @Override
+    public void publishActs(String idempotencyKey, String caseNumber, List<String> acts) {
+        faults.run(caseNumber, () -> delegate.publishActs(idempotencyKey, caseNumber, acts));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.application;
+
+import com.example.domain.CitedSource;
+import com.example.domain.JurisprudenceService;
+
+import java.util.List;
+
+/** Legal repository stand-in with injected latency and failures, for resilience and throughput experiments. */
+public class FaultInjectingJurisprudenceService implements JurisprudenceService {
+
+    private final JurisprudenceService delegate;
+    private final FaultInjector faults;
+
+    public FaultInjectingJurisprudenceService(JurisprudenceService delegate, FaultInjector faults) {
+        this.delegate = delegate;
+        this.faults = faults;
+    }
+
+    @Override
+    public List<CitedSource> searchJurisprudence(String query) {
+        return faults.call(query, () -> delegate.searchJurisprudence(query));
+    }
+
+    @Override
+    public List<CitedSource> findSources(List<String> identifiers) {
+        return faults.call(String.join("; ", identifiers), () -> delegate.findSources(identifiers));
+    }
+
+    @Override
+    public List<String> knownSources() {
+        return delegate.knownSources();
+    }
+}
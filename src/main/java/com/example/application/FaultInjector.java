@@ -0,0 +1,99 @@
+package com.example.application;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Applies the current {@link FaultProfile} of one dependency to its calls. The profile starts from
+ * configuration and can be replaced at runtime; injected failures surface as
+ * {@link DependencyUnavailableException}, as a real outage would to the resilience guards.
+ */
+public class FaultInjector {
+
+    public record Status(
+        String dependency,
+        FaultProfile profile,
+        long calls,
+        long injectedErrors,
+        long injectedTimeouts,
+        long outageFailures,
+        long injectedLatencyMillis
+    ) {}
+
+    private final String name;
+    private final FaultProfile configured;
+    private volatile FaultProfile profile;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder outages = new LongAdder();
+    private final LongAdder latencyMillis = new LongAdder();
+
+    public FaultInjector(String name, FaultProfile configured) {
+        this.name = name;
+        this.configured = configured;
+        this.profile = configured;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void set(FaultProfile newProfile) {
+        profile = newProfile;
+    }
+
+    /** Back to the configured profile. */
+    public void reset() {
+        profile = configured;
+    }
+
+    /**
+     * @param key what the call is about (case number, query), which decides whether a partial outage hits it
+     */
+    public <T> T call(String key, Supplier<T> action) {
+        var current = profile;
+        calls.increment();
+        if (current.inOutage(key)) {
+            outages.increment();
+            throw new DependencyUnavailableException(name + " is down for " + key + " (injected outage)");
+        }
+        var random = ThreadLocalRandom.current();
+        if (current.timeoutRate() > 0 && random.nextDouble() < current.timeoutRate()) {
+            timeouts.increment();
+            pause(current.timeoutMillis());
+            throw new DependencyUnavailableException(name + " timed out after " + current.timeoutMillis() + "ms (injected)");
+        }
+        pause(current.sampleLatencyMillis(random));
+        if (current.errorRate() > 0 && random.nextDouble() < current.errorRate()) {
+            errors.increment();
+            throw new DependencyUnavailableException(name + " failed (injected error)");
+        }
+        return action.get();
+    }
+
+    public void run(String key, Runnable action) {
+        call(key, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public Status status() {
+        return new Status(name, profile, calls.sum(), errors.sum(), timeouts.sum(), outages.sum(), latencyMillis.sum());
+    }
+
+    private void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        latencyMillis.add(millis);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DependencyUnavailableException(name + " call interrupted");
+        }
+    }
+}
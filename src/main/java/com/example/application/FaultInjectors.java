@@ -0,0 +1,29 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.util.List;
+import java.util.Optional;
+
+/** The fault injectors in front of the dependency stand-ins, empty when fault injection is disabled. */
+public record FaultInjectors(boolean enabled, FaultInjector courtSystem, FaultInjector jurisprudence) {
+
+    public static FaultInjectors fromConfig(Config config) {
+        var faults = config.getConfig("court-onboarding.fault-injection");
+        if (!faults.getBoolean("enabled")) {
+            return new FaultInjectors(false, null, null);
+        }
+        return new FaultInjectors(
+            true,
+            new FaultInjector("court-system", FaultProfile.fromConfig(faults.getConfig("court-system"))),
+            new FaultInjector("jurisprudence", FaultProfile.fromConfig(faults.getConfig("jurisprudence"))));
+    }
+
+    public List<FaultInjector> all() {
+        return enabled ? List.of(courtSystem, jurisprudence) : List.of();
+    }
+
+    public Optional<FaultInjector> find(String dependency) {
+        return all().stream().filter(injector -> injector.name().equals(dependency)).findFirst();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Latency and failures injected into calls to one dependency.
+ *
+ * @param distribution   how the added latency is drawn: FIXED adds latencyMillis, LOG_NORMAL has median
+ *                       latencyMillis and shape sigma (capped at one minute), BIMODAL adds
+ *                       slowLatencyMillis with probability slowRate and latencyMillis otherwise
+ * @param errorRate      share of calls that fail right after the latency
+ * @param timeoutRate    share of calls that hang for timeoutMillis and then fail
+ * @param outageFraction share of keys (case numbers, queries) that always fail, a partial outage
+ */
+public record FaultProfile(
+    Distribution distribution,
+    long latencyMillis,
+    double sigma,
+    long slowLatencyMillis,
+    double slowRate,
+    double errorRate,
+    double timeoutRate,
+    long timeoutMillis,
+    double outageFraction
+) {
+
+    public enum Distribution { FIXED, LOG_NORMAL, BIMODAL }
+
+    public static final FaultProfile NONE = new FaultProfile(Distribution.FIXED, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    /** Upper bound of a log-normal sample, whose tail is unbounded for a large sigma. */
+    static final long MAX_SAMPLED_LATENCY_MILLIS = 60_000;
+
+    public FaultProfile {
+        if (distribution == null) {
+            distribution = Distribution.FIXED;
+        }
+        if (latencyMillis < 0 || slowLatencyMillis < 0 || timeoutMillis < 0 || sigma < 0) {
+            throw new IllegalArgumentException("Latencies, timeout and sigma must not be negative");
+        }
+        requireRate("slowRate", slowRate);
+        requireRate("errorRate", errorRate);
+        requireRate("timeoutRate", timeoutRate);
+        requireRate("outageFraction", outageFraction);
+    }
+
+    public static FaultProfile fromConfig(Config config) {
+        return new FaultProfile(
+            Distribution.valueOf(config.getString("distribution").toUpperCase(Locale.ROOT).replace('-', '_')),
+            config.getDuration("latency").toMillis(),
+            config.getDouble("sigma"),
+            config.getDuration("slow-latency").toMillis(),
+            config.getDouble("slow-rate"),
+            config.getDouble("error-rate"),
+            config.getDouble("timeout-rate"),
+            config.getDuration("timeout").toMillis(),
+            config.getDouble("outage-fraction"));
+    }
+
+    long sampleLatencyMillis(RandomGenerator random) {
+        return switch (distribution) {
+            case FIXED -> latencyMillis;
+            case LOG_NORMAL -> Math.min(MAX_SAMPLED_LATENCY_MILLIS,
+                Math.round(latencyMillis * Math.exp(sigma * random.nextGaussian())));
+            case BIMODAL -> random.nextDouble() < slowRate ? slowLatencyMillis : latencyMillis;
+        };
+    }
+
+    /** Whether the key falls in the outage; the same keys stay down while the profile is active. */
+    boolean inOutage(String key) {
+        return outageFraction > 0 && Math.floorMod(key.hashCode() * 0x9E3779B9, 10_000) < outageFraction * 10_000;
+    }
+
+    private static void requireRate(String name, double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.application;
+
+import com.example.domain.CaseDocuments;
+import com.example.domain.CourtSystemService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Local court system stand-in serving case records from memory-mapped files written by
+ * {@link CaseDataFile.Writer} (see {@link CaseDataGenerator}). Lookups binary-search the mapped
+ * index and decode a single record; nothing is loaded onto the heap up front, so the page cache
+ * decides what stays in memory. Published acts are kept in memory like {@link CourtSystemServiceStub}.
+ */
+public class FileBackedCourtSystemService implements CourtSystemService {
+
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer[] segments;
+    private final long segmentSize;
+    private final int count;
+    private final CourtSystemServiceStub publications = new CourtSystemServiceStub();
+
+    public FileBackedCourtSystemService(Path directory) {
+        try (var indexChannel = FileChannel.open(directory.resolve(CaseDataFile.INDEX_FILE), StandardOpenOption.READ);
+             var dataChannel = FileChannel.open(directory.resolve(CaseDataFile.DATA_FILE), StandardOpenOption.READ)) {
+            this.index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+            if (index.getInt(0) != CaseDataFile.MAGIC) {
+                throw new IllegalArgumentException("Not a case index: " + directory.resolve(CaseDataFile.INDEX_FILE));
+            }
+            this.count = index.getInt(Integer.BYTES);
+            this.segmentSize = index.getLong(2 * Integer.BYTES);
+
+            long size = dataChannel.size();
+            int segmentCount = (int) ((size + segmentSize - 1) / segmentSize);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = i * segmentSize;
+                segments[i] = dataChannel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, size - start));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open case data in " + directory, e);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public CaseDocuments searchCase(String caseNumber) {
+        var key = CaseDataFile.key(caseNumber);
+        long offset = key == null ? -1 : find(key);
+        if (offset < 0) {
+            return CaseDocuments.notFound(caseNumber);
+        }
+        // duplicate() so concurrent lookups do not share a position
+        ByteBuffer record = segments[(int) (offset / segmentSize)].duplicate();
+        record.position((int) (offset % segmentSize));
+
+        var content = new byte[record.getInt()];
+        record.get(content);
+        int attachmentCount = record.getInt();
+        var attachments = new ArrayList<String>(attachmentCount);
+        for (int i = 0; i < attachmentCount; i++) {
+            var attachment = new byte[record.getShort() & 0xFFFF];
+            record.get(attachment);
+            attachments.add(new String(attachment, StandardCharsets.UTF_8));
+        }
+        return new CaseDocuments(caseNumber, new String(content, StandardCharsets.UTF_8), List.copyOf(attachments));
+    }
+
+    @Override
+    public void updateCase(String caseNumber, List<String> acts) {
+        publications.updateCase(caseNumber, acts);
+    }
+
+    @Override
+    public void publishActs(String idempotencyKey, String caseNumber, List<String> acts) {
+        publications.publishActs(idempotencyKey, caseNumber, acts);
+    }
+
+    private long find(byte[] key) {
+        var candidate = new byte[CaseDataFile.KEY_BYTES];
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = CaseDataFile.HEADER_BYTES + mid * CaseDataFile.ENTRY_BYTES;
+            index.get(entry, candidate);
+            int cmp = Arrays.compareUnsigned(candidate, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return index.getLong(entry + CaseDataFile.KEY_BYTES);
+            }
+        }
+        return -1;
+    }
+}
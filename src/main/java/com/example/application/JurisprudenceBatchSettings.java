@@ -0,0 +1,15 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+public record JurisprudenceBatchSettings(int maxQueries, Duration deadline) {
+
+    public static JurisprudenceBatchSettings fromConfig(Config config) {
+        var batch = config.getConfig("court-onboarding.jurisprudence-batch");
+        return new JurisprudenceBatchSettings(
+            batch.getInt("max-queries"),
+            batch.getDuration("deadline"));
+    }
+}
@@ -7,24 +7,36 @@ import java.util.List;
 
 public class JurisprudenceServiceStub implements JurisprudenceService {
 
+    private static final List<CitedSource> CORPUS = List.of(
+        new CitedSource(
+            "The party causing damage through an unlawful act is obligated to repair it. " +
+            "The obligation to repair arises regardless of fault in cases specified by law.",
+            "Civil Code Art. 927"
+        ),
+        new CitedSource(
+            "Moral damages arising from traffic accidents are presumed when bodily injury is proven. " +
+            "Compensation should be set at a level that is both proportional and dissuasive.",
+            "Court Precedent STJ-331/2024"
+        ),
+        new CitedSource(
+            "The insurer is directly liable to the injured third party up to the policy limit. " +
+            "The insurance policy constitutes a guarantee to the victim.",
+            "Insurance Regulatory Norm SUSEP-42"
+        )
+    );
+
     @Override
     public List<CitedSource> searchJurisprudence(String query) {
-        return List.of(
-            new CitedSource(
-                "The party causing damage through an unlawful act is obligated to repair it. " +
-                "The obligation to repair arises regardless of fault in cases specified by law.",
-                "Civil Code Art. 927"
-            ),
-            new CitedSource(
-                "Moral damages arising from traffic accidents are presumed when bodily injury is proven. " +
-                "Compensation should be set at a level that is both proportional and dissuasive.",
-                "Court Precedent STJ-331/2024"
-            ),
-            new CitedSource(
-                "The insurer is directly liable to the injured third party up to the policy limit. " +
-                "The insurance policy constitutes a guarantee to the victim.",
-                "Insurance Regulatory Norm SUSEP-42"
-            )
-        );
+        return CORPUS;
+    }
+
+    @Override
+    public List<CitedSource> findSources(List<String> identifiers) {
+        return CORPUS.stream().filter(source -> identifiers.contains(source.source())).toList();
+    }
+
+    @Override
+    public List<String> knownSources() {
+        return CORPUS.stream().map(CitedSource::source).toList();
     }
 }
\ No newline at end of file
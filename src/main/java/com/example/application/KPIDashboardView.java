@@ -6,33 +6,135 @@ import akka.javasdk.annotations.Query;
 import akka.javasdk.view.TableUpdater;
 import akka.javasdk.view.View;
 import com.example.domain.CaseState;
+import com.example.domain.CaseStatus;
+import com.example.domain.ProcessingStats.Speculation;
 
+import java.time.Instant;
 import java.util.List;
 
+/**
+ * KPI rows of the live cases. Archived cases leave the view, so the summary query keeps the same
+ * cost as history grows; their totals are kept in {@link ArchivedKpiTotalsEntity} instead.
+ */
 @Component(id = "kpi-dashboard-view")
 public class KPIDashboardView extends View {
 
     public record KPIEntry(
         String caseNumber,
+        String workflowId,
         String status,
         boolean documentsComplete,
         boolean auditConsistent,
-        int auditIssueCount
-    ) {}
+        int auditIssueCount,
+        boolean screened,
+        boolean screeningFastPath,
+        boolean secretariatTemplated,
+        String speculation,
+        int wastedSpeculativeTokens,
+        long tokensUsed,
+        Instant statusChangedAt
+    ) {
+
+        public static KPIEntry of(String workflowId, CaseState state) {
+            return new KPIEntry(
+                state.caseNumber(),
+                workflowId,
+                state.status().name(),
+                state.screening() != null && state.screening().documentsComplete(),
+                state.audit() != null && state.audit().consistent(),
+                state.audit() != null ? state.audit().issues().size() : 0,
+                state.screening() != null,
+                state.stats().screeningFastPath(),
+                state.stats().secretariatTemplated(),
+                state.stats().speculation().name(),
+                state.stats().wastedSpeculativeTokens(),
+                state.tokenUsage().total(),
+                state.statusChangedAt());
+        }
+    }
 
     public record KPIEntries(List<KPIEntry> entries) {}
 
+    public record KPIPage(List<KPIEntry> entries, boolean hasMore) {}
+
+    public record KPISummary(
+        int totalCases,
+        int screenedCases,
+        int screeningFastPathCases,
+        double screeningFastPathRate,
+        int secretariatTemplatedCases,
+        int speculativeDrafts,
+        double speculationHitRate,
+        long wastedSpeculativeTokens,
+        long tokensUsed,
+        double averageTokensPerCase,
+        int budgetExceededCases
+    ) {
+
+        public static KPISummary of(List<KPIEntry> entries) {
+            var totals = Totals.ZERO;
+            for (var entry : entries) {
+                totals = totals.add(entry);
+            }
+            return totals.summary();
+        }
+
+        /** Running totals, so a summary can be folded over a stream of entries and kept for archived cases. */
+        public record Totals(
+            int cases,
+            int screened,
+            int fastPath,
+            int templated,
+            int speculated,
+            int hits,
+            long wasted,
+            long tokens,
+            int overBudget
+        ) {
+
+            public static final Totals ZERO = new Totals(0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+            public Totals add(KPIEntry entry) {
+                boolean hit = Speculation.HIT.name().equals(entry.speculation())
+                    || Speculation.REUSED.name().equals(entry.speculation());
+                return new Totals(
+                    cases + 1,
+                    screened + (entry.screened() ? 1 : 0),
+                    fastPath + (entry.screeningFastPath() ? 1 : 0),
+                    templated + (entry.secretariatTemplated() ? 1 : 0),
+                    speculated + (Speculation.NONE.name().equals(entry.speculation()) ? 0 : 1),
+                    hits + (hit ? 1 : 0),
+                    wasted + entry.wastedSpeculativeTokens(),
+                    tokens + entry.tokensUsed(),
+                    overBudget + (CaseStatus.BUDGET_EXCEEDED.name().equals(entry.status()) ? 1 : 0));
+            }
+
+            public KPISummary summary() {
+                return new KPISummary(
+                    cases,
+                    screened,
+                    fastPath,
+                    screened == 0 ? 0.0 : (double) fastPath / screened,
+                    templated,
+                    speculated,
+                    speculated == 0 ? 0.0 : (double) hits / speculated,
+                    wasted,
+                    tokens,
+                    cases == 0 ? 0.0 : (double) tokens / cases,
+                    overBudget);
+            }
+        }
+    }
+
     @Consume.FromWorkflow(CaseProcessingWorkflow.class)
     public static class KPIDashboardUpdater extends TableUpdater<KPIEntry> {
 
+        // the workflow adds an archived case to ArchivedKpiTotalsEntity before archiving it
         public Effect<KPIEntry> onUpdate(CaseState state) {
-            return effects().updateRow(new KPIEntry(
-                state.caseNumber(),
-                state.status().name(),
-                state.screening() != null && state.screening().documentsComplete(),
-                state.audit() != null && state.audit().consistent(),
-                state.audit() != null ? state.audit().issues().size() : 0
-            ));
+            if (state.status() == CaseStatus.ARCHIVED) {
+                return effects().deleteRow();
+            }
+            return effects().updateRow(KPIEntry.of(updateContext().eventSubject().orElse(""), state));
         }
     }
 
@@ -41,6 +143,23 @@ public class KPIDashboardView extends View {
         return queryResult();
     }
 
+    /** All rows one by one, for aggregates that should not hold the whole view in memory. */
+    @Query("SELECT * FROM kpi_dashboard")
+    public QueryStreamEffect<KPIEntry> streamAll() {
+        return queryStreamResult();
+    }
+
+    @Query("""
+        SELECT * AS entries, has_more() AS hasMore FROM kpi_dashboard
+        WHERE statusChangedAt >= :from AND statusChangedAt < :to AND status = ANY(:statuses)
+          AND (caseNumber > :after OR (caseNumber = :after AND workflowId > :afterWorkflowId))
+        ORDER BY caseNumber, workflowId
+        LIMIT :limit
+        """)
+    public QueryEffect<KPIPage> getExportPage(ExportPage page) {
+        return queryResult();
+    }
+
     @Query("SELECT * AS entries FROM kpi_dashboard WHERE documentsComplete = false")
     public QueryEffect<KPIEntries> getIncompleteDocuments() {
         return queryResult();
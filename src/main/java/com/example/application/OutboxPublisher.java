@@ -0,0 +1,80 @@
+package com.example.application;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.client.ComponentClient;
+import akka.javasdk.timedaction.TimedAction;
+import akka.javasdk.timer.TimerScheduler;
+import com.example.domain.CourtSystemService;
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+/**
+ * Drains due outbox entries in batches, one court system call per case. Delivery is at least once:
+ * a crash between publishing and marking the entry delivered redelivers it with the same
+ * idempotency key. Reschedules itself, sooner when the batch was full, but never immediately: the
+ * pending view is updated asynchronously and would still list the entries just delivered.
+ */
+@Component(id = "outbox-publisher")
+public class OutboxPublisher extends TimedAction {
+
+    public static final String TIMER_NAME = "outbox-publisher";
+
+    private final ComponentClient componentClient;
+    private final CourtSystemService courtSystemService;
+    private final OutboxStats stats;
+    private final OutboxSettings settings;
+
+    public OutboxPublisher(ComponentClient componentClient,
+                           CourtSystemService courtSystemService,
+                           OutboxStats stats,
+                           Config config) {
+        this.componentClient = componentClient;
+        this.courtSystemService = courtSystemService;
+        this.stats = stats;
+        this.settings = OutboxSettings.fromConfig(config);
+    }
+
+    public Effect drain() {
+        long started = System.nanoTime();
+        long now = System.currentTimeMillis();
+        var due = componentClient.forView()
+            .method(PendingPublicationsView::getDue)
+            .invoke(new PendingPublicationsView.DueRequest(now, settings.batchSize()))
+            .entries();
+
+        int delivered = 0;
+        int failed = 0;
+        int acts = 0;
+        for (var entry : due) {
+            var outbox = componentClient.forKeyValueEntity(entry.outboxId());
+            try {
+                courtSystemService.publishActs(entry.idempotencyKey(), entry.caseNumber(), entry.acts());
+                outbox.method(PublicationOutboxEntity::markDelivered).invoke();
+                delivered++;
+                acts += entry.acts().size();
+            } catch (RuntimeException e) {
+                failed++;
+                var retryAt = now + settings.retryDelay(entry.attempts()).toMillis();
+                outbox.method(PublicationOutboxEntity::markFailed)
+                    .invoke(new PublicationOutboxEntity.FailedAttempt(String.valueOf(e.getMessage()), retryAt));
+            }
+        }
+        if (!due.isEmpty()) {
+            stats.recordDrain(delivered, failed, acts, System.nanoTime() - started);
+        }
+
+        var next = due.size() >= settings.batchSize() ? settings.fullBatchInterval() : settings.interval();
+        schedule(componentClient, timers(), next);
+        return effects().done();
+    }
+
+    public static void schedule(ComponentClient componentClient,
+                                TimerScheduler timers,
+                                Duration delay) {
+        timers.createSingleTimer(
+            TIMER_NAME,
+            delay,
+            componentClient.forTimedAction().method(OutboxPublisher::drain).deferred());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+public record OutboxSettings(
+    Duration interval,
+    Duration fullBatchInterval,
+    int batchSize,
+    Duration backoffBase,
+    Duration backoffMax
+) {
+
+    public static OutboxSettings fromConfig(Config config) {
+        var outbox = config.getConfig("court-onboarding.outbox");
+        return new OutboxSettings(
+            outbox.getDuration("interval"),
+            outbox.getDuration("full-batch-interval"),
+            outbox.getInt("batch-size"),
+            outbox.getDuration("backoff.base"),
+            outbox.getDuration("backoff.max"));
+    }
+
+    /** Exponential backoff with full jitter after the given number of failed attempts. */
+    public Duration retryDelay(int failedAttempts) {
+        long cap = Math.min(backoffMax.toMillis(), backoffBase.toMillis() << Math.min(failedAttempts, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+}
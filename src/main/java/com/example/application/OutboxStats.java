@@ -0,0 +1,45 @@
+package com.example.application;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Node-local counters of the outbox publisher, for measuring publish throughput. */
+public class OutboxStats {
+
+    public record Snapshot(
+        long drains,
+        long delivered,
+        long failed,
+        long actsPublished,
+        long lastDrainMillis,
+        double actsPerSecond
+    ) {}
+
+    private final LongAdder drains = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder actsPublished = new LongAdder();
+    private final LongAdder publishNanos = new LongAdder();
+    private final AtomicLong lastDrainNanos = new AtomicLong();
+
+    public void recordDrain(int deliveredCount, int failedCount, int acts, long elapsedNanos) {
+        drains.increment();
+        delivered.add(deliveredCount);
+        failed.add(failedCount);
+        actsPublished.add(acts);
+        publishNanos.add(elapsedNanos);
+        lastDrainNanos.set(elapsedNanos);
+    }
+
+    public Snapshot snapshot() {
+        long acts = actsPublished.sum();
+        long nanos = publishNanos.sum();
+        return new Snapshot(
+            drains.sum(),
+            delivered.sum(),
+            failed.sum(),
+            acts,
+            lastDrainNanos.get() / 1_000_000,
+            nanos == 0 ? 0.0 : acts * 1_000_000_000.0 / nanos);
+    }
+}
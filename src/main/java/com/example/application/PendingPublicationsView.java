@@ -0,0 +1,56 @@
+package com.example.application;
+
+import akka.javasdk.annotations.Component;
+import akka.javasdk.annotations.Consume;
+import akka.javasdk.annotations.Query;
+import akka.javasdk.view.TableUpdater;
+import akka.javasdk.view.View;
+import com.example.domain.OutboxEntry;
+
+import java.util.List;
+
+@Component(id = "pending-publications-view")
+public class PendingPublicationsView extends View {
+
+    public record PendingPublication(
+        String outboxId,
+        String idempotencyKey,
+        String caseNumber,
+        List<String> acts,
+        int attempts,
+        long nextAttemptAtMillis
+    ) {}
+
+    public record PendingPublications(List<PendingPublication> entries) {}
+
+    public record DueRequest(long dueBeforeMillis, int limit) {}
+
+    @Consume.FromKeyValueEntity(PublicationOutboxEntity.class)
+    public static class PendingPublicationsUpdater extends TableUpdater<PendingPublication> {
+
+        public Effect<PendingPublication> onUpdate(OutboxEntry entry) {
+            if (entry.delivered()) {
+                return effects().deleteRow();
+            }
+            return effects().updateRow(new PendingPublication(
+                updateContext().eventSubject().orElse(""),
+                entry.idempotencyKey(),
+                entry.caseNumber(),
+                entry.acts(),
+                entry.attempts(),
+                entry.nextAttemptAtMillis()
+            ));
+        }
+    }
+
+    /** Due entries, longest overdue first, so a backlog drains oldest first. */
+    @Query("""
+        SELECT * AS entries FROM pending_publications
+        WHERE nextAttemptAtMillis <= :dueBeforeMillis
+        ORDER BY nextAttemptAtMillis ASC
+        LIMIT :limit
+        """)
+    public QueryEffect<PendingPublications> getDue(DueRequest request) {
+        return queryResult();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.application;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.keyvalueentity.KeyValueEntity;
+import com.example.domain.OutboxEntry;
+
+import java.util.List;
+
+/**
+ * Durable outbox record of the acts to publish for one approved case, keyed by the case workflow id.
+ * Drained by {@link OutboxPublisher}.
+ */
+@Component(id = "publication-outbox")
+public class PublicationOutboxEntity extends KeyValueEntity<OutboxEntry> {
+
+    public record Enqueue(String caseNumber, List<String> acts, long nowMillis) {}
+
+    public record FailedAttempt(String error, long retryAtMillis) {}
+
+    public Effect<Done> enqueue(Enqueue command) {
+        if (currentState() != null) {
+            return effects().reply(Done.getInstance());
+        }
+        var idempotencyKey = commandContext().entityId() + ":publish";
+        return effects()
+            .updateState(OutboxEntry.create(idempotencyKey, command.caseNumber(), command.acts(), command.nowMillis()))
+            .thenReply(Done.getInstance());
+    }
+
+    public Effect<Done> markDelivered() {
+        if (currentState() == null) {
+            return effects().error("No publication enqueued");
+        }
+        if (currentState().delivered()) {
+            return effects().reply(Done.getInstance());
+        }
+        return effects()
+            .updateState(currentState().withDelivered())
+            .thenReply(Done.getInstance());
+    }
+
+    public Effect<Done> markFailed(FailedAttempt command) {
+        if (currentState() == null) {
+            return effects().error("No publication enqueued");
+        }
+        if (currentState().delivered()) {
+            return effects().reply(Done.getInstance());
+        }
+        return effects()
+            .updateState(currentState().withFailedAttempt(command.error(), command.retryAtMillis()))
+            .thenReply(Done.getInstance());
+    }
+
+    public ReadOnlyEffect<OutboxEntry> get() {
+        if (currentState() == null) {
+            return effects().error("No publication enqueued");
+        }
+        return effects().reply(currentState());
+    }
+}
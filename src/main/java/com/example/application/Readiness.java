@@ -0,0 +1,58 @@
+package com.example.application;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Whether this node finished its warm-up, how long warm-up took, and how long after JVM start the
+ * first API request arrived. Reported by /health/ready and /metrics/warm-up.
+ */
+public class Readiness {
+
+    public record TaskTiming(String task, long millis, String error) {}
+
+    public record Snapshot(
+        boolean ready,
+        long warmUpMillis,
+        long startupToReadyMillis,
+        long timeToFirstRequestMillis,
+        boolean firstRequestBeforeReady,
+        List<TaskTiming> tasks
+    ) {}
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicLong firstRequestMillis = new AtomicLong();
+    private volatile long readyAtMillis;
+    private volatile long warmUpMillis;
+    private volatile List<TaskTiming> tasks = List.of();
+
+    public boolean isReady() {
+        return readyAtMillis > 0;
+    }
+
+    public void markReady(long warmUpMillis, List<TaskTiming> tasks) {
+        this.warmUpMillis = warmUpMillis;
+        this.tasks = List.copyOf(tasks);
+        this.readyAtMillis = System.currentTimeMillis();
+    }
+
+    /** Called for every API request, by the endpoints' common base; only the first one is kept. */
+    public void recordRequest() {
+        if (firstRequestMillis.get() == 0) {
+            firstRequestMillis.compareAndSet(0, System.currentTimeMillis());
+        }
+    }
+
+    public Snapshot snapshot() {
+        long readyAt = readyAtMillis;
+        long firstRequest = firstRequestMillis.get();
+        return new Snapshot(
+            readyAt > 0,
+            warmUpMillis,
+            readyAt > 0 ? readyAt - jvmStartMillis : -1,
+            firstRequest > 0 ? firstRequest - jvmStartMillis : -1,
+            firstRequest > 0 && (readyAt == 0 || firstRequest < readyAt),
+            tasks);
+    }
+}
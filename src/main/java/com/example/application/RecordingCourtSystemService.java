@@ -0,0 +1,41 @@
+package com.example.application;
+
+import com.example.domain.CaseDocuments;
+import com.example.domain.CourtSystemService;
+
+import java.util.List;
+
+/** Records the court system tool calls made by agents to the {@link AgentInteractionLog}. */
+public class RecordingCourtSystemService implements CourtSystemService {
+
+    private final CourtSystemService delegate;
+    private final AgentInteractionLog log;
+
+    public RecordingCourtSystemService(CourtSystemService delegate, AgentInteractionLog log) {
+        this.delegate = delegate;
+        this.log = log;
+    }
+
+    @Override
+    public CaseDocuments searchCase(String caseNumber) {
+        return log.aroundTool("searchCase", caseNumber, () -> delegate.searchCase(caseNumber));
+    }
+
+    @Override
+    public CaseDocuments getCase(String caseNumber) {
+        return delegate.getCase(caseNumber);
+    }
+
+    @Override
+    public void updateCase(String caseNumber, List<String> acts) {
+        log.aroundTool("updateCase", caseNumber, () -> {
+            delegate.updateCase(caseNumber, acts);
+            return acts;
+        });
+    }
+
+    @Override
+    public void publishActs(String idempotencyKey, String caseNumber, List<String> acts) {
+        delegate.publishActs(idempotencyKey, caseNumber, acts);
+    }
+}
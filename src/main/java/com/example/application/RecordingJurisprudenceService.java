@@ -0,0 +1,33 @@
+package com.example.application;
+
+import com.example.domain.CitedSource;
+import com.example.domain.JurisprudenceService;
+
+import java.util.List;
+
+/** Records the legal repository searches made by agents to the {@link AgentInteractionLog}. */
+public class RecordingJurisprudenceService implements JurisprudenceService {
+
+    private final JurisprudenceService delegate;
+    private final AgentInteractionLog log;
+
+    public RecordingJurisprudenceService(JurisprudenceService delegate, AgentInteractionLog log) {
+        this.delegate = delegate;
+        this.log = log;
+    }
+
+    @Override
+    public List<CitedSource> searchJurisprudence(String query) {
+        return log.aroundTool("searchJurisprudence", query, () -> delegate.searchJurisprudence(query));
+    }
+
+    @Override
+    public List<CitedSource> findSources(List<String> identifiers) {
+        return log.aroundTool("findSources", String.join("; ", identifiers), () -> delegate.findSources(identifiers));
+    }
+
+    @Override
+    public List<String> knownSources() {
+        return delegate.knownSources();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.application;
+
+import com.example.domain.CaseDocuments;
+import com.example.domain.CourtSystemService;
+
+import java.util.List;
+
+/**
+ * Guards the court system behind a circuit breaker and bulkhead. When the guard rejects a lookup,
+ * the agent gets an explicit "unavailable" case record instead of waiting; {@link #getCase} and
+ * publishing acts fail fast with {@link DependencyUnavailableException} so callers can retry later.
+ */
+public class ResilientCourtSystemService implements CourtSystemService {
+
+    private final CourtSystemService delegate;
+    private final DependencyGuard guard;
+
+    public ResilientCourtSystemService(CourtSystemService delegate, DependencyGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public CaseDocuments searchCase(String caseNumber) {
+        return guard.call(
+            () -> delegate.searchCase(caseNumber),
+            reason -> CaseDocuments.unavailable(
+                caseNumber,
+                reason + ". The case data could not be retrieved; do not infer case details, " +
+                    "report that the court system must be consulted again later."));
+    }
+
+    @Override
+    public CaseDocuments getCase(String caseNumber) {
+        return guard.call(
+            () -> delegate.getCase(caseNumber),
+            reason -> {
+                throw new DependencyUnavailableException(reason);
+            });
+    }
+
+    @Override
+    public void updateCase(String caseNumber, List<String> acts) {
+        guard.call(
+            () -> {
+                delegate.updateCase(caseNumber, acts);
+                return null;
+            },
+            reason -> {
+                throw new DependencyUnavailableException(reason);
+            });
+    }
+
+    @Override
+    public void publishActs(String idempotencyKey, String caseNumber, List<String> acts) {
+        guard.call(
+            () -> {
+                delegate.publishActs(idempotencyKey, caseNumber, acts);
+                return null;
+            },
+            reason -> {
+                throw new DependencyUnavailableException(reason);
+            });
+    }
+}
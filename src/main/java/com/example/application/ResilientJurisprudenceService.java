@@ -0,0 +1,41 @@
+package com.example.application;
+
+import com.example.domain.CitedSource;
+import com.example.domain.JurisprudenceService;
+
+import java.util.List;
+
+/**
+ * Guards the legal repository behind a circuit breaker and bulkhead. When the guard rejects a
+ * search, the agent gets a single source explaining that no jurisprudence could be retrieved.
+ */
+public class ResilientJurisprudenceService implements JurisprudenceService {
+
+    private final JurisprudenceService delegate;
+    private final DependencyGuard guard;
+
+    public ResilientJurisprudenceService(JurisprudenceService delegate, DependencyGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public List<CitedSource> searchJurisprudence(String query) {
+        return guard.call(
+            () -> delegate.searchJurisprudence(query),
+            reason -> List.of(new CitedSource(
+                "UNAVAILABLE: " + reason + ". No jurisprudence could be retrieved for this query; " +
+                    "state that the legal basis could not be verified instead of citing this entry.",
+                "UNAVAILABLE")));
+    }
+
+    @Override
+    public List<CitedSource> findSources(List<String> identifiers) {
+        return guard.call(() -> delegate.findSources(identifiers), reason -> List.of());
+    }
+
+    @Override
+    public List<String> knownSources() {
+        return delegate.knownSources();
+    }
+}
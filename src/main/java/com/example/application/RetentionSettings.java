@@ -0,0 +1,15 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+public record RetentionSettings(boolean enabled, Duration archiveAfter) {
+
+    public static RetentionSettings fromConfig(Config config) {
+        var retention = config.getConfig("court-onboarding.retention");
+        return new RetentionSettings(
+            retention.getBoolean("enabled"),
+            retention.getDuration("archive-after"));
+    }
+}
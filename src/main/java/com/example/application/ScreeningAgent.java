@@ -27,9 +27,11 @@ public class ScreeningAgent extends Agent {
         """.stripIndent();
 
     private final CourtSystemService courtSystemService;
+    private final StructuredOutput<ScreeningResult> output;
 
-    public ScreeningAgent(CourtSystemService courtSystemService) {
+    public ScreeningAgent(CourtSystemService courtSystemService, StructuredOutputStats structuredOutputStats) {
         this.courtSystemService = courtSystemService;
+        this.output = StructuredOutput.of(ScreeningResult.class, structuredOutputStats);
     }
 
     public Effect<ScreeningResult> process(String caseNumber) {
@@ -37,7 +39,7 @@ public class ScreeningAgent extends Agent {
             .systemMessage(SYSTEM_MESSAGE)
             .tools(courtSystemService)
             .userMessage("Screen case number: " + caseNumber)
-            .responseAs(ScreeningResult.class)
+            .map(output::parse)
             .thenReply();
     }
 }
\ No newline at end of file
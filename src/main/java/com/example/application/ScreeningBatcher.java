@@ -0,0 +1,207 @@
+package com.example.application;
+
+import akka.javasdk.JsonSupport;
+import com.example.domain.ScreeningResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects screening requests on this node into batches of up to max-batch-size cases, or whatever
+ * arrived within max-wait, and sends each batch as one model request. Every element of the reply is
+ * validated; if any case is missing or invalid the whole batch is rejected and each waiting caller
+ * falls back to its own screening request. The tokens metered for a batch, answered or not, are
+ * shared evenly among its cases.
+ */
+public class ScreeningBatcher {
+
+    public static class BatchRejectedException extends RuntimeException {
+        private final long tokens;
+
+        public BatchRejectedException(String message, Throwable cause, long tokens) {
+            super(message, cause);
+            this.tokens = tokens;
+        }
+
+        /** The share of the rejected batch's tokens charged to each of its cases. */
+        public long tokens() {
+            return tokens;
+        }
+    }
+
+    public record Stats(long batches, long batchedCases, long rejectedBatches, double averageBatchSize) {}
+
+    /** Sends one batch of case numbers to the model, metering its tokens, and returns the raw reply. */
+    @FunctionalInterface
+    interface Sender {
+        CompletionStage<String> send(List<String> caseNumbers, TokenMeter meter);
+    }
+
+    /** The screening of one case and its share of the batch's tokens. */
+    record Screened(ScreeningResult result, long tokens) {}
+
+    private record Pending(String caseNumber, CompletableFuture<Screened> result) {}
+
+    private record Batch(List<Pending> cases, Sender sender) {}
+
+    private final int maxBatchSize;
+    private final long maxWaitMillis;
+    private final long overheadPerCall;
+    private final StructuredOutput<ScreeningResult> output;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "screening-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedCases = new LongAdder();
+    private final LongAdder rejectedBatches = new LongAdder();
+
+    private final Object lock = new Object();
+    private List<Pending> pending = new ArrayList<>();
+    private Sender sender;
+    private ScheduledFuture<?> flushTimer;
+
+    public ScreeningBatcher(int maxBatchSize, long maxWaitMillis, long overheadPerCall, StructuredOutputStats structuredOutputStats) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.overheadPerCall = overheadPerCall;
+        this.output = StructuredOutput.of(ScreeningResult.class, structuredOutputStats);
+    }
+
+    /**
+     * @param send the sender of the first request in a batch sends the whole batch
+     */
+    CompletionStage<Screened> submit(String caseNumber, Sender send) {
+        var result = new CompletableFuture<Screened>();
+        Batch full = null;
+        synchronized (lock) {
+            pending.add(new Pending(caseNumber, result));
+            if (pending.size() == 1) {
+                sender = send;
+                flushTimer = scheduler.schedule(this::flushDue, maxWaitMillis, TimeUnit.MILLISECONDS);
+            }
+            if (pending.size() >= maxBatchSize) {
+                full = takeBatch();
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    public Stats stats() {
+        long count = batches.sum();
+        long cases = batchedCases.sum();
+        return new Stats(count, cases, rejectedBatches.sum(), count == 0 ? 0.0 : (double) cases / count);
+    }
+
+    private void flushDue() {
+        Batch due;
+        synchronized (lock) {
+            due = pending.isEmpty() ? null : takeBatch();
+        }
+        if (due != null) {
+            dispatch(due);
+        }
+    }
+
+    private Batch takeBatch() {
+        var batch = new Batch(pending, sender);
+        pending = new ArrayList<>();
+        sender = null;
+        if (flushTimer != null) {
+            flushTimer.cancel(false);
+            flushTimer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Batch batch) {
+        batches.increment();
+        batchedCases.add(batch.cases().size());
+        var caseNumbers = batch.cases().stream().map(Pending::caseNumber).distinct().toList();
+        var meter = new TokenMeter(overheadPerCall);
+        CompletionStage<String> reply;
+        try {
+            reply = batch.sender().send(caseNumbers, meter);
+        } catch (RuntimeException e) {
+            reject(batch, e, meter);
+            return;
+        }
+        reply.whenComplete((text, error) -> {
+            if (error != null) {
+                reject(batch, error, meter);
+                return;
+            }
+            Map<String, ScreeningResult> results;
+            try {
+                results = parse(text, caseNumbers);
+            } catch (RuntimeException e) {
+                reject(batch, e, meter);
+                return;
+            }
+            long share = shareOf(meter, batch);
+            for (var request : batch.cases()) {
+                request.result().complete(new Screened(results.get(request.caseNumber()), share));
+            }
+        });
+    }
+
+    private Map<String, ScreeningResult> parse(String reply, List<String> caseNumbers) {
+        var root = readTree(StructuredOutput.extractObject(reply == null ? "" : reply, "ScreeningBatch"));
+        var elements = root.get("results");
+        if (elements == null || !elements.isArray()) {
+            throw new StructuredOutputException("ScreeningBatch: no results array");
+        }
+        var results = new HashMap<String, ScreeningResult>();
+        for (var element : elements) {
+            if (!(element instanceof ObjectNode object) || !object.hasNonNull("caseNumber")) {
+                throw new StructuredOutputException("ScreeningBatch: result without caseNumber");
+            }
+            var caseNumber = object.remove("caseNumber").asText();
+            results.put(caseNumber, output.parse(object.toString()));
+        }
+        for (var caseNumber : caseNumbers) {
+            if (!results.containsKey(caseNumber)) {
+                throw new StructuredOutputException("ScreeningBatch: no result for " + caseNumber);
+            }
+        }
+        return results;
+    }
+
+    private static JsonNode readTree(String json) {
+        try {
+            return JsonSupport.getObjectMapper().readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new StructuredOutputException("ScreeningBatch: " + e.getOriginalMessage());
+        }
+    }
+
+    private static long shareOf(TokenMeter meter, Batch batch) {
+        return (meter.tokens() + batch.cases().size() - 1) / batch.cases().size();
+    }
+
+    private void reject(Batch batch, Throwable cause, TokenMeter meter) {
+        rejectedBatches.increment();
+        var rejection = new BatchRejectedException(
+            "Screening batch of " + batch.cases().size() + " cases rejected", cause, shareOf(meter, batch));
+        for (var request : batch.cases()) {
+            request.result().completeExceptionally(rejection);
+        }
+    }
+}
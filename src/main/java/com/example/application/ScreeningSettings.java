@@ -0,0 +1,24 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+public record ScreeningSettings(
+    boolean fastPath,
+    double minConfidence,
+    boolean batching,
+    int maxBatchSize,
+    Duration maxBatchWait
+) {
+
+    public static ScreeningSettings fromConfig(Config config) {
+        var screening = config.getConfig("court-onboarding.screening");
+        return new ScreeningSettings(
+            screening.getBoolean("fast-path"),
+            screening.getDouble("min-confidence"),
+            screening.getBoolean("batching.enabled"),
+            screening.getInt("batching.max-batch-size"),
+            screening.getDuration("batching.max-wait"));
+    }
+}
@@ -21,9 +21,11 @@ public class SecretariatRoutineAgent extends Agent {
         """.stripIndent();
 
     private final CourtSystemService courtSystemService;
+    private final StructuredOutput<SecretariatResult> output;
 
-    public SecretariatRoutineAgent(CourtSystemService courtSystemService) {
+    public SecretariatRoutineAgent(CourtSystemService courtSystemService, StructuredOutputStats structuredOutputStats) {
         this.courtSystemService = courtSystemService;
+        this.output = StructuredOutput.of(SecretariatResult.class, structuredOutputStats);
     }
 
     public Effect<SecretariatResult> process(String caseNumber) {
@@ -31,7 +33,7 @@ public class SecretariatRoutineAgent extends Agent {
             .systemMessage(SYSTEM_MESSAGE)
             .tools(courtSystemService)
             .userMessage("Process case number: " + caseNumber)
-            .responseAs(SecretariatResult.class)
+            .map(output::parse)
             .thenReply();
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+public record SecretariatSettings(boolean templates) {
+
+    public static SecretariatSettings fromConfig(Config config) {
+        var secretariat = config.getConfig("court-onboarding.secretariat");
+        return new SecretariatSettings(secretariat.getBoolean("templates"));
+    }
+}
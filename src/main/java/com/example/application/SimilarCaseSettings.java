@@ -0,0 +1,28 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+public record SimilarCaseSettings(
+    boolean enabled,
+    int numHashes,
+    int bands,
+    double threshold,
+    int maxMatches,
+    boolean reuseScreening,
+    double reuseThreshold,
+    String indexFile
+) {
+
+    public static SimilarCaseSettings fromConfig(Config config) {
+        var similar = config.getConfig("court-onboarding.similar-cases");
+        return new SimilarCaseSettings(
+            similar.getBoolean("enabled"),
+            similar.getInt("num-hashes"),
+            similar.getInt("bands"),
+            similar.getDouble("threshold"),
+            similar.getInt("max-matches"),
+            similar.getBoolean("reuse-screening"),
+            similar.getDouble("reuse-threshold"),
+            similar.getString("index-file"));
+    }
+}
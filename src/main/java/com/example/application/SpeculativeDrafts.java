@@ -0,0 +1,49 @@
+package com.example.application;
+
+import com.example.domain.DraftResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Node-local registry of the speculative drafts started by audit steps, by workflow id. A draft
+ * outlives a failed audit attempt, so the retried step adopts it instead of paying for a second one,
+ * and whichever step ends the audit takes it out to commit it or record its tokens as wasted.
+ * Entries older than max-age (a workflow that moved to another node) are cancelled and dropped.
+ */
+public class SpeculativeDrafts {
+
+    record InFlight(CompletableFuture<DraftResult> future, TokenMeter meter, long startedNanos) {}
+
+    private final ConcurrentHashMap<String, InFlight> byWorkflow = new ConcurrentHashMap<>();
+    private final long maxAgeNanos;
+
+    public SpeculativeDrafts(Duration maxAge) {
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /** The draft already running for the workflow, unless it failed, otherwise a new one from start. */
+    InFlight startOrAdopt(String workflowId, Supplier<InFlight> start) {
+        purgeExpired();
+        return byWorkflow.compute(workflowId, (id, running) ->
+            running != null && !running.future().isCompletedExceptionally() ? running : start.get());
+    }
+
+    /** Removes and returns the workflow's draft, or null if it has none. */
+    InFlight take(String workflowId) {
+        return byWorkflow.remove(workflowId);
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        byWorkflow.values().removeIf(draft -> {
+            if (now - draft.startedNanos() < maxAgeNanos) {
+                return false;
+            }
+            draft.future().cancel(true);
+            return true;
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.application;
+
+import akka.javasdk.agent.Agent;
+import akka.javasdk.agent.MemoryProvider;
+import akka.javasdk.annotations.Component;
+import com.example.domain.DraftStreamFormat;
+import com.example.domain.JurisprudenceService;
+
+@Component(id = "streaming-drafting-agent")
+public class StreamingDraftingAgent extends Agent {
+
+    private static final String SYSTEM_MESSAGE = DraftingSupportAgent.INSTRUCTIONS + """
+
+        Respond in plain text, no JSON and no markdown. Write the draft
+        decision text first. Then write a line containing only
+        %s followed by one cited source per line, for example:
+        The draft decision text here...
+        %s
+        Civil Code Art. 927
+        Court Precedent STJ-331/2024
+        """.formatted(DraftStreamFormat.CITATIONS_MARKER, DraftStreamFormat.CITATIONS_MARKER).stripIndent();
+
+    private final JurisprudenceService jurisprudenceService;
+
+    public StreamingDraftingAgent(JurisprudenceService jurisprudenceService) {
+        this.jurisprudenceService = jurisprudenceService;
+    }
+
+    public StreamEffect process(DraftingSupportAgent.DraftRequest request) {
+        var userMessage = "Draft decision for case %s. Audit summary: %s".formatted(
+            request.caseNumber(), request.auditSummary());
+        if (request.caseContext() == null) {
+            return streamEffects()
+                .systemMessage(SYSTEM_MESSAGE)
+                .tools(jurisprudenceService)
+                .userMessage(userMessage)
+                .thenReply();
+        }
+        return streamEffects()
+            .memory(MemoryProvider.none())
+            .systemMessage(SYSTEM_MESSAGE)
+            .tools(jurisprudenceService)
+            .userMessage(userMessage + "\n\nCase context so far:\n" + request.caseContext())
+            .thenReply();
+    }
+}
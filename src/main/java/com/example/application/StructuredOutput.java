@@ -0,0 +1,292 @@
+package com.example.application;
+
+import akka.javasdk.JsonSupport;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Tolerant parser for the structured replies of an agent. The reply is cut down to its JSON object,
+ * field names, enums, booleans and lists are coerced to the shape of the target record, missing
+ * lists default to empty, and the result is validated against a schema derived once from the record.
+ * Only a reply that cannot be repaired fails, which makes the agent call (and only then the model)
+ * retry.
+ * <p>
+ * Agents map their text reply through {@link #parse} instead of declaring {@code responseAs}. A
+ * strict responseAs parse fails the call on the first fenced block or stray sentence, and its failure
+ * no longer carries the reply text, so there is nothing left to repair. It would add nothing here
+ * either, since each agent's system message already asks for the JSON shape.
+ */
+public final class StructuredOutput<T extends Record> {
+
+    private enum Kind { STRING, BOOLEAN, ENUM, STRING_LIST }
+
+    private record Field(String name, String normalizedName, Kind kind, Set<String> enumValues) {}
+
+    private static final Pattern TRAILING_COMMA = Pattern.compile(",\\s*([}\\]])");
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final Map<Class<?>, List<Field>> SCHEMAS = new ConcurrentHashMap<>();
+
+    private final Class<T> type;
+    private final List<Field> fields;
+    private final StructuredOutputStats stats;
+    private final Set<String> nullableLists;
+
+    private StructuredOutput(Class<T> type, StructuredOutputStats stats, Set<String> nullableLists) {
+        this.type = type;
+        this.stats = stats;
+        this.nullableLists = nullableLists;
+        this.fields = SCHEMAS.computeIfAbsent(type,
+            t -> Arrays.stream(t.getRecordComponents()).map(StructuredOutput::field).toList());
+    }
+
+    public static <T extends Record> StructuredOutput<T> of(Class<T> type, StructuredOutputStats stats) {
+        return new StructuredOutput<>(type, stats, Set.of());
+    }
+
+    /** Lists whose absence means something to the caller: a missing or null value stays null instead of empty. */
+    public StructuredOutput<T> withNullableLists(String... names) {
+        return new StructuredOutput<>(type, stats, Set.of(names));
+    }
+
+    public T parse(String reply) {
+        var repairs = new ArrayList<String>();
+        try {
+            var node = normalize(readObject(reply, repairs), repairs);
+            var result = JsonSupport.getObjectMapper().treeToValue(node, type);
+            stats.record(type.getSimpleName(),
+                repairs.isEmpty() ? StructuredOutputStats.Outcome.CLEAN : StructuredOutputStats.Outcome.REPAIRED);
+            return result;
+        } catch (StructuredOutputException e) {
+            stats.record(type.getSimpleName(), StructuredOutputStats.Outcome.FAILED);
+            throw e;
+        } catch (JsonProcessingException e) {
+            stats.record(type.getSimpleName(), StructuredOutputStats.Outcome.FAILED);
+            throw new StructuredOutputException(type.getSimpleName() + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private ObjectNode readObject(String reply, List<String> repairs) {
+        if (reply == null) {
+            throw new StructuredOutputException(type.getSimpleName() + ": empty reply");
+        }
+        var trimmed = reply.trim();
+        var json = extractObject(trimmed, type.getSimpleName());
+        if (json.length() != trimmed.length()) {
+            repairs.add("extracted");
+        }
+        var mapper = JsonSupport.getObjectMapper();
+        try {
+            return asObject(mapper.readTree(json));
+        } catch (JsonProcessingException e) {
+            var fixed = TRAILING_COMMA.matcher(json).replaceAll("$1");
+            try {
+                repairs.add("trailing-comma");
+                return asObject(mapper.readTree(fixed));
+            } catch (JsonProcessingException again) {
+                throw new StructuredOutputException(type.getSimpleName() + ": " + again.getOriginalMessage());
+            }
+        }
+    }
+
+    private ObjectNode asObject(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            return object;
+        }
+        throw new StructuredOutputException(type.getSimpleName() + ": reply is not a JSON object");
+    }
+
+    /** The first balanced {...} in the text, skipping braces inside strings. */
+    static String extractObject(String text, String expected) {
+        int start = text.indexOf('{');
+        if (start < 0) {
+            throw new StructuredOutputException(expected + ": no JSON object in reply");
+        }
+        int depth = 0;
+        boolean inString = false;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return text.substring(start, i + 1);
+            }
+        }
+        throw new StructuredOutputException(expected + ": unterminated JSON object");
+    }
+
+    private ObjectNode normalize(ObjectNode raw, List<String> repairs) {
+        Map<String, JsonNode> byName = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = raw.fields(); it.hasNext(); ) {
+            var entry = it.next();
+            byName.putIfAbsent(normalizeName(entry.getKey()), entry.getValue());
+        }
+
+        var result = NODES.objectNode();
+        for (var field : fields) {
+            var value = raw.get(field.name());
+            if (value == null && (value = byName.get(field.normalizedName())) != null) {
+                repairs.add("field-name:" + field.name());
+            }
+            result.set(field.name(), coerce(field, value, repairs));
+        }
+        if (raw.size() > fields.size()) {
+            repairs.add("extra-fields");
+        }
+        return result;
+    }
+
+    private JsonNode coerce(Field field, JsonNode value, List<String> repairs) {
+        boolean missing = value == null || value.isNull();
+        return switch (field.kind()) {
+            case STRING_LIST -> {
+                if (missing && nullableLists.contains(field.name())) {
+                    yield NODES.nullNode();
+                }
+                if (missing) {
+                    repairs.add("default:" + field.name());
+                    yield NODES.arrayNode();
+                }
+                if (value.isArray()) {
+                    var list = NODES.arrayNode();
+                    for (var element : value) {
+                        var text = scalarText(element);
+                        if (!element.isTextual()) {
+                            repairs.add("list-element:" + field.name());
+                        }
+                        if (text != null) {
+                            list.add(text);
+                        }
+                    }
+                    yield list;
+                }
+                repairs.add("list:" + field.name());
+                var text = scalarText(value);
+                ArrayNode list = NODES.arrayNode();
+                if (text != null && !text.isBlank()) {
+                    list.add(text);
+                }
+                yield list;
+            }
+            case BOOLEAN -> {
+                if (missing) {
+                    throw invalid(field, "missing");
+                }
+                if (value.isBoolean()) {
+                    yield value;
+                }
+                var text = scalarText(value);
+                repairs.add("boolean:" + field.name());
+                yield switch (text == null ? "" : text.trim().toLowerCase(Locale.ROOT)) {
+                    case "true", "yes", "1" -> NODES.booleanNode(true);
+                    case "false", "no", "0" -> NODES.booleanNode(false);
+                    default -> throw invalid(field, "not a boolean: " + value);
+                };
+            }
+            case ENUM -> {
+                if (missing) {
+                    throw invalid(field, "missing");
+                }
+                var text = scalarText(value);
+                var constant = text == null ? "" : text.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+                if (!field.enumValues().contains(constant)) {
+                    throw invalid(field, "not one of " + field.enumValues() + ": " + value);
+                }
+                if (!value.isTextual() || !constant.equals(value.asText())) {
+                    repairs.add("enum:" + field.name());
+                }
+                yield NODES.textNode(constant);
+            }
+            case STRING -> {
+                if (missing) {
+                    throw invalid(field, "missing");
+                }
+                if (!value.isTextual()) {
+                    repairs.add("string:" + field.name());
+                }
+                var text = scalarText(value);
+                if (text == null) {
+                    throw invalid(field, "not a string: " + value);
+                }
+                yield NODES.textNode(text);
+            }
+        };
+    }
+
+    /** Text of a scalar, or of the value/name field (or only text field) of an object wrapping one. */
+    private static String scalarText(JsonNode node) {
+        if (node.isValueNode()) {
+            return node.asText();
+        }
+        if (node.isObject()) {
+            for (var key : List.of("value", "name", "type", "text", "content", "source")) {
+                if (node.hasNonNull(key) && node.get(key).isValueNode()) {
+                    return node.get(key).asText();
+                }
+            }
+            var texts = new ArrayList<String>();
+            node.elements().forEachRemaining(n -> {
+                if (n.isTextual()) {
+                    texts.add(n.asText());
+                }
+            });
+            return texts.size() == 1 ? texts.get(0) : null;
+        }
+        return null;
+    }
+
+    private StructuredOutputException invalid(Field field, String reason) {
+        return new StructuredOutputException(type.getSimpleName() + "." + field.name() + " " + reason);
+    }
+
+    private static String normalizeName(String name) {
+        return name.replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Field field(RecordComponent component) {
+        var raw = component.getType();
+        Kind kind;
+        Set<String> enumValues = Set.of();
+        if (raw == String.class) {
+            kind = Kind.STRING;
+        } else if (raw == boolean.class || raw == Boolean.class) {
+            kind = Kind.BOOLEAN;
+        } else if (raw.isEnum()) {
+            kind = Kind.ENUM;
+            enumValues = Arrays.stream(raw.getEnumConstants())
+                .map(c -> ((Enum<?>) c).name())
+                .collect(Collectors.toUnmodifiableSet());
+        } else if (raw == List.class
+            && component.getGenericType() instanceof ParameterizedType list
+            && list.getActualTypeArguments()[0] == String.class) {
+            kind = Kind.STRING_LIST;
+        } else {
+            throw new IllegalArgumentException("Unsupported structured output field " + component);
+        }
+        return new Field(component.getName(), normalizeName(component.getName()), kind, enumValues);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.application;
+
+/** An agent reply that could not be repaired into the expected structure. */
+public class StructuredOutputException extends RuntimeException {
+
+    public StructuredOutputException(String message) {
+        super(message);
+    }
+}
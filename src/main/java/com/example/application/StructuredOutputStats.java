@@ -0,0 +1,37 @@
+package com.example.application;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Node-local counts of agent replies parsed as-is, repaired, or rejected, per result type. */
+public class StructuredOutputStats {
+
+    public enum Outcome { CLEAN, REPAIRED, FAILED }
+
+    public record TypeStats(String type, long clean, long repaired, long failed, double repairRate, double failureRate) {}
+
+    private final Map<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+    public void record(String type, Outcome outcome) {
+        counters.computeIfAbsent(type, t -> new LongAdder[] {new LongAdder(), new LongAdder(), new LongAdder()})
+            [outcome.ordinal()].increment();
+    }
+
+    public List<TypeStats> snapshot() {
+        return counters.entrySet().stream()
+            .map(e -> {
+                long clean = e.getValue()[Outcome.CLEAN.ordinal()].sum();
+                long repaired = e.getValue()[Outcome.REPAIRED.ordinal()].sum();
+                long failed = e.getValue()[Outcome.FAILED.ordinal()].sum();
+                long total = clean + repaired + failed;
+                return new TypeStats(e.getKey(), clean, repaired, failed,
+                    total == 0 ? 0.0 : (double) repaired / total,
+                    total == 0 ? 0.0 : (double) failed / total);
+            })
+            .sorted(Comparator.comparing(TypeStats::type))
+            .toList();
+    }
+}
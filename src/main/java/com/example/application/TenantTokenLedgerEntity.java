@@ -0,0 +1,53 @@
+package com.example.application;
+
+import akka.Done;
+import akka.javasdk.annotations.Component;
+import akka.javasdk.keyvalueentity.KeyValueEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estimated tokens spent by all cases of one tenant in one calendar month, keyed by
+ * {@code <tenant>-<yyyy-MM>}. Charged by {@link CaseProcessingWorkflow} after each agent step, and
+ * after each failed agent call. Charges are keyed by workflow, step and charge number; a key among
+ * the most recent charges is not counted again.
+ */
+@Component(id = "tenant-token-ledger")
+public class TenantTokenLedgerEntity extends KeyValueEntity<TenantTokenLedgerEntity.Usage> {
+
+    static final int RECENT_CHARGES = 1000;
+
+    public record Usage(long tokens, List<String> recentCharges) {
+        public Usage {
+            if (recentCharges == null) {
+                recentCharges = List.of();
+            }
+        }
+    }
+
+    public record Charge(String key, long tokens) {}
+
+    @Override
+    public Usage emptyState() {
+        return new Usage(0, List.of());
+    }
+
+    public Effect<Done> charge(Charge charge) {
+        if (charge.tokens() <= 0 || currentState().recentCharges().contains(charge.key())) {
+            return effects().reply(Done.getInstance());
+        }
+        var recent = new ArrayList<>(currentState().recentCharges());
+        recent.add(charge.key());
+        if (recent.size() > RECENT_CHARGES) {
+            recent.remove(0);
+        }
+        return effects()
+            .updateState(new Usage(currentState().tokens() + charge.tokens(), List.copyOf(recent)))
+            .thenReply(Done.getInstance());
+    }
+
+    public ReadOnlyEffect<Usage> get() {
+        return effects().reply(currentState());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+import java.util.regex.Pattern;
+
+/**
+ * Token budgets, 0 meaning unlimited. The tenant of a case is the first group of tenant-pattern
+ * matched against its case number.
+ */
+public record TokenBudgetSettings(long perCase, long perTenantMonthly, long overheadPerCall, Pattern tenantPattern) {
+
+    public static TokenBudgetSettings fromConfig(Config config) {
+        var budget = config.getConfig("court-onboarding.token-budget");
+        return new TokenBudgetSettings(
+            budget.getLong("per-case"),
+            budget.getLong("per-tenant-monthly"),
+            budget.getLong("overhead-per-call"),
+            Pattern.compile(budget.getString("tenant-pattern")));
+    }
+
+    public String tenantOf(String caseNumber) {
+        var matcher = tenantPattern.matcher(caseNumber);
+        return matcher.find() && matcher.groupCount() > 0 ? matcher.group(1) : "default";
+    }
+}
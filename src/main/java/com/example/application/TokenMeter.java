@@ -0,0 +1,50 @@
+package com.example.application;
+
+import akka.javasdk.JsonSupport;
+import com.example.domain.TokenEstimator;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Estimates the tokens spent by the agent attempts of one workflow step: for every attempt the
+ * request plus a fixed per-call overhead for the system prompt and tool results, and the response.
+ */
+final class TokenMeter {
+
+    private final long overheadPerCall;
+    private final LongAdder tokens = new LongAdder();
+
+    TokenMeter(long overheadPerCall) {
+        this.overheadPerCall = overheadPerCall;
+    }
+
+    <T> Function<String, CompletionStage<T>> around(Object request, Function<String, CompletionStage<T>> invoke) {
+        long requestTokens = overheadPerCall + TokenEstimator.estimate(JsonSupport.encodeToString(request));
+        return session -> {
+            tokens.add(requestTokens);
+            return invoke.apply(session).whenComplete((response, error) -> {
+                if (response != null) {
+                    tokens.add(TokenEstimator.estimate(JsonSupport.encodeToString(response)));
+                }
+            });
+        };
+    }
+
+    /** Records one call made outside {@link #around}, e.g. a streamed draft. */
+    void record(Object request, Object response) {
+        tokens.add(overheadPerCall
+            + TokenEstimator.estimate(JsonSupport.encodeToString(request))
+            + TokenEstimator.estimate(JsonSupport.encodeToString(response)));
+    }
+
+    /** Adds tokens metered elsewhere, e.g. this case's share of a batched request. */
+    void add(long tokens) {
+        this.tokens.add(tokens);
+    }
+
+    long tokens() {
+        return tokens.sum();
+    }
+}
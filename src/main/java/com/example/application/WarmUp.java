@@ -0,0 +1,186 @@
+package com.example.application;
+
+import akka.javasdk.JsonSupport;
+import akka.javasdk.client.ComponentClient;
+import com.example.domain.AuditResult;
+import com.example.domain.CaseState;
+import com.example.domain.CaseStatus;
+import com.example.domain.CitationIndex;
+import com.example.domain.ConsistencyPrechecks;
+import com.example.domain.CourtSystemService;
+import com.example.domain.DraftResult;
+import com.example.domain.JurisprudenceService;
+import com.example.domain.PreScreeningEngine;
+import com.example.domain.ProcedureType;
+import com.example.domain.ScreeningResult;
+import com.example.domain.SecretariatResult;
+import com.example.domain.SecretariatRules;
+import com.example.domain.SimilarCaseIndex;
+import com.example.domain.Urgency;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms this node up before it reports ready: loads and touches the citation and similar-case
+ * indexes, reads the documents of the cases currently in the live queues, exercises the JSON codecs
+ * and the structured-output parser, and queries each view once. A failing task is
+ * reported but does not keep the node from becoming ready. The court system and jurisprudence
+ * services given here are the bare sources, without breakers, fault injection or recording.
+ */
+public class WarmUp {
+
+    private static final Set<CaseStatus> HOT_STATUSES = Set.of(
+        CaseStatus.RECEIVED, CaseStatus.SCREENING_COMPLETE, CaseStatus.SECRETARIAT_COMPLETE,
+        CaseStatus.AUDIT_PASSED, CaseStatus.AUDIT_FAILED, CaseStatus.AWAITING_HUMAN_APPROVAL,
+        CaseStatus.FAILED, CaseStatus.BUDGET_EXCEEDED);
+
+    private static final List<String> SAMPLE_QUERIES = List.of(
+        "civil liability damages", "summary procedure requirements", "deadline for response");
+
+    private final WarmUpSettings settings;
+    private final ComponentClient componentClient;
+    private final CourtSystemService courtSystemService;
+    private final JurisprudenceService jurisprudenceService;
+    private final CitationIndex citationIndex;
+    private final SimilarCaseIndex similarCaseIndex;
+    private final CaseSearchIndex searchIndex;
+    private final Readiness readiness;
+
+    public WarmUp(WarmUpSettings settings,
+                  ComponentClient componentClient,
+                  CourtSystemService courtSystemService,
+                  JurisprudenceService jurisprudenceService,
+                  CitationIndex citationIndex,
+                  SimilarCaseIndex similarCaseIndex,
+                  CaseSearchIndex searchIndex,
+                  Readiness readiness) {
+        this.settings = settings;
+        this.componentClient = componentClient;
+        this.courtSystemService = courtSystemService;
+        this.jurisprudenceService = jurisprudenceService;
+        this.citationIndex = citationIndex;
+        this.similarCaseIndex = similarCaseIndex;
+        this.searchIndex = searchIndex;
+        this.readiness = readiness;
+    }
+
+    /** Runs the warm-up on a background thread and marks the node ready when it is done. */
+    public void start() {
+        if (!settings.enabled()) {
+            readiness.markReady(0, List.of());
+            return;
+        }
+        Thread.ofPlatform().name("warm-up").daemon().start(this::run);
+    }
+
+    void run() {
+        long start = System.nanoTime();
+        var timings = new ArrayList<Readiness.TaskTiming>();
+        timings.add(timed("json-codecs", this::exerciseCodecs));
+        timings.add(timed("structured-output", this::exerciseStructuredOutput));
+        timings.add(timed("citation-index", this::touchCitationIndex));
+        var hotKeys = new ArrayList<String>();
+        timings.add(timed("views", () -> hotKeys.addAll(queryViews())));
+        timings.add(timed("case-documents", () -> readCaseDocuments(hotKeys)));
+        timings.add(timed("jurisprudence", () -> SAMPLE_QUERIES.forEach(jurisprudenceService::searchJurisprudence)));
+        timings.add(timed("search-index", () -> searchIndex.search("deadline", 0, 10)));
+        readiness.markReady(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), timings);
+    }
+
+    private void exerciseCodecs() {
+        var state = sampleState();
+        try {
+            for (int i = 0; i < settings.iterations(); i++) {
+                var json = JsonSupport.encodeToString(state);
+                JsonSupport.getObjectMapper().readValue(json, CaseState.class);
+            }
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void exerciseStructuredOutput() {
+        var stats = new StructuredOutputStats();
+        var screening = StructuredOutput.of(ScreeningResult.class, stats);
+        var secretariat = StructuredOutput.of(SecretariatResult.class, stats);
+        var audit = StructuredOutput.of(AuditResult.class, stats);
+        var draft = StructuredOutput.of(DraftResult.class, stats);
+        var state = sampleState();
+        for (int i = 0; i < settings.iterations(); i++) {
+            screening.parse("```json\n" + JsonSupport.encodeToString(state.screening()) + "\n```");
+            secretariat.parse(JsonSupport.encodeToString(state.secretariat()));
+            audit.parse(JsonSupport.encodeToString(state.audit()));
+            draft.parse(JsonSupport.encodeToString(state.draft()));
+        }
+    }
+
+    private void touchCitationIndex() {
+        for (var source : jurisprudenceService.knownSources()) {
+            citationIndex.contains(source);
+        }
+    }
+
+    /** Queries each view once; the cases in the live queues are the hot keys to read. */
+    private List<String> queryViews() {
+        var hotKeys = new LinkedHashSet<String>();
+        for (var status : HOT_STATUSES) {
+            componentClient.forView()
+                .method(CasesByQueueView::getInbox)
+                .invoke(new CasesByQueueView.InboxRequest(status.name(), settings.hotKeys()))
+                .entries()
+                .forEach(entry -> hotKeys.add(entry.caseNumber()));
+        }
+        var firstPage = new ExportPage(Instant.EPOCH, Instant.now(), List.of(CaseStatus.PUBLISHED.name()), "", "", 1);
+        componentClient.forView().method(AuditTrailView::getExportPage).invoke(firstPage);
+        componentClient.forView().method(KPIDashboardView::getExportPage).invoke(firstPage);
+        componentClient.forView().method(CaseArchiveView::findByCaseNumber).invoke("");
+        return hotKeys.stream().limit(settings.hotKeys()).toList();
+    }
+
+    /**
+     * There is no court system cache to prime: this reads the hot cases from the source, which for the
+     * file-backed source pulls their pages of the mapped data file into the OS page cache, and runs the
+     * rule engines the workflow applies to them (similar-case signature, pre-screening, consistency
+     * prechecks, secretariat rules), so those code paths are loaded and compiled before real requests.
+     */
+    private void readCaseDocuments(List<String> hotKeys) {
+        for (var caseNumber : hotKeys) {
+            var documents = courtSystemService.searchCase(caseNumber);
+            if (documents == null) {
+                continue;
+            }
+            similarCaseIndex.signature(documents.content());
+            PreScreeningEngine.standard().evaluate(documents, LocalDate.now(ZoneOffset.UTC));
+            ConsistencyPrechecks.check(documents);
+            SecretariatRules.standard().generate(documents, sampleState().screening());
+        }
+    }
+
+    private static Readiness.TaskTiming timed(String task, Runnable body) {
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            body.run();
+        } catch (RuntimeException e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        return new Readiness.TaskTiming(task, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), error);
+    }
+
+    private static CaseState sampleState() {
+        return CaseState.create("CASE-0000-000")
+            .withScreening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, false, List.of("Power of attorney")))
+            .withSecretariat(new SecretariatResult(List.of("Subpoena for response", "Deadline notification")))
+            .withAuditPassed(new AuditResult(true, List.of()))
+            .withDraft(new DraftResult("Warm-up draft.", List.of("Civil Code Art. 927")));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.application;
+
+import com.typesafe.config.Config;
+
+public record WarmUpSettings(boolean enabled, int iterations, int hotKeys) {
+
+    public static WarmUpSettings fromConfig(Config config) {
+        var warmUp = config.getConfig("court-onboarding.warm-up");
+        return new WarmUpSettings(
+            warmUp.getBoolean("enabled"),
+            warmUp.getInt("iterations"),
+            warmUp.getInt("hot-keys"));
+    }
+}
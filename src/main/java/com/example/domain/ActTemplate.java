@@ -0,0 +1,92 @@
+package com.example.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A routine act template compiled once into literal segments and field slots, e.g.
+ * {@code "Subpoena of {defendant} in case {caseNumber}"}. Rendering only appends to a presized
+ * builder; compiled templates are cached by source text.
+ */
+public final class ActTemplate {
+
+    public enum Field {
+        CASE_NUMBER("caseNumber"),
+        PLAINTIFF("plaintiff"),
+        DEFENDANT("defendant"),
+        RESPONSE_DEADLINE("responseDeadline"),
+        PROCEDURE_TYPE("procedureType"),
+        MISSING_DOCUMENTS("missingDocuments"),
+        ATTACHMENT_COUNT("attachmentCount");
+
+        private static final Map<String, Field> BY_NAME = new HashMap<>();
+
+        static {
+            for (var field : values()) {
+                BY_NAME.put(field.placeholder, field);
+            }
+        }
+
+        private final String placeholder;
+
+        Field(String placeholder) {
+            this.placeholder = placeholder;
+        }
+    }
+
+    private static final Map<String, ActTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String[] literals;
+    private final int[] slots;
+    private final int literalLength;
+
+    private ActTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (var literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static ActTemplate of(String source) {
+        return CACHE.computeIfAbsent(source, ActTemplate::compile);
+    }
+
+    static ActTemplate compile(String source) {
+        var literals = new ArrayList<String>();
+        var slots = new ArrayList<Integer>();
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf('{', pos);
+            if (open < 0) {
+                literals.add(source.substring(pos));
+                break;
+            }
+            int close = source.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template: " + source);
+            }
+            var field = Field.BY_NAME.get(source.substring(open + 1, close));
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown placeholder '" + source.substring(open + 1, close) + "' in template: " + source);
+            }
+            literals.add(source.substring(pos, open));
+            slots.add(field.ordinal());
+            pos = close + 1;
+        }
+        return new ActTemplate(literals.toArray(String[]::new), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /** @param values field values indexed by {@link Field#ordinal()} */
+    public String render(String[] values) {
+        var sb = new StringBuilder(literalLength + slots.length * 24);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]).append(values[slots[i]]);
+        }
+        return sb.append(literals[slots.length]).toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.domain;
+
+/**
+ * Compact, structured summary of a case built from {@link CaseState}. Used in place of the full
+ * agent conversation history so prompts stay the same size across revision loops.
+ */
+public final class CaseContextSummary {
+
+    private static final int MAX_DRAFT_CHARS = 4000;
+
+    private CaseContextSummary() {}
+
+    public static String of(CaseState state) {
+        var sb = new StringBuilder(512);
+        sb.append("Case: ").append(state.caseNumber()).append('\n');
+        sb.append("Status: ").append(state.status()).append('\n');
+
+        if (!state.similarCases().isEmpty()) {
+            sb.append("Similar processed cases: ");
+            for (int i = 0; i < state.similarCases().size(); i++) {
+                var similar = state.similarCases().get(i);
+                sb.append(i == 0 ? "" : ", ").append(similar.caseNumber())
+                    .append(" (").append(Math.round(similar.similarity() * 100)).append("% similar)");
+            }
+            sb.append('\n');
+        }
+        if (state.screening() != null) {
+            var screening = state.screening();
+            sb.append("Screening: procedure ").append(screening.procedureType())
+                .append(", urgency ").append(screening.urgency())
+                .append(", documents ").append(screening.documentsComplete() ? "complete" : "incomplete");
+            if (screening.missingDocuments() != null && !screening.missingDocuments().isEmpty()) {
+                sb.append(" (missing: ").append(String.join(", ", screening.missingDocuments())).append(')');
+            }
+            sb.append('\n');
+        }
+        if (state.secretariat() != null && state.secretariat().generatedActs() != null) {
+            sb.append("Secretariat acts: ").append(String.join("; ", state.secretariat().generatedActs())).append('\n');
+        }
+        if (state.audit() != null) {
+            sb.append("Audit: ").append(state.audit().consistent() ? "consistent" : "inconsistent");
+            if (state.audit().issues() != null && !state.audit().issues().isEmpty()) {
+                sb.append(" (issues: ").append(String.join("; ", state.audit().issues())).append(')');
+            }
+            sb.append('\n');
+        }
+        if (state.draft() != null) {
+            var content = state.draft().content();
+            if (content != null) {
+                sb.append("Previous draft: ")
+                    .append(content.length() > MAX_DRAFT_CHARS ? content.substring(0, MAX_DRAFT_CHARS) + " [...]" : content)
+                    .append('\n');
+            }
+            if (state.draft().citations() != null && !state.draft().citations().isEmpty()) {
+                sb.append("Previous citations: ").append(String.join("; ", state.draft().citations())).append('\n');
+            }
+        }
+        if (state.rejectionReason() != null) {
+            sb.append("Rejection reason: ").append(state.rejectionReason()).append('\n');
+        }
+        return sb.toString();
+    }
+}
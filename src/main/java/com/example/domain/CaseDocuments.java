@@ -6,4 +6,27 @@ public record CaseDocuments(
     String caseNumber,
     String content,
     List<String> attachedDocuments
-) {}
\ No newline at end of file
+) {
+
+    private static final String UNAVAILABLE = "UNAVAILABLE: ";
+
+    /** Stand-in for a case the court system does not know. */
+    public static CaseDocuments notFound(String caseNumber) {
+        return new CaseDocuments(caseNumber, notFoundText(caseNumber), List.of());
+    }
+
+    /** Stand-in telling an agent why the case could not be retrieved. */
+    public static CaseDocuments unavailable(String caseNumber, String explanation) {
+        return new CaseDocuments(caseNumber, UNAVAILABLE + explanation, List.of());
+    }
+
+    /** Whether this is one of the stand-ins above rather than the case's filing. */
+    public boolean isPlaceholder() {
+        return attachedDocuments.isEmpty() && content != null
+            && (content.startsWith(UNAVAILABLE) || content.equals(notFoundText(caseNumber)));
+    }
+
+    private static String notFoundText(String caseNumber) {
+        return "Case " + caseNumber + " was not found in the court system.";
+    }
+}
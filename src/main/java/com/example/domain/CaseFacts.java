@@ -0,0 +1,28 @@
+package com.example.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public record CaseFacts(
+    String title,
+    String plaintiff,
+    String defendant,
+    LocalDate filedDate,
+    LocalDate eventDate,
+    LocalDate notificationDate,
+    LocalDate responseDeadline,
+    List<BigDecimal> claimedAmounts,
+    BigDecimal statedTotal,
+    List<String> mentionedAttachments,
+    List<String> invalidDates
+) {
+
+    public BigDecimal totalClaimed() {
+        return claimedAmounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public boolean hasParties() {
+        return plaintiff != null && defendant != null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the case header, key dates, claimed amounts and mentioned attachments from the case text. Patterns are compiled once and
+ * shared, the extractor itself is stateless and thread-safe.
+ */
+public final class CaseFactsExtractor {
+
+    private static final Pattern TITLE = Pattern.compile("^Case\\s+\\S+\\s+-\\s+(.+)$", Pattern.MULTILINE);
+    private static final Pattern PLAINTIFF = Pattern.compile("^Plaintiff:\\s*(.+)$", Pattern.MULTILINE);
+    private static final Pattern DEFENDANT = Pattern.compile("^Defendant:\\s*(.+)$", Pattern.MULTILINE);
+    private static final Pattern FILED = Pattern.compile("^Filed:\\s*(\\d{4}-\\d{2}-\\d{2})", Pattern.MULTILINE);
+    private static final Pattern EVENT = Pattern.compile("^Subject:.*?\\bon\\s+(\\d{4}-\\d{2}-\\d{2})", Pattern.MULTILINE);
+    private static final Pattern NOTIFIED = Pattern.compile("\\bnotified on\\s+(\\d{4}-\\d{2}-\\d{2})", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DEADLINE = Pattern.compile("^Response deadline:\\s*(\\d{4}-\\d{2}-\\d{2})", Pattern.MULTILINE);
+    private static final Pattern ATTACHED = Pattern.compile("^Attached:\\s*(.+?)\\.?$", Pattern.MULTILINE);
+    private static final Pattern ANY_DATE = Pattern.compile("\\b\\d{4}-\\d{2}-\\d{2}\\b");
+    private static final Pattern AMOUNT = Pattern.compile("R\\$\\s?(\\d{1,3}(?:[.,]\\d{3})*(?:[.,]\\d{2})?|\\d+(?:[.,]\\d{2})?)");
+    private static final Pattern TOTAL = Pattern.compile(
+        "\\btotal(?: claim(?:ed)?)?(?: value)?(?: of)?:?\\s*" + AMOUNT.pattern(), Pattern.CASE_INSENSITIVE);
+
+    private CaseFactsExtractor() {}
+
+    public static CaseFacts extract(String content) {
+        BigDecimal statedTotal = null;
+        int totalStart = -1;
+        int totalEnd = -1;
+        var totalMatcher = TOTAL.matcher(content);
+        if (totalMatcher.find()) {
+            statedTotal = parseAmount(totalMatcher.group(1));
+            totalStart = totalMatcher.start();
+            totalEnd = totalMatcher.end();
+        }
+
+        var amounts = new ArrayList<BigDecimal>();
+        var matcher = AMOUNT.matcher(content);
+        while (matcher.find()) {
+            if (matcher.start() < totalStart || matcher.start() >= totalEnd) {
+                amounts.add(parseAmount(matcher.group(1)));
+            }
+        }
+
+        var invalidDates = new ArrayList<String>();
+        var dateMatcher = ANY_DATE.matcher(content);
+        while (dateMatcher.find()) {
+            if (parseDate(dateMatcher.group()) == null) {
+                invalidDates.add(dateMatcher.group());
+            }
+        }
+
+        var attached = firstGroup(ATTACHED, content);
+        var mentionedAttachments = attached == null
+            ? List.<String>of()
+            : Arrays.stream(attached.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+
+        return new CaseFacts(
+            firstGroup(TITLE, content),
+            firstGroup(PLAINTIFF, content),
+            firstGroup(DEFENDANT, content),
+            parseDate(firstGroup(FILED, content)),
+            parseDate(firstGroup(EVENT, content)),
+            parseDate(firstGroup(NOTIFIED, content)),
+            parseDate(firstGroup(DEADLINE, content)),
+            List.copyOf(amounts),
+            statedTotal,
+            mentionedAttachments,
+            List.copyOf(invalidDates));
+    }
+
+    static String firstGroup(Pattern pattern, String content) {
+        Matcher matcher = pattern.matcher(content);
+        return matcher.find() ? matcher.group(1).trim() : null;
+    }
+
+    static LocalDate parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Accepts both 25,000.00 and 25.000,00 notations; a trailing two-digit group is the decimal part. */
+    static BigDecimal parseAmount(String value) {
+        int last = Math.max(value.lastIndexOf(','), value.lastIndexOf('.'));
+        boolean hasDecimals = last >= 0 && value.length() - last - 1 == 2;
+        var digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c)) {
+                digits.append(c);
+            } else if (i == last && hasDecimals) {
+                digits.append('.');
+            }
+        }
+        return new BigDecimal(digits.toString());
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.domain;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 public record CaseState(
     String caseNumber,
     CaseStatus status,
@@ -8,42 +12,109 @@ public record CaseState(
     AuditResult audit,
     DraftResult draft,
     String rejectionReason,
-    String failureMessage
+    String failureMessage,
+    ProcessingStats stats,
+    DraftResult pendingDraft,
+    CitationCheck citationCheck,
+    List<SimilarCase> similarCases,
+    Instant statusChangedAt,
+    TokenUsage tokenUsage,
+    List<DraftRevision> draftRevisions
 ) {
 
+    /** Revisions kept per case, the most recent ones; a case rejected more often keeps a bounded state. */
+    public static final int MAX_DRAFT_REVISIONS = 10;
+
+    public CaseState {
+        if (stats == null) {
+            stats = ProcessingStats.EMPTY;
+        }
+        if (similarCases == null) {
+            similarCases = List.of();
+        }
+        if (tokenUsage == null) {
+            tokenUsage = TokenUsage.EMPTY;
+        }
+        if (draftRevisions == null) {
+            draftRevisions = List.of();
+        }
+        // cases stored before the field existed; EPOCH keeps them in unfiltered exports
+        if (statusChangedAt == null) {
+            statusChangedAt = Instant.EPOCH;
+        }
+    }
+
     public static CaseState create(String caseNumber) {
-        return new CaseState(caseNumber, CaseStatus.RECEIVED, null, null, null, null, null, null);
+        return new CaseState(caseNumber, CaseStatus.RECEIVED, null, null, null, null, null, null, ProcessingStats.EMPTY, null, null, List.of(), Instant.now(), TokenUsage.EMPTY, List.of());
     }
 
     public CaseState withStatus(CaseStatus newStatus) {
-        return new CaseState(caseNumber, newStatus, screening, secretariat, audit, draft, rejectionReason, failureMessage);
+        return new CaseState(caseNumber, newStatus, screening, secretariat, audit, draft, rejectionReason, failureMessage, stats, pendingDraft, citationCheck, similarCases, Instant.now(), tokenUsage, draftRevisions);
     }
 
     public CaseState withScreening(ScreeningResult result) {
-        return new CaseState(caseNumber, CaseStatus.SCREENING_COMPLETE, result, secretariat, audit, draft, rejectionReason, failureMessage);
+        return new CaseState(caseNumber, CaseStatus.SCREENING_COMPLETE, result, secretariat, audit, draft, rejectionReason, failureMessage, stats, pendingDraft, citationCheck, similarCases, Instant.now(), tokenUsage, draftRevisions);
     }
 
     public CaseState withSecretariat(SecretariatResult result) {
-        return new CaseState(caseNumber, CaseStatus.SECRETARIAT_COMPLETE, screening, result, audit, draft, rejectionReason, failureMessage);
+        return new CaseState(caseNumber, CaseStatus.SECRETARIAT_COMPLETE, screening, result, audit, draft, rejectionReason, failureMessage, stats, pendingDraft, citationCheck, similarCases, Instant.now(), tokenUsage, draftRevisions);
     }
 
     public CaseState withAuditPassed(AuditResult result) {
-        return new CaseState(caseNumber, CaseStatus.AUDIT_PASSED, screening, secretariat, result, draft, rejectionReason, failureMessage);
+        return new CaseState(caseNumber, CaseStatus.AUDIT_PASSED, screening, secretariat, result, draft, rejectionReason, failureMessage, stats, pendingDraft, citationCheck, similarCases, Instant.now(), tokenUsage, draftRevisions);
     }
 
     public CaseState withAuditFailed(AuditResult result) {
-        return new CaseState(caseNumber, CaseStatus.AUDIT_FAILED, screening, secretariat, result, draft, rejectionReason, failureMessage);
+        return new CaseState(caseNumber, CaseStatus.AUDIT_FAILED, screening, secretariat, result, draft, rejectionReason, failureMessage, stats, pendingDraft, citationCheck, similarCases, Instant.now(), tokenUsage, draftRevisions);
     }
 
     public CaseState withDraft(DraftResult result) {
-        return new CaseState(caseNumber, CaseStatus.DRAFT_READY, screening, secretariat, audit, result, rejectionReason, failureMessage);
+        return new CaseState(caseNumber, CaseStatus.DRAFT_READY, screening, secretariat, audit, result, rejectionReason, failureMessage, stats, null, null, similarCases, Instant.now(), tokenUsage, draftRevisions);
+    }
+
+    /**
+     * Replaces the draft with the revised one, as {@link #withDraft} does, and records the revision that
+     * produced it, so the changes across rejections can be traced. Only the last
+     * {@link #MAX_DRAFT_REVISIONS} revisions are kept.
+     */
+    public CaseState withRevisedDraft(DraftResult result, DraftRevision revision) {
+        var revisions = new ArrayList<>(draftRevisions);
+        revisions.add(revision);
+        if (revisions.size() > MAX_DRAFT_REVISIONS) {
+            revisions.subList(0, revisions.size() - MAX_DRAFT_REVISIONS).clear();
+        }
+        return new CaseState(caseNumber, CaseStatus.DRAFT_READY, screening, secretariat, audit, result, rejectionReason, failureMessage, stats, null, null, similarCases, Instant.now(), tokenUsage, List.copyOf(revisions));
     }
 
     public CaseState withRejection(String reason) {
-        return new CaseState(caseNumber, CaseStatus.REJECTED, screening, secretariat, audit, draft, reason, failureMessage);
+        return new CaseState(caseNumber, CaseStatus.REJECTED, screening, secretariat, audit, draft, reason, failureMessage, stats, pendingDraft, citationCheck, similarCases, Instant.now(), tokenUsage, draftRevisions);
     }
 
     public CaseState withFailure(String message) {
-        return new CaseState(caseNumber, CaseStatus.FAILED, screening, secretariat, audit, draft, rejectionReason, message);
+        return new CaseState(caseNumber, CaseStatus.FAILED, screening, secretariat, audit, draft, rejectionReason, message, stats, pendingDraft, citationCheck, similarCases, Instant.now(), tokenUsage, draftRevisions);
+    }
+
+    public CaseState withStats(ProcessingStats newStats) {
+        return new CaseState(caseNumber, status, screening, secretariat, audit, draft, rejectionReason, failureMessage, newStats, pendingDraft, citationCheck, similarCases, statusChangedAt, tokenUsage, draftRevisions);
+    }
+
+    public CaseState withPendingDraft(DraftResult speculativeDraft) {
+        return new CaseState(caseNumber, status, screening, secretariat, audit, draft, rejectionReason, failureMessage, stats, speculativeDraft, citationCheck, similarCases, statusChangedAt, tokenUsage, draftRevisions);
+    }
+
+    public CaseState withCitationCheck(CitationCheck check) {
+        return new CaseState(caseNumber, status, screening, secretariat, audit, draft, rejectionReason, failureMessage, stats, pendingDraft, check, similarCases, statusChangedAt, tokenUsage, draftRevisions);
+    }
+
+    public CaseState withSimilarCases(List<SimilarCase> cases) {
+        return new CaseState(caseNumber, status, screening, secretariat, audit, draft, rejectionReason, failureMessage, stats, pendingDraft, citationCheck, cases, statusChangedAt, tokenUsage, draftRevisions);
+    }
+
+    public CaseState withTokenUsage(TokenUsage usage) {
+        return new CaseState(caseNumber, status, screening, secretariat, audit, draft, rejectionReason, failureMessage, stats, pendingDraft, citationCheck, similarCases, statusChangedAt, usage, draftRevisions);
+    }
+
+    public CaseState withBudgetExceeded(String step) {
+        return new CaseState(caseNumber, CaseStatus.BUDGET_EXCEEDED, screening, secretariat, audit, draft, rejectionReason, failureMessage, stats, pendingDraft, citationCheck, similarCases, Instant.now(), tokenUsage.pausedAt(step), draftRevisions);
     }
-}
\ No newline at end of file
+}
@@ -15,5 +15,7 @@ public enum CaseStatus {
     APPROVED,
     REJECTED,
     PUBLISHED,
-    FAILED
+    FAILED,
+    BUDGET_EXCEEDED,
+    ARCHIVED
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.domain;
+
+import java.util.List;
+
+/** Outcome of checking a draft's citations against the jurisprudence corpus. */
+public record CitationCheck(
+    int verified,
+    List<String> unverified
+) {
+
+    public int unverifiedCount() {
+        return unverified.size();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Trie of normalized source identifiers from the jurisprudence corpus. A citation is verified when
+ * its normalized form equals a known source or starts with one at a word boundary (so
+ * "Civil Code Art. 927, sole paragraph" matches "Civil Code Art. 927"). Lookups walk the citation
+ * once, O(length), without touching the legal repository.
+ */
+public final class CitationIndex {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        // sorted labels, parallel to children; nodes rarely have more than a few children
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        boolean terminal;
+
+        Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            var node = new Node();
+            labels = insert(labels, at, label);
+            var grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = node;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+            return node;
+        }
+
+        private static char[] insert(char[] array, int at, char value) {
+            var grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, at);
+            grown[at] = value;
+            System.arraycopy(array, at, grown, at + 1, array.length - at);
+            return grown;
+        }
+    }
+
+    private final Node root = new Node();
+    private final int size;
+
+    private CitationIndex(Collection<String> sources) {
+        int count = 0;
+        for (var source : sources) {
+            var normalized = normalize(source);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            var node = root;
+            for (int i = 0; i < normalized.length(); i++) {
+                node = node.addChild(normalized.charAt(i));
+            }
+            if (!node.terminal) {
+                node.terminal = true;
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    public static CitationIndex of(Collection<String> sources) {
+        return new CitationIndex(sources);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(String citation) {
+        var normalized = normalize(citation);
+        var node = root;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (node.terminal && normalized.charAt(i) == ' ') {
+                return true;
+            }
+            node = node.child(normalized.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    public CitationCheck check(List<String> citations) {
+        int verified = 0;
+        var unverified = new ArrayList<String>();
+        for (var citation : citations) {
+            if (contains(citation)) {
+                verified++;
+            } else {
+                unverified.add(citation);
+            }
+        }
+        return new CitationCheck(verified, List.copyOf(unverified));
+    }
+
+    /** Lower case, punctuation dropped except inside identifiers like 331/2024, single spaces. */
+    static String normalize(String citation) {
+        var out = new StringBuilder(citation.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < citation.length(); i++) {
+            char c = citation.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !out.isEmpty()) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                out.append(Character.toLowerCase(c));
+            } else if ((c == '/' || c == '-' || c == '.') && isIdentifierJoin(citation, i)) {
+                if (c != '.') {
+                    out.append(c);
+                }
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean isIdentifierJoin(String text, int i) {
+        return i > 0 && i + 1 < text.length()
+            && Character.isLetterOrDigit(text.charAt(i - 1))
+            && Character.isLetterOrDigit(text.charAt(i + 1));
+    }
+}
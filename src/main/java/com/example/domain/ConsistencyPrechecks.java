@@ -0,0 +1,78 @@
+package com.example.domain;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mechanical consistency checks that do not need a model: date validity and ordering, claimed
+ * values against the stated total, and attachments mentioned in the text against the attached
+ * documents. Returns one issue per finding, in the same form as {@link AuditResult#issues()}.
+ */
+public final class ConsistencyPrechecks {
+
+    private ConsistencyPrechecks() {}
+
+    public static List<String> check(CaseDocuments documents) {
+        var facts = CaseFactsExtractor.extract(documents.content());
+        var issues = new ArrayList<String>();
+
+        for (var invalid : facts.invalidDates()) {
+            issues.add("Invalid date: " + invalid);
+        }
+        requireOrder(issues, facts.eventDate(), "event date", facts.filedDate(), "filing date", false);
+        requireOrder(issues, facts.filedDate(), "filing date", facts.notificationDate(), "notification date", false);
+        requireOrder(issues, facts.notificationDate(), "notification date", facts.responseDeadline(), "response deadline", true);
+
+        for (var amount : facts.claimedAmounts()) {
+            if (amount.signum() <= 0) {
+                issues.add("Claimed value must be positive, found R$ " + amount.toPlainString());
+            }
+        }
+        if (facts.statedTotal() != null && !facts.claimedAmounts().isEmpty()
+            && facts.statedTotal().compareTo(facts.totalClaimed()) != 0) {
+            issues.add("Stated total R$ %s does not match the sum of claimed values R$ %s".formatted(
+                facts.statedTotal().toPlainString(), facts.totalClaimed().toPlainString()));
+        }
+
+        var attachments = documents.attachedDocuments().stream()
+            .map(name -> name.toLowerCase(Locale.ROOT).replace('_', ' ').replace('-', ' '))
+            .toList();
+        for (var mentioned : facts.mentionedAttachments()) {
+            if (!isAttached(mentioned.toLowerCase(Locale.ROOT), attachments)) {
+                issues.add("Document mentioned in the filing is not attached: " + mentioned);
+            }
+        }
+        return issues;
+    }
+
+    private static void requireOrder(List<String> issues, LocalDate earlier, String earlierName,
+                                     LocalDate later, String laterName, boolean strict) {
+        if (earlier == null || later == null) {
+            return;
+        }
+        if (later.isBefore(earlier) || strict && later.isEqual(earlier)) {
+            issues.add("The %s (%s) must be %s the %s (%s)".formatted(
+                laterName, later, strict ? "after" : "on or after", earlierName, earlier));
+        }
+    }
+
+    /** A mentioned document is attached when every word of its description appears in one attachment name. */
+    private static boolean isAttached(String mentioned, List<String> attachments) {
+        var words = mentioned.split("\\s+");
+        for (var attachment : attachments) {
+            boolean all = true;
+            for (var word : words) {
+                if (!attachment.contains(word)) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
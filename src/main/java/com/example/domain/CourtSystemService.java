@@ -10,8 +10,25 @@ public interface CourtSystemService {
     @FunctionTool(description = "Retrieves case documents and metadata from the court system for a given case number.")
     CaseDocuments searchCase(@Description("The court case number to search for.") String caseNumber);
 
+    /**
+     * The case for code that acts on its content rather than showing it to an agent. Where
+     * {@link #searchCase} may answer with an explanation that the case could not be retrieved,
+     * implementations fail here instead, so the caller can retry; the default delegates to it.
+     */
+    default CaseDocuments getCase(String caseNumber) {
+        return searchCase(caseNumber);
+    }
+
     @FunctionTool(description = "Publishes administrative acts (subpoenas, deadline notifications, file joining orders) back to the court system.")
     void updateCase(
         @Description("The court case number to update.") String caseNumber,
         @Description("List of administrative acts to publish.") List<String> acts);
-}
\ No newline at end of file
+
+    /**
+     * Publishes acts at least once. Implementations that can, drop repeated deliveries with the same
+     * idempotency key; the default simply delegates to {@link #updateCase}.
+     */
+    default void publishActs(String idempotencyKey, String caseNumber, List<String> acts) {
+        updateCase(caseNumber, acts);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Targeted edit of a draft: the sections of the revised draft in order, where an unchanged section
+ * is a reference "=N" to section N of the previous draft and any other entry is new or rewritten
+ * text. Previous sections left out are removed, and no sections at all keeps the previous text.
+ * Null citations keep the previous citations, an empty list removes them all.
+ */
+public record DraftRevision(
+    List<String> sections,
+    List<String> citations
+) {
+
+    private static final Pattern SECTION_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final Pattern REFERENCE = Pattern.compile("=\\s*(\\d{1,6})");
+
+    public DraftRevision {
+        sections = sections == null ? List.of() : List.copyOf(sections);
+        citations = citations == null ? null : List.copyOf(citations);
+    }
+
+    /** The paragraphs of a draft, numbered from 1 in revision requests. */
+    public static List<String> sectionsOf(String content) {
+        if (content == null) {
+            return List.of();
+        }
+        return SECTION_BREAK.splitAsStream(content.strip()).map(String::strip).filter(s -> !s.isEmpty()).toList();
+    }
+
+    /** Entries that are new or rewritten text rather than references to the previous draft. */
+    public int changedSections() {
+        return (int) sections.stream().filter(s -> !REFERENCE.matcher(s.strip()).matches()).count();
+    }
+
+    /** References to sections that do not exist in a previous draft of the given size. */
+    public List<String> invalidReferences(int previousSections) {
+        return sections.stream()
+            .map(s -> REFERENCE.matcher(s.strip()))
+            .filter(m -> m.matches() && (Integer.parseInt(m.group(1)) < 1 || Integer.parseInt(m.group(1)) > previousSections))
+            .map(m -> m.group())
+            .toList();
+    }
+
+    public DraftResult applyTo(DraftResult previous) {
+        var revisedCitations = citations == null ? previous.citations() : citations;
+        if (sections.isEmpty()) {
+            return new DraftResult(previous.content(), revisedCitations);
+        }
+        var previousSections = sectionsOf(previous.content());
+        var revised = new ArrayList<String>(sections.size());
+        for (var section : sections) {
+            var reference = REFERENCE.matcher(section.strip());
+            if (reference.matches()) {
+                int index = Integer.parseInt(reference.group(1));
+                if (index < 1 || index > previousSections.size()) {
+                    throw new IllegalArgumentException("No section " + index + " in the previous draft");
+                }
+                revised.add(previousSections.get(index - 1));
+            } else if (!section.isBlank()) {
+                revised.add(section.strip());
+            }
+        }
+        return new DraftResult(String.join("\n\n", revised), revisedCitations);
+    }
+}
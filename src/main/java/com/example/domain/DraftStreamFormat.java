@@ -0,0 +1,61 @@
+package com.example.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain-text draft format used when drafting is streamed: the decision text first, then a line
+ * {@code CITATIONS:} followed by one citation per line. Unlike JSON, the text part can be shown to
+ * readers while it is still being generated.
+ */
+public final class DraftStreamFormat {
+
+    public static final String CITATIONS_MARKER = "CITATIONS:";
+
+    private DraftStreamFormat() {}
+
+    /**
+     * Length of the prefix of {@code text} that is certainly decision text and safe to display.
+     * {@code from} is the result of an earlier call on a shorter prefix of the same text (0 at first):
+     * the marker cannot start before it, so only the tail appended since is scanned.
+     */
+    public static int visibleLength(CharSequence text, int from) {
+        int marker = indexOfMarker(text, from);
+        if (marker >= 0) {
+            return marker;
+        }
+        return Math.max(from, text.length() - (CITATIONS_MARKER.length() - 1));
+    }
+
+    public static DraftResult parse(String text) {
+        int marker = text.indexOf(CITATIONS_MARKER);
+        if (marker < 0) {
+            return new DraftResult(text.strip(), List.of());
+        }
+        var citations = new ArrayList<String>();
+        for (var line : text.substring(marker + CITATIONS_MARKER.length()).split("\\R")) {
+            var citation = line.strip();
+            if (citation.startsWith("-") || citation.startsWith("*")) {
+                citation = citation.substring(1).strip();
+            }
+            if (!citation.isEmpty()) {
+                citations.add(citation);
+            }
+        }
+        return new DraftResult(text.substring(0, marker).strip(), List.copyOf(citations));
+    }
+
+    private static int indexOfMarker(CharSequence text, int from) {
+        int last = text.length() - CITATIONS_MARKER.length();
+        candidates:
+        for (int i = Math.max(0, from); i <= last; i++) {
+            for (int j = 0; j < CITATIONS_MARKER.length(); j++) {
+                if (text.charAt(i + j) != CITATIONS_MARKER.charAt(j)) {
+                    continue candidates;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
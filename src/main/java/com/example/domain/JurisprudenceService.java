@@ -3,10 +3,31 @@ package com.example.domain;
 import akka.javasdk.annotations.Description;
 import akka.javasdk.annotations.FunctionTool;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 
 public interface JurisprudenceService {
 
     @FunctionTool(description = "Searches official legal databases (laws, jurisprudence, internal norms) and returns grounded results with citations.")
     List<CitedSource> searchJurisprudence(@Description("The legal query to search for.") String query);
-}
\ No newline at end of file
+
+    @FunctionTool(description = "Runs several legal searches in one call and returns their merged results, each source listed once. " +
+        "Prefer this over repeated searchJurisprudence calls when more than one precedent or norm is needed.")
+    default List<CitedSource> searchJurisprudenceBatch(
+        @Description("The legal queries to search for, one per precedent or norm needed.") List<String> queries) {
+        var merged = new LinkedHashMap<String, CitedSource>();
+        queries.forEach(query -> searchJurisprudence(query).forEach(source -> merged.putIfAbsent(source.source(), source)));
+        return List.copyOf(merged.values());
+    }
+
+    /** Not a tool: the sources behind identifiers cited earlier, so a revision need not search again. */
+    default List<CitedSource> findSources(List<String> identifiers) {
+        return List.of();
+    }
+
+    /**
+     * Identifiers of every source in the corpus, for verifying citations without a search. Not
+     * defaulted, so a wrapper cannot silently hide its delegate's corpus and leave every citation unverified.
+     */
+    List<String> knownSources();
+}
@@ -0,0 +1,77 @@
+package com.example.domain;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles of case text. Two signatures agree on a position with
+ * probability equal to the Jaccard similarity of the shingle sets.
+ */
+public final class MinHash {
+
+    private static final long SEED = 0x5DEECE66DL;
+    private static final int SHINGLE_WORDS = 3;
+
+    private final long[] a;
+    private final long[] b;
+
+    public MinHash(int numHashes) {
+        var random = new SplittableRandom(SEED);
+        this.a = new long[numHashes];
+        this.b = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            a[i] = random.nextLong() | 1L;
+            b[i] = random.nextLong();
+        }
+    }
+
+    public int numHashes() {
+        return a.length;
+    }
+
+    public int[] signature(String text) {
+        var signature = new int[a.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        var words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int start = words.length > 0 && words[0].isEmpty() ? 1 : 0;
+        int count = words.length - start;
+        if (count == 0) {
+            return signature;
+        }
+        int shingles = Math.max(1, count - SHINGLE_WORDS + 1);
+        for (int s = 0; s < shingles; s++) {
+            long h = 0x9E3779B97F4A7C15L;
+            for (int w = s; w < Math.min(s + SHINGLE_WORDS, count); w++) {
+                h = mix(h ^ words[start + w].hashCode());
+            }
+            for (int i = 0; i < a.length; i++) {
+                int v = (int) ((a[i] * h + b[i]) >>> 33);
+                if (v < signature[i]) {
+                    signature[i] = v;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /** Fraction of agreeing positions, an estimate of Jaccard similarity. */
+    public static double similarity(int[] left, int leftOffset, int[] right, int rightOffset, int length) {
+        int equal = 0;
+        for (int i = 0; i < length; i++) {
+            if (left[leftOffset + i] == right[rightOffset + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / length;
+    }
+
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
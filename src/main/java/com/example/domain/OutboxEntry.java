@@ -0,0 +1,30 @@
+package com.example.domain;
+
+import java.util.List;
+
+/**
+ * Acts waiting to be published to the court system for one approved case. The idempotency key is
+ * sent along with every delivery attempt so the court system can drop duplicates.
+ */
+public record OutboxEntry(
+    String idempotencyKey,
+    String caseNumber,
+    List<String> acts,
+    int attempts,
+    long nextAttemptAtMillis,
+    boolean delivered,
+    String lastError
+) {
+
+    public static OutboxEntry create(String idempotencyKey, String caseNumber, List<String> acts, long nowMillis) {
+        return new OutboxEntry(idempotencyKey, caseNumber, List.copyOf(acts), 0, nowMillis, false, null);
+    }
+
+    public OutboxEntry withDelivered() {
+        return new OutboxEntry(idempotencyKey, caseNumber, acts, attempts + 1, nextAttemptAtMillis, true, null);
+    }
+
+    public OutboxEntry withFailedAttempt(String error, long retryAtMillis) {
+        return new OutboxEntry(idempotencyKey, caseNumber, acts, attempts + 1, retryAtMillis, false, error);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic screening for clear-cut cases. Produces a {@link ScreeningResult} together with a
+ * confidence; callers only use the result when the confidence is high enough and otherwise fall
+ * back to the screening agent. Urgency follows the time left until the response deadline; cases
+ * without one, past it, or with urgency indicators in the text are left to the agent.
+ */
+public final class PreScreeningEngine {
+
+    public record Outcome(ScreeningResult result, double confidence, List<String> reasons) {}
+
+    private static final Pattern URGENCY_INDICATORS = Pattern.compile(
+        "\\b(urgent|urgency|injunction|preliminary relief|interim relief|elderly|minor|child|" +
+            "life-threatening|eviction|detention|custody)\\b",
+        Pattern.CASE_INSENSITIVE);
+
+    private static final BigDecimal BOUNDARY_MARGIN = new BigDecimal("0.10");
+
+    private static final int HIGH_URGENCY_WITHIN_DAYS = 5;
+    private static final int MEDIUM_URGENCY_WITHIN_DAYS = 15;
+
+    private static final ScreeningRule.RequiredDocument PROOF_OF_VALUE = new ScreeningRule.RequiredDocument(
+        "Proof of claimed value", List.of("estimate", "invoice", "receipt", "budget", "appraisal"));
+    private static final ScreeningRule.RequiredDocument INCIDENT_RECORD = new ScreeningRule.RequiredDocument(
+        "Incident record", List.of("police report", "incident report", "occurrence report"));
+    private static final ScreeningRule.RequiredDocument EXPERT_EVIDENCE = new ScreeningRule.RequiredDocument(
+        "Expert or medical report", List.of("medical report", "expert report", "technical report"));
+
+    private static final PreScreeningEngine STANDARD = new PreScreeningEngine(List.of(
+        new ScreeningRule(ProcedureType.FAST_TRACK, new BigDecimal("20000"), List.of(PROOF_OF_VALUE)),
+        new ScreeningRule(ProcedureType.SUMMARY, new BigDecimal("60000"), List.of(PROOF_OF_VALUE, INCIDENT_RECORD)),
+        new ScreeningRule(ProcedureType.ORDINARY, null, List.of(PROOF_OF_VALUE, INCIDENT_RECORD, EXPERT_EVIDENCE))
+    ));
+
+    private final List<ScreeningRule> rules;
+
+    /** @param rules ordered by ascending claim value limit; the last rule should be unbounded */
+    public PreScreeningEngine(List<ScreeningRule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    public static PreScreeningEngine standard() {
+        return STANDARD;
+    }
+
+    /** @param today the date the time left until the response deadline is measured from */
+    public Outcome evaluate(CaseDocuments documents, LocalDate today) {
+        var facts = CaseFactsExtractor.extract(documents.content());
+        var reasons = new ArrayList<String>();
+        double confidence = 1.0;
+
+        if (facts.claimedAmounts().isEmpty()) {
+            return new Outcome(null, 0.0, List.of("No claimed value found"));
+        }
+        if (!facts.hasParties() || facts.filedDate() == null) {
+            confidence *= 0.5;
+            reasons.add("Incomplete case header");
+        }
+        if (URGENCY_INDICATORS.matcher(documents.content()).find()) {
+            confidence = 0.0;
+            reasons.add("Urgency indicators require judgement");
+        }
+        var urgency = urgencyOf(facts.responseDeadline(), today);
+        if (urgency == null) {
+            confidence = 0.0;
+            reasons.add(facts.responseDeadline() == null
+                ? "No response deadline to derive urgency from"
+                : "Response deadline " + facts.responseDeadline() + " has passed");
+        }
+
+        var total = facts.totalClaimed();
+        var rule = ruleFor(total);
+        if (rule.maxClaimValue() != null && isNearBoundary(total, rule.maxClaimValue())
+            || previousLimit(rule) != null && isNearBoundary(total, previousLimit(rule))) {
+            confidence *= 0.5;
+            reasons.add("Claimed value " + total + " is close to a procedure threshold");
+        }
+
+        var attachments = documents.attachedDocuments().stream()
+            .map(name -> name.toLowerCase(Locale.ROOT).replace('_', ' ').replace('-', ' '))
+            .toList();
+        var missing = rule.requiredDocuments().stream()
+            .filter(doc -> !doc.isPresentIn(attachments))
+            .map(ScreeningRule.RequiredDocument::name)
+            .toList();
+
+        var result = new ScreeningResult(rule.procedureType(), urgency != null ? urgency : Urgency.MEDIUM, missing.isEmpty(), missing);
+        return new Outcome(result, confidence, List.copyOf(reasons));
+    }
+
+    /** Null when the deadline is unknown or already passed, which needs judgement. */
+    static Urgency urgencyOf(LocalDate responseDeadline, LocalDate today) {
+        if (responseDeadline == null || responseDeadline.isBefore(today)) {
+            return null;
+        }
+        long daysLeft = ChronoUnit.DAYS.between(today, responseDeadline);
+        if (daysLeft <= HIGH_URGENCY_WITHIN_DAYS) {
+            return Urgency.HIGH;
+        }
+        return daysLeft <= MEDIUM_URGENCY_WITHIN_DAYS ? Urgency.MEDIUM : Urgency.LOW;
+    }
+
+    private ScreeningRule ruleFor(BigDecimal total) {
+        for (var rule : rules) {
+            if (rule.maxClaimValue() == null || total.compareTo(rule.maxClaimValue()) <= 0) {
+                return rule;
+            }
+        }
+        return rules.get(rules.size() - 1);
+    }
+
+    private BigDecimal previousLimit(ScreeningRule rule) {
+        int index = rules.indexOf(rule);
+        return index > 0 ? rules.get(index - 1).maxClaimValue() : null;
+    }
+
+    private static boolean isNearBoundary(BigDecimal value, BigDecimal limit) {
+        return value.subtract(limit).abs().compareTo(limit.multiply(BOUNDARY_MARGIN)) <= 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.domain;
+
+/**
+ * How the case was processed, used for operational reporting (e.g. how often deterministic fast
+ * paths replaced an agent call).
+ */
+public record ProcessingStats(
+    boolean screeningFastPath,
+    boolean secretariatTemplated,
+    Speculation speculation,
+    int wastedSpeculativeTokens
+) {
+
+    /**
+     * Outcome of a draft generated speculatively while the audit was running: HIT when the audit
+     * passed and the draft was committed, KEPT when the audit failed and the draft is held for
+     * continueFromAudit, REUSED when a kept draft was later committed and DISCARDED when it was thrown away.
+     */
+    public enum Speculation { NONE, HIT, KEPT, REUSED, DISCARDED }
+
+    public static final ProcessingStats EMPTY = new ProcessingStats(false, false, Speculation.NONE, 0);
+
+    public ProcessingStats {
+        if (speculation == null) {
+            speculation = Speculation.NONE;
+        }
+    }
+
+    public ProcessingStats withScreeningFastPath(boolean fastPath) {
+        return new ProcessingStats(fastPath, secretariatTemplated, speculation, wastedSpeculativeTokens);
+    }
+
+    public ProcessingStats withSecretariatTemplated(boolean templated) {
+        return new ProcessingStats(screeningFastPath, templated, speculation, wastedSpeculativeTokens);
+    }
+
+    public ProcessingStats withSpeculation(Speculation outcome, int wastedTokens) {
+        return new ProcessingStats(screeningFastPath, secretariatTemplated, outcome, wastedTokens);
+    }
+}
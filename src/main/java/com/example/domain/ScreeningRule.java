@@ -0,0 +1,30 @@
+package com.example.domain;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Declarative screening rule: cases whose total claimed value is at most {@code maxClaimValue}
+ * (unbounded when null) follow {@code procedureType} and must include every required document.
+ */
+public record ScreeningRule(
+    ProcedureType procedureType,
+    BigDecimal maxClaimValue,
+    List<RequiredDocument> requiredDocuments
+) {
+
+    /** A required document, recognised when any keyword appears in an attachment name. */
+    public record RequiredDocument(String name, List<String> keywords) {
+
+        public boolean isPresentIn(List<String> normalizedAttachments) {
+            for (var attachment : normalizedAttachments) {
+                for (var keyword : keywords) {
+                    if (attachment.contains(keyword)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Rule table for routine secretariat acts. Standard cases (parties, response deadline and a complete
+ * screening known) get their acts rendered from templates; anything else returns empty and is left to the
+ * secretariat agent.
+ */
+public final class SecretariatRules {
+
+    public record ActRule(Predicate<ScreeningResult> applies, ActTemplate template) {
+
+        public static ActRule always(String template) {
+            return new ActRule(screening -> true, ActTemplate.of(template));
+        }
+
+        public static ActRule when(Predicate<ScreeningResult> applies, String template) {
+            return new ActRule(applies, ActTemplate.of(template));
+        }
+    }
+
+    private static final SecretariatRules STANDARD = new SecretariatRules(List.of(
+        ActRule.always("Subpoena of {defendant} to respond to the claim filed by {plaintiff} in case {caseNumber}"),
+        ActRule.always("Deadline notification to {defendant}: response due by {responseDeadline} ({procedureType} procedure)"),
+        ActRule.when(screening -> screening.procedureType() == ProcedureType.FAST_TRACK,
+            "Conciliation hearing notice to {plaintiff} and {defendant} in case {caseNumber}"),
+        ActRule.when(screening -> !screening.documentsComplete(),
+            "Notice to {plaintiff} to supply missing documents: {missingDocuments}"),
+        ActRule.always("File joining order: {attachmentCount} attached documents joined to case {caseNumber}")
+    ));
+
+    private final List<ActRule> rules;
+
+    public SecretariatRules(List<ActRule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    public static SecretariatRules standard() {
+        return STANDARD;
+    }
+
+    public Optional<SecretariatResult> generate(CaseDocuments documents, ScreeningResult screening) {
+        if (screening == null || screening.procedureType() == null || screening.missingDocuments() == null) {
+            return Optional.empty();
+        }
+        var facts = CaseFactsExtractor.extract(documents.content());
+        if (!facts.hasParties() || facts.responseDeadline() == null) {
+            return Optional.empty();
+        }
+
+        var values = new String[ActTemplate.Field.values().length];
+        values[ActTemplate.Field.CASE_NUMBER.ordinal()] = documents.caseNumber();
+        values[ActTemplate.Field.PLAINTIFF.ordinal()] = facts.plaintiff();
+        values[ActTemplate.Field.DEFENDANT.ordinal()] = facts.defendant();
+        values[ActTemplate.Field.RESPONSE_DEADLINE.ordinal()] = facts.responseDeadline().toString();
+        values[ActTemplate.Field.PROCEDURE_TYPE.ordinal()] = screening.procedureType().name();
+        values[ActTemplate.Field.MISSING_DOCUMENTS.ordinal()] = String.join(", ", screening.missingDocuments());
+        values[ActTemplate.Field.ATTACHMENT_COUNT.ordinal()] = String.valueOf(documents.attachedDocuments().size());
+
+        var acts = new ArrayList<String>(rules.size());
+        for (var rule : rules) {
+            if (rule.applies().test(screening)) {
+                acts.add(rule.template().render(values));
+            }
+        }
+        return Optional.of(new SecretariatResult(List.copyOf(acts)));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.domain;
+
+/** A previously processed case whose documents are near-identical to the current one. */
+public record SimilarCase(
+    String caseNumber,
+    String workflowId,
+    double similarity
+) {}
@@ -0,0 +1,244 @@
+package com.example.domain;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over MinHash signatures. Signatures are split into bands; cases
+ * sharing any band hash are candidates and are ranked by signature agreement. Signatures and
+ * band buckets live in flat primitive arrays (an open-addressing table of band keys with per-case
+ * chains), so millions of cases cost about half a kilobyte each. Candidates are capped per band
+ * so lookups stay sub-millisecond even inside large clusters of mass filings. Each workflow is
+ * indexed at most once, so a retried step can add its case again safely.
+ */
+public final class SimilarCaseIndex {
+
+    private static final int MAGIC = 0x53494D48; // "SIMH"
+    private static final int MAX_CANDIDATES_PER_BAND = 256;
+
+    private final MinHash minHash;
+    private final int bands;
+    private final int rows;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int[] signatures;
+    private String[] caseNumbers;
+    private String[] workflowIds;
+    private final Set<String> indexedWorkflows = new HashSet<>();
+    // next[doc * bands + band] = previous doc (+1) in the same bucket, 0 ends the chain
+    private int[] next;
+    private long[] bucketKeys;
+    // head doc (+1) of each bucket, 0 marks an empty slot
+    private int[] bucketHeads;
+    private int usedBuckets;
+
+    public SimilarCaseIndex(int numHashes, int bands) {
+        if (numHashes % bands != 0) {
+            throw new IllegalArgumentException("numHashes must be a multiple of bands");
+        }
+        this.minHash = new MinHash(numHashes);
+        this.bands = bands;
+        this.rows = numHashes / bands;
+        int capacity = 1024;
+        this.signatures = new int[capacity * numHashes];
+        this.caseNumbers = new String[capacity];
+        this.workflowIds = new String[capacity];
+        this.next = new int[capacity * bands];
+        this.bucketKeys = new long[capacity * bands * 2];
+        this.bucketHeads = new int[capacity * bands * 2];
+    }
+
+    public int[] signature(String content) {
+        return minHash.signature(content);
+    }
+
+    public int numHashes() {
+        return minHash.numHashes();
+    }
+
+    public int bands() {
+        return bands;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Indexes the case unless its workflow is already indexed; returns whether it was added. */
+    public boolean add(String caseNumber, String workflowId, int[] signature) {
+        checkLength(signature);
+        lock.writeLock().lock();
+        try {
+            if (!indexedWorkflows.add(workflowId)) {
+                return false;
+            }
+            ensureCapacity(size + 1);
+            int doc = size++;
+            System.arraycopy(signature, 0, signatures, doc * signature.length, signature.length);
+            caseNumbers[doc] = caseNumber;
+            workflowIds[doc] = workflowId;
+            if ((usedBuckets + bands) * 2 > bucketKeys.length) {
+                rehash(bucketKeys.length * 2);
+            }
+            for (int band = 0; band < bands; band++) {
+                long key = bandKey(signature, band);
+                int slot = slot(bucketKeys, bucketHeads, key);
+                if (bucketHeads[slot] == 0) {
+                    bucketKeys[slot] = key;
+                    usedBuckets++;
+                }
+                next[doc * bands + band] = bucketHeads[slot];
+                bucketHeads[slot] = doc + 1;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Most similar indexed cases at or above the threshold, best first, excluding the given workflow. */
+    public List<SimilarCase> findSimilar(int[] signature, double threshold, int limit, String excludeWorkflowId) {
+        checkLength(signature);
+        lock.readLock().lock();
+        try {
+            var candidates = new int[Math.min(size, bands * MAX_CANDIDATES_PER_BAND)];
+            int count = 0;
+            for (int band = 0; band < bands; band++) {
+                int head = bucketHeads[slot(bucketKeys, bucketHeads, bandKey(signature, band))];
+                for (int doc = head, seen = 0; doc != 0 && seen < MAX_CANDIDATES_PER_BAND; doc = next[(doc - 1) * bands + band], seen++) {
+                    if (count == candidates.length) {
+                        break;
+                    }
+                    candidates[count++] = doc - 1;
+                }
+            }
+            Arrays.sort(candidates, 0, count);
+
+            var matches = new ArrayList<SimilarCase>();
+            int previous = -1;
+            for (int i = 0; i < count; i++) {
+                int doc = candidates[i];
+                if (doc == previous || workflowIds[doc].equals(excludeWorkflowId)) {
+                    previous = doc;
+                    continue;
+                }
+                previous = doc;
+                double similarity = MinHash.similarity(signature, 0, signatures, doc * signature.length, signature.length);
+                if (similarity >= threshold) {
+                    matches.add(new SimilarCase(caseNumbers[doc], workflowIds[doc], similarity));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(SimilarCase::similarity).reversed());
+            return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : List.copyOf(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void writeTo(OutputStream stream) throws IOException {
+        lock.readLock().lock();
+        try {
+            var out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeInt(minHash.numHashes());
+            out.writeInt(bands);
+            out.writeInt(size);
+            for (int doc = 0; doc < size; doc++) {
+                out.writeUTF(caseNumbers[doc]);
+                out.writeUTF(workflowIds[doc]);
+            }
+            for (int i = 0; i < size * minHash.numHashes(); i++) {
+                out.writeInt(signatures[i]);
+            }
+            out.flush();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static SimilarCaseIndex readFrom(InputStream stream) throws IOException {
+        var in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a similar case index");
+        }
+        int numHashes = in.readInt();
+        var index = new SimilarCaseIndex(numHashes, in.readInt());
+        int count = in.readInt();
+        var cases = new String[count * 2];
+        for (int i = 0; i < cases.length; i++) {
+            cases[i] = in.readUTF();
+        }
+        var signature = new int[numHashes];
+        for (int doc = 0; doc < count; doc++) {
+            for (int i = 0; i < numHashes; i++) {
+                signature[i] = in.readInt();
+            }
+            index.add(cases[doc * 2], cases[doc * 2 + 1], signature);
+        }
+        return index;
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long h = band * 0x9E3779B97F4A7C15L;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            h = MinHash.mix(h ^ signature[i]);
+        }
+        return h;
+    }
+
+    private static int slot(long[] keys, int[] heads, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) MinHash.mix(key) & mask;
+        while (heads[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= caseNumbers.length) {
+            return;
+        }
+        int capacity = caseNumbers.length * 2;
+        signatures = Arrays.copyOf(signatures, capacity * minHash.numHashes());
+        caseNumbers = Arrays.copyOf(caseNumbers, capacity);
+        workflowIds = Arrays.copyOf(workflowIds, capacity);
+        next = Arrays.copyOf(next, capacity * bands);
+    }
+
+    private void rehash(int tableSize) {
+        var keys = new long[tableSize];
+        var heads = new int[tableSize];
+        for (int i = 0; i < bucketKeys.length; i++) {
+            if (bucketHeads[i] != 0) {
+                int slot = slot(keys, heads, bucketKeys[i]);
+                keys[slot] = bucketKeys[i];
+                heads[slot] = bucketHeads[i];
+            }
+        }
+        bucketKeys = keys;
+        bucketHeads = heads;
+    }
+
+    private void checkLength(int[] signature) {
+        if (signature.length != minHash.numHashes()) {
+            throw new IllegalArgumentException("Expected a signature of " + minHash.numHashes() + " hashes");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.domain;
+
+/**
+ * Rough token count for model text (about four characters per token). Agent calls do not report
+ * provider token usage back to the caller, so cost reporting is based on this estimate.
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {}
+
+    public static int estimate(String text) {
+        return text == null ? 0 : (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    public static int estimate(DraftResult draft) {
+        if (draft == null) {
+            return 0;
+        }
+        int tokens = estimate(draft.content());
+        for (var citation : draft.citations()) {
+            tokens += estimate(citation);
+        }
+        return tokens;
+    }
+}
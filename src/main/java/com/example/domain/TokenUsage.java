@@ -0,0 +1,78 @@
+package com.example.domain;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estimated model tokens spent on a case per workflow step, including retried, hedged and failed
+ * attempts. raised is the budget granted on top of the configured per-case budget by reviewers; the
+ * case may spend raised tokens even when its tenant is over budget, until its total reaches
+ * exemptUntil. pausedStep is the step to resume once the budget is raised. failedStep and
+ * failedAttempts count the failed agent calls of the step being retried, and charges numbers the
+ * charges sent to the tenant ledger, so a repeated charge can be recognized.
+ */
+public record TokenUsage(
+    Map<String, Long> steps,
+    long raised,
+    long exemptUntil,
+    String pausedStep,
+    String failedStep,
+    int failedAttempts,
+    long charges
+) {
+
+    public static final TokenUsage EMPTY = new TokenUsage(Map.of(), 0, null);
+
+    public TokenUsage {
+        if (steps == null) {
+            steps = Map.of();
+        }
+    }
+
+    public TokenUsage(Map<String, Long> steps, long raised, String pausedStep) {
+        this(steps, raised, 0, pausedStep, null, 0, 0);
+    }
+
+    public long total() {
+        return steps.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /** Tokens of a step that completed, which also ends the failure count of a retried step. */
+    public TokenUsage add(String step, long tokens) {
+        boolean recovered = step.equals(failedStep);
+        if (tokens == 0 && !recovered) {
+            return this;
+        }
+        return new TokenUsage(withTokens(step, tokens), raised, exemptUntil, pausedStep,
+            recovered ? null : failedStep, recovered ? 0 : failedAttempts, tokens == 0 ? charges : charges + 1);
+    }
+
+    /** Tokens of a step whose agent call failed, counted towards its failed attempts. */
+    public TokenUsage failed(String step, long tokens) {
+        return new TokenUsage(withTokens(step, tokens), raised, exemptUntil, pausedStep,
+            step, step.equals(failedStep) ? failedAttempts + 1 : 1, tokens == 0 ? charges : charges + 1);
+    }
+
+    public TokenUsage pausedAt(String step) {
+        return new TokenUsage(steps, raised, exemptUntil, step, failedStep, failedAttempts, charges);
+    }
+
+    /** Forgets the failed attempts, so a case resumed by a reviewer gets its full retries again. */
+    public TokenUsage clearFailures() {
+        return new TokenUsage(steps, raised, exemptUntil, pausedStep, null, 0, charges);
+    }
+
+    public TokenUsage raise(long tokens) {
+        return new TokenUsage(steps, raised + tokens, Math.max(exemptUntil, total()) + tokens, null,
+            failedStep, failedAttempts, charges);
+    }
+
+    private Map<String, Long> withTokens(String step, long tokens) {
+        if (tokens == 0) {
+            return steps;
+        }
+        var updated = new LinkedHashMap<>(steps);
+        updated.merge(step, tokens, Long::sum);
+        return Map.copyOf(updated);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AgentCallPolicyTest {
+
+    private static AgentCallSettings settings(boolean hedging, Duration initialHedgeDelay, int maxAttempts, Duration stepTimeout) {
+        return new AgentCallSettings(
+            hedging, 0.95, initialHedgeDelay, Duration.ofMillis(20),
+            0.99, 2.0, Duration.ofMillis(50),
+            10, maxAttempts, Duration.ofMillis(10), Duration.ofMillis(40),
+            1, Map.of("audit", stepTimeout));
+    }
+
+    private static AgentLatencyTracker trackerWith(long... latencies) {
+        var tracker = new AgentLatencyTracker(100);
+        for (var latency : latencies) {
+            tracker.recordSuccess("audit", latency);
+        }
+        return tracker;
+    }
+
+    @Test
+    public void shouldDeriveTheHedgeDelayFromTheObservedPercentile() {
+        var settings = settings(true, Duration.ofSeconds(30), 3, Duration.ofSeconds(120));
+
+        assertThat(new AgentCallPolicy(settings, trackerWith(100, 200)).hedgeDelayNanos("audit"))
+            .as("initial delay until min-samples latencies were observed")
+            .isEqualTo(TimeUnit.SECONDS.toNanos(30));
+
+        var latencies = new long[20];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (i + 1) * 100L;
+        }
+        assertThat(new AgentCallPolicy(settings, trackerWith(latencies)).hedgeDelayNanos("audit"))
+            .isEqualTo(TimeUnit.MILLISECONDS.toNanos(1900));
+        assertThat(new AgentCallPolicy(settings, trackerWith(1, 1, 1, 1, 1, 1, 1, 1, 1, 1)).hedgeDelayNanos("audit"))
+            .as("never below min-hedge-delay")
+            .isEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    public void shouldSplitTheStepBudgetIntoAttemptBudgets() {
+        var settings = settings(true, Duration.ofSeconds(30), 3, Duration.ofSeconds(120));
+
+        assertThat(new AgentCallPolicy(settings, trackerWith(100)).attemptBudgetNanos("audit"))
+            .as("the whole step timeout until min-samples latencies were observed")
+            .isEqualTo(TimeUnit.SECONDS.toNanos(120));
+        assertThat(new AgentCallPolicy(settings, trackerWith(1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000, 4000))
+            .attemptBudgetNanos("audit"))
+            .as("p99 x budget-multiplier")
+            .isEqualTo(TimeUnit.MILLISECONDS.toNanos(8000));
+        assertThat(new AgentCallPolicy(settings, trackerWith(1, 1, 1, 1, 1, 1, 1, 1, 1, 1)).attemptBudgetNanos("audit"))
+            .as("at least min-attempt-budget")
+            .isEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(new AgentCallPolicy(settings, trackerWith(90_000, 90_000, 90_000, 90_000, 90_000, 90_000, 90_000, 90_000, 90_000, 90_000))
+            .attemptBudgetNanos("audit"))
+            .as("at most the step timeout")
+            .isEqualTo(TimeUnit.SECONDS.toNanos(120));
+    }
+
+    @Test
+    public void shouldBackOffWithFullJitterUpToTheCap() {
+        var policy = new AgentCallPolicy(settings(false, Duration.ofSeconds(30), 3, Duration.ofSeconds(120)), trackerWith());
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.backoffNanos(1)).isBetween(0L, TimeUnit.MILLISECONDS.toNanos(10));
+            assertThat(policy.backoffNanos(2)).isBetween(0L, TimeUnit.MILLISECONDS.toNanos(20));
+            assertThat(policy.backoffNanos(30)).isBetween(0L, TimeUnit.MILLISECONDS.toNanos(40));
+        }
+    }
+
+    @Test
+    public void shouldRetryFailedAttemptsWithinTheStep() {
+        var policy = new AgentCallPolicy(settings(false, Duration.ofSeconds(30), 3, Duration.ofSeconds(5)), trackerWith());
+        var calls = new AtomicInteger();
+
+        String answer = policy.call("audit", "session", session -> calls.incrementAndGet() < 3
+            ? CompletableFuture.failedFuture(new IllegalStateException("model overloaded"))
+            : CompletableFuture.completedFuture("ok"));
+
+        assertThat(answer).isEqualTo("ok");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    public void shouldFailAfterMaxAttempts() {
+        var policy = new AgentCallPolicy(settings(false, Duration.ofSeconds(30), 2, Duration.ofSeconds(5)), trackerWith());
+
+        assertThatThrownBy(() -> policy.call("audit", "session",
+            session -> CompletableFuture.<String>failedFuture(new IllegalStateException("model overloaded"))))
+            .isInstanceOf(AgentCallPolicy.AgentCallFailedException.class)
+            .hasMessageContaining("after 2 attempt(s)")
+            .hasRootCauseMessage("model overloaded");
+    }
+
+    @Test
+    public void shouldCancelTheLosingRequestWhenTheHedgeAnswersFirst() {
+        var policy = new AgentCallPolicy(settings(true, Duration.ofMillis(20), 1, Duration.ofSeconds(5)), trackerWith());
+        var requests = new CopyOnWriteArrayList<CompletableFuture<String>>();
+        var sessions = new CopyOnWriteArrayList<String>();
+
+        String answer = policy.call("audit", "session", session -> {
+            sessions.add(session);
+            var request = session.contains("hedge")
+                ? CompletableFuture.completedFuture("hedged")
+                : new CompletableFuture<String>();
+            requests.add(request);
+            return request;
+        });
+
+        assertThat(answer).isEqualTo("hedged");
+        assertThat(sessions).containsExactly("session", "session-hedge-1");
+        assertThat(requests.get(0)).isCancelled();
+    }
+
+    @Test
+    public void shouldCancelATimedOutAttemptBeforeRetrying() {
+        var policy = new AgentCallPolicy(settings(false, Duration.ofSeconds(30), 2, Duration.ofMillis(1300)), trackerWith());
+        List<CompletableFuture<String>> requests = new CopyOnWriteArrayList<>();
+
+        assertThatThrownBy(() -> policy.call("audit", "session", session -> {
+            var request = new CompletableFuture<String>();
+            requests.add(request);
+            return (CompletionStage<String>) request;
+        })).isInstanceOf(AgentCallPolicy.AgentCallFailedException.class);
+
+        assertThat(requests).isNotEmpty().allMatch(CompletableFuture::isCancelled);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.application;
+
+import akka.javasdk.testkit.KeyValueEntityTestKit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArchivedKpiTotalsEntityTest {
+
+    private static KPIDashboardView.KPIEntry entry(String workflowId, String speculation, long tokens) {
+        return new KPIDashboardView.KPIEntry("CASE-1", workflowId, "PUBLISHED", true, true, 0, true, true, false,
+            speculation, 0, tokens, Instant.EPOCH);
+    }
+
+    @Test
+    public void shouldAddEachArchivedWorkflowOnce() {
+        var testKit = KeyValueEntityTestKit.of(ArchivedKpiTotalsEntity::new);
+
+        testKit.method(ArchivedKpiTotalsEntity::add).invoke(entry("wf-1", "HIT", 12_000));
+        testKit.method(ArchivedKpiTotalsEntity::add).invoke(entry("wf-1", "HIT", 12_000));
+        testKit.method(ArchivedKpiTotalsEntity::add).invoke(entry("wf-2", "NONE", 8_000));
+
+        var totals = testKit.method(ArchivedKpiTotalsEntity::get).invoke().getReply();
+        assertThat(totals.cases()).isEqualTo(2);
+        assertThat(totals.tokens()).isEqualTo(20_000);
+        assertThat(totals.speculated()).isEqualTo(1);
+        assertThat(totals.hits()).isEqualTo(1);
+        assertThat(totals.summary().averageTokensPerCase()).isEqualTo(10_000.0);
+    }
+
+    @Test
+    public void shouldKeepOnlyTheMostRecentWorkflows() {
+        var testKit = KeyValueEntityTestKit.of(ArchivedKpiTotalsEntity::new);
+
+        for (int i = 0; i <= ArchivedKpiTotalsEntity.RECENT_WORKFLOWS; i++) {
+            testKit.method(ArchivedKpiTotalsEntity::add).invoke(entry("wf-" + i, "NONE", 1));
+        }
+
+        assertThat(testKit.getState().recentWorkflows())
+            .hasSize(ArchivedKpiTotalsEntity.RECENT_WORKFLOWS)
+            .doesNotContain("wf-0")
+            .contains("wf-" + ArchivedKpiTotalsEntity.RECENT_WORKFLOWS);
+        assertThat(testKit.getState().totals().cases()).isEqualTo(ArchivedKpiTotalsEntity.RECENT_WORKFLOWS + 1);
+    }
+
+    @Test
+    public void shouldStartTheSummaryFromTheArchivedTotals() {
+        var archived = KPIDashboardView.KPISummary.Totals.ZERO.add(entry("wf-1", "DISCARDED", 5_000));
+
+        var summary = archived.add(entry("wf-2", "HIT", 3_000)).summary();
+
+        assertThat(summary.totalCases()).isEqualTo(2);
+        assertThat(summary.speculationHitRate()).isEqualTo(0.5);
+        assertThat(summary.tokensUsed()).isEqualTo(8_000);
+    }
+}
@@ -6,9 +6,11 @@ import com.example.domain.*;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import static com.example.application.CaseStateBuilder.caseState;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class AuditTrailViewIntegrationTest extends TestKitSupport {
@@ -23,16 +25,13 @@ public class AuditTrailViewIntegrationTest extends TestKitSupport {
     public void shouldTrackCaseProgress() {
         var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
 
-        var state = new CaseState(
-            "CASE-2024-010",
-            CaseStatus.AWAITING_HUMAN_APPROVAL,
-            new ScreeningResult(ProcedureType.ORDINARY, Urgency.HIGH, true, List.of()),
-            new SecretariatResult(List.of("Subpoena for response")),
-            new AuditResult(true, List.of()),
-            new DraftResult("Draft content", List.of("Civil Code Art. 927", "STJ-331/2024")),
-            null,
-            null
-        );
+        var state = caseState("CASE-2024-010", CaseStatus.AWAITING_HUMAN_APPROVAL)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.HIGH, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Subpoena for response")))
+            .audit(new AuditResult(true, List.of()))
+            .draft(new DraftResult("Draft content", List.of("Civil Code Art. 927", "STJ-331/2024")))
+            .citationCheck(new CitationCheck(1, List.of("STJ-331/2024")))
+            .build();
 
         messages.publish(state, "workflow-1");
 
@@ -43,7 +42,8 @@ public class AuditTrailViewIntegrationTest extends TestKitSupport {
                 var entry = componentClient
                     .forView()
                     .method(AuditTrailView::getByCaseNumber)
-                    .invoke("CASE-2024-010");
+                    .invoke("CASE-2024-010")
+                    .orElseThrow();
 
                 assertThat(entry.caseNumber()).isEqualTo("CASE-2024-010");
                 assertThat(entry.status()).isEqualTo("AWAITING_HUMAN_APPROVAL");
@@ -52,6 +52,8 @@ public class AuditTrailViewIntegrationTest extends TestKitSupport {
                 assertThat(entry.hasAudit()).isTrue();
                 assertThat(entry.hasDraft()).isTrue();
                 assertThat(entry.citationCount()).isEqualTo(2);
+                assertThat(entry.verifiedCitations()).isEqualTo(1);
+                assertThat(entry.unverifiedCitations()).isEqualTo(1);
             });
     }
 
@@ -59,21 +61,15 @@ public class AuditTrailViewIntegrationTest extends TestKitSupport {
     public void shouldListAllCases() {
         var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
 
-        var state1 = new CaseState(
-            "CASE-2024-011",
-            CaseStatus.SCREENING_COMPLETE,
-            new ScreeningResult(ProcedureType.SUMMARY, Urgency.LOW, true, List.of()),
-            null, null, null, null, null
-        );
-        var state2 = new CaseState(
-            "CASE-2024-012",
-            CaseStatus.PUBLISHED,
-            new ScreeningResult(ProcedureType.FAST_TRACK, Urgency.URGENT, true, List.of()),
-            new SecretariatResult(List.of("Deadline notification")),
-            new AuditResult(true, List.of()),
-            new DraftResult("Final draft", List.of("Art. 477")),
-            null, null
-        );
+        var state1 = caseState("CASE-2024-011", CaseStatus.SCREENING_COMPLETE)
+            .screening(new ScreeningResult(ProcedureType.SUMMARY, Urgency.LOW, true, List.of()))
+            .build();
+        var state2 = caseState("CASE-2024-012", CaseStatus.PUBLISHED)
+            .screening(new ScreeningResult(ProcedureType.FAST_TRACK, Urgency.URGENT, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Deadline notification")))
+            .audit(new AuditResult(true, List.of()))
+            .draft(new DraftResult("Final draft", List.of("Art. 477")))
+            .build();
 
         messages.publish(state1, "workflow-2");
         messages.publish(state2, "workflow-3");
@@ -93,4 +89,106 @@ public class AuditTrailViewIntegrationTest extends TestKitSupport {
                     .contains("CASE-2024-011", "CASE-2024-012");
             });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldPageExportByStatusAndDate() {
+        var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
+
+        var changedAt = Instant.parse("2024-06-01T10:00:00Z");
+        var published = caseState("CASE-2024-013", CaseStatus.PUBLISHED)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of()))
+            .statusChangedAt(changedAt)
+            .build();
+        var rejected = caseState("CASE-2024-014", CaseStatus.REJECTED)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of()))
+            .statusChangedAt(changedAt)
+            .build();
+        var olderPublished = caseState("CASE-2024-015", CaseStatus.PUBLISHED)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of()))
+            .statusChangedAt(Instant.parse("2024-01-01T10:00:00Z"))
+            .build();
+
+        messages.publish(published, "workflow-4");
+        messages.publish(rejected, "workflow-5");
+        messages.publish(olderPublished, "workflow-6");
+
+        var page = new ExportPage(
+            Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-07-01T00:00:00Z"), List.of("PUBLISHED"), "", "", 10);
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                var result = componentClient
+                    .forView()
+                    .method(AuditTrailView::getExportPage)
+                    .invoke(page);
+
+                assertThat(result.entries())
+                    .extracting(AuditTrailView.AuditTrailEntry::caseNumber)
+                    .containsExactly("CASE-2024-013");
+                assertThat(result.hasMore()).isFalse();
+            });
+    }
+
+    @Test
+    public void shouldPageExportAfterTheLastCaseNumber() {
+        var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
+
+        var changedAt = Instant.parse("2024-06-01T10:00:00Z");
+        messages.publish(caseState("CASE-2024-018", CaseStatus.FAILED).statusChangedAt(changedAt).build(), "workflow-9");
+        messages.publish(caseState("CASE-2024-016", CaseStatus.FAILED).statusChangedAt(changedAt).build(), "workflow-7");
+        // stored before statusChangedAt existed
+        messages.publish(caseState("CASE-2024-017", CaseStatus.FAILED).build(), "workflow-8");
+
+        var first = new ExportPage(Instant.EPOCH, Instant.parse("2025-01-01T00:00:00Z"), List.of("FAILED"), "", "", 2);
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                var page = componentClient.forView().method(AuditTrailView::getExportPage).invoke(first);
+                assertThat(page.entries())
+                    .extracting(AuditTrailView.AuditTrailEntry::caseNumber)
+                    .containsExactly("CASE-2024-016", "CASE-2024-017");
+                assertThat(page.hasMore()).isTrue();
+
+                var next = componentClient.forView().method(AuditTrailView::getExportPage).invoke(first.next("CASE-2024-017", "workflow-8"));
+                assertThat(next.entries())
+                    .extracting(AuditTrailView.AuditTrailEntry::caseNumber)
+                    .containsExactly("CASE-2024-018");
+                assertThat(next.hasMore()).isFalse();
+            });
+    }
+
+    @Test
+    public void shouldNotSkipRowsSharingTheCaseNumberAcrossPages() {
+        var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
+
+        var changedAt = Instant.parse("2024-06-01T10:00:00Z");
+        messages.publish(caseState("CASE-2024-020", CaseStatus.BUDGET_EXCEEDED).statusChangedAt(changedAt).build(), "workflow-12");
+        messages.publish(caseState("CASE-2024-020", CaseStatus.BUDGET_EXCEEDED).statusChangedAt(changedAt).build(), "workflow-10");
+        messages.publish(caseState("CASE-2024-020", CaseStatus.BUDGET_EXCEEDED).statusChangedAt(changedAt).build(), "workflow-11");
+
+        var first = new ExportPage(Instant.EPOCH, Instant.parse("2025-01-01T00:00:00Z"), List.of("BUDGET_EXCEEDED"), "", "", 2);
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                var page = componentClient.forView().method(AuditTrailView::getExportPage).invoke(first);
+                assertThat(page.entries())
+                    .extracting(AuditTrailView.AuditTrailEntry::workflowId)
+                    .containsExactly("workflow-10", "workflow-11");
+                assertThat(page.hasMore()).isTrue();
+
+                var last = page.entries().getLast();
+                var next = componentClient.forView().method(AuditTrailView::getExportPage)
+                    .invoke(first.next(last.caseNumber(), last.workflowId()));
+                assertThat(next.entries())
+                    .extracting(AuditTrailView.AuditTrailEntry::workflowId)
+                    .containsExactly("workflow-12");
+                assertThat(next.hasMore()).isFalse();
+            });
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.application;
+
+import akka.javasdk.testkit.TestKit;
+import akka.javasdk.testkit.TestKitSupport;
+import com.example.domain.*;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.application.CaseStateBuilder.caseState;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseArchiveViewIntegrationTest extends TestKitSupport {
+
+    @Override
+    protected TestKit.Settings testKitSettings() {
+        return TestKit.Settings.DEFAULT
+            .withWorkflowIncomingMessages(CaseProcessingWorkflow.class);
+    }
+
+    @Test
+    public void shouldMoveArchivedCaseOutOfLiveViews() {
+        var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
+
+        var published = caseState("CASE-2024-030", CaseStatus.PUBLISHED)
+            .screening(new ScreeningResult(ProcedureType.SUMMARY, Urgency.LOW, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Subpoena for response", "Deadline notification")))
+            .audit(new AuditResult(true, List.of()))
+            .draft(new DraftResult("Final draft", List.of("Civil Code Art. 927")))
+            .citationCheck(new CitationCheck(1, List.of()))
+            .statusChangedAt(Instant.parse("2024-03-01T10:00:00Z"))
+            .build();
+        messages.publish(published, "workflow-archive-1");
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                var entry = componentClient
+                    .forView()
+                    .method(AuditTrailView::getByCaseNumber)
+                    .invoke("CASE-2024-030");
+                assertThat(entry).isPresent();
+            });
+
+        messages.publish(published.withStatus(CaseStatus.ARCHIVED), "workflow-archive-1");
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                var archived = componentClient
+                    .forView()
+                    .method(CaseArchiveView::findByCaseNumber)
+                    .invoke("CASE-2024-030");
+                assertThat(archived).isPresent();
+                assertThat(archived.get().workflowId()).isEqualTo("workflow-archive-1");
+                assertThat(archived.get().procedureType()).isEqualTo("SUMMARY");
+                assertThat(archived.get().actCount()).isEqualTo(2);
+                assertThat(archived.get().verifiedCitations()).isEqualTo(1);
+
+                var live = componentClient
+                    .forView()
+                    .method(AuditTrailView::getByCaseNumber)
+                    .invoke("CASE-2024-030");
+                assertThat(live).isEmpty();
+
+                var queue = componentClient
+                    .forView()
+                    .method(CasesByQueueView::getAll)
+                    .invoke();
+                assertThat(queue.entries())
+                    .extracting(CasesByQueueView.CaseQueueEntry::caseNumber)
+                    .doesNotContain("CASE-2024-030");
+
+                var kpi = componentClient
+                    .forView()
+                    .method(KPIDashboardView::getAll)
+                    .invoke();
+                assertThat(kpi.entries())
+                    .extracting(KPIDashboardView.KPIEntry::caseNumber)
+                    .doesNotContain("CASE-2024-030");
+            });
+    }
+}
@@ -8,6 +8,7 @@ import com.example.domain.*;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
 import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
@@ -23,15 +24,18 @@ public class CaseProcessingWorkflowIntegrationTest extends TestKitSupport {
     private final TestModelProvider secretariatModel = new TestModelProvider();
     private final TestModelProvider auditModel = new TestModelProvider();
     private final TestModelProvider draftingModel = new TestModelProvider();
+    private final TestModelProvider revisionModel = new TestModelProvider();
+    private final TestDependencyProvider dependencies = new TestDependencyProvider();
 
     @Override
     protected TestKit.Settings testKitSettings() {
         return TestKit.Settings.DEFAULT
-            .withDependencyProvider(new TestDependencyProvider())
+            .withDependencyProvider(dependencies)
             .withModelProvider(ScreeningAgent.class, screeningModel)
             .withModelProvider(SecretariatRoutineAgent.class, secretariatModel)
             .withModelProvider(ConsistencyAuditAgent.class, auditModel)
-            .withModelProvider(DraftingSupportAgent.class, draftingModel);
+            .withModelProvider(DraftingSupportAgent.class, draftingModel)
+            .withModelProvider(DraftRevisionAgent.class, revisionModel);
     }
 
     @Test
@@ -73,6 +77,9 @@ public class CaseProcessingWorkflowIntegrationTest extends TestKitSupport {
                 assertThat(state.secretariat()).isEqualTo(secretariatResult);
                 assertThat(state.audit()).isEqualTo(auditResult);
                 assertThat(state.draft()).isEqualTo(draftResult);
+                assertThat(state.citationCheck()).isEqualTo(new CitationCheck(2, List.of()));
+                assertThat(state.tokenUsage().steps()).containsKeys("screening", "secretariat", "audit", "drafting");
+                assertThat(state.tokenUsage().total()).isPositive();
             });
 
         // Approve the case
@@ -91,6 +98,48 @@ public class CaseProcessingWorkflowIntegrationTest extends TestKitSupport {
                     .invoke();
                 assertThat(state.status()).isEqualTo(CaseStatus.PUBLISHED);
             });
+
+        // Acts are published to the court system from the outbox
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(20, SECONDS)
+            .untilAsserted(() -> {
+                var outbox = componentClient
+                    .forKeyValueEntity(workflowId)
+                    .method(PublicationOutboxEntity::get)
+                    .invoke();
+                assertThat(outbox.delivered()).isTrue();
+                assertThat(dependencies.courtSystemService.getPublishedActs())
+                    .containsAll(secretariatResult.generatedActs());
+            });
+
+        // Archiving moves the case's KPIs into the archived totals
+        var archivedBefore = componentClient
+            .forKeyValueEntity(ArchivedKpiTotalsEntity.ID)
+            .method(ArchivedKpiTotalsEntity::get)
+            .invoke()
+            .cases();
+        componentClient
+            .forWorkflow(workflowId)
+            .method(CaseProcessingWorkflow::archive)
+            .invoke();
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(10, SECONDS)
+            .untilAsserted(() -> {
+                var state = componentClient
+                    .forWorkflow(workflowId)
+                    .method(CaseProcessingWorkflow::getState)
+                    .invoke();
+                assertThat(state.status()).isEqualTo(CaseStatus.ARCHIVED);
+                var archived = componentClient
+                    .forKeyValueEntity(ArchivedKpiTotalsEntity.ID)
+                    .method(ArchivedKpiTotalsEntity::get)
+                    .invoke();
+                assertThat(archived.cases()).isEqualTo(archivedBefore + 1);
+                assertThat(archived.tokens()).isGreaterThanOrEqualTo(state.tokenUsage().total());
+            });
     }
 
     @Test
@@ -129,11 +178,14 @@ public class CaseProcessingWorkflowIntegrationTest extends TestKitSupport {
                 assertThat(state.status()).isEqualTo(CaseStatus.AWAITING_HUMAN_APPROVAL);
             });
 
-        // Reject with reason - mock revised draft
+        // Reject with reason - mock a revision that keeps the first section and adds one
+        var revision = new DraftRevision(
+            List.of("=1", "Revised draft with additional legal basis."),
+            List.of("Civil Code Art. 927", "Insurance Regulatory Norm SUSEP-42"));
+        revisionModel.fixedResponse(JsonSupport.encodeToString(revision));
         var revisedDraft = new DraftResult(
-            "Revised draft with additional legal basis.",
+            "Initial draft content.\n\nRevised draft with additional legal basis.",
             List.of("Civil Code Art. 927", "Insurance Regulatory Norm SUSEP-42"));
-        draftingModel.fixedResponse(JsonSupport.encodeToString(revisedDraft));
 
         componentClient
             .forWorkflow(workflowId)
@@ -151,6 +203,7 @@ public class CaseProcessingWorkflowIntegrationTest extends TestKitSupport {
                     .invoke();
                 assertThat(state.status()).isEqualTo(CaseStatus.AWAITING_HUMAN_APPROVAL);
                 assertThat(state.draft()).isEqualTo(revisedDraft);
+                assertThat(state.draftRevisions()).containsExactly(revision);
             });
 
         // Now approve
@@ -171,6 +224,61 @@ public class CaseProcessingWorkflowIntegrationTest extends TestKitSupport {
             });
     }
 
+    @Test
+    public void shouldRetryAFailingStepAgainAfterResume() {
+        var workflowId = UUID.randomUUID().toString();
+
+        screeningModel.fixedResponse(JsonSupport.encodeToString(
+            new ScreeningResult(ProcedureType.ORDINARY, Urgency.LOW, true, List.of())));
+        secretariatModel.fixedResponse(JsonSupport.encodeToString(
+            new SecretariatResult(List.of("Subpoena for response"))));
+        auditModel.fixedResponse("not an audit result");
+
+        componentClient
+            .forWorkflow(workflowId)
+            .method(CaseProcessingWorkflow::start)
+            .invoke("CASE-2024-044");
+
+        // the audit is retried once, then the case fails
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(60, SECONDS)
+            .untilAsserted(() -> {
+                var state = componentClient
+                    .forWorkflow(workflowId)
+                    .method(CaseProcessingWorkflow::getState)
+                    .invoke();
+                assertThat(state.status()).isEqualTo(CaseStatus.FAILED);
+                assertThat(state.tokenUsage().failedStep()).isEqualTo("audit");
+                assertThat(state.tokenUsage().failedAttempts()).isEqualTo(2);
+            });
+
+        var firstFailedAt = componentClient
+            .forWorkflow(workflowId)
+            .method(CaseProcessingWorkflow::getState)
+            .invoke()
+            .statusChangedAt();
+        componentClient
+            .forWorkflow(workflowId)
+            .method(CaseProcessingWorkflow::resume)
+            .invoke();
+
+        // after the resume the first failure is retried again rather than failing the case at once
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(60, SECONDS)
+            .untilAsserted(() -> {
+                var state = componentClient
+                    .forWorkflow(workflowId)
+                    .method(CaseProcessingWorkflow::getState)
+                    .invoke();
+                assertThat(state.status()).isEqualTo(CaseStatus.FAILED);
+                assertThat(state.tokenUsage().failedStep()).isEqualTo("audit");
+                assertThat(state.tokenUsage().failedAttempts()).isEqualTo(2);
+                assertThat(state.statusChangedAt()).isAfter(firstFailedAt);
+            });
+    }
+
     @Test
     public void shouldReceiveNotificationsDuringProcessing() throws Exception {
         var workflowId = UUID.randomUUID().toString();
@@ -218,9 +326,80 @@ public class CaseProcessingWorkflowIntegrationTest extends TestKitSupport {
         assertThat(events.get(8)).contains("Awaiting human approval");
     }
 
+    @Test
+    public void shouldReplayARecordedRunWithoutCallingTheModels() throws Exception {
+        var recording = Files.createTempFile("agent-recording", ".ndjson");
+        try {
+            var screeningResult = new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of());
+            screeningModel.fixedResponse(JsonSupport.encodeToString(screeningResult));
+            var secretariatResult = new SecretariatResult(List.of("Subpoena for response"));
+            secretariatModel.fixedResponse(JsonSupport.encodeToString(secretariatResult));
+            var auditResult = new AuditResult(true, List.of());
+            auditModel.fixedResponse(JsonSupport.encodeToString(auditResult));
+            var draftResult = new DraftResult("Recorded draft.", List.of("Civil Code Art. 927"));
+            draftingModel.fixedResponse(JsonSupport.encodeToString(draftResult));
+
+            dependencies.interactionLog = AgentInteractionLog.recording(recording);
+            var recorded = processToApproval("CASE-2024-004");
+            assertThat(dependencies.interactionLog.summary().recorded()).isGreaterThanOrEqualTo(4);
+
+            // models that would now answer differently must not be reached by the replay
+            screeningModel.fixedResponse(JsonSupport.encodeToString(new ScreeningResult(ProcedureType.SUMMARY, Urgency.URGENT, false, List.of("power of attorney"))));
+            secretariatModel.fixedResponse(JsonSupport.encodeToString(new SecretariatResult(List.of("Other act"))));
+            auditModel.fixedResponse(JsonSupport.encodeToString(new AuditResult(false, List.of("Other issue"))));
+            draftingModel.fixedResponse(JsonSupport.encodeToString(new DraftResult("Live draft.", List.of())));
+
+            dependencies.interactionLog = AgentInteractionLog.replaying(recording);
+            var replayed = processToApproval("CASE-2024-004");
+
+            assertThat(replayed.screening()).isEqualTo(recorded.screening()).isEqualTo(screeningResult);
+            assertThat(replayed.secretariat()).isEqualTo(recorded.secretariat()).isEqualTo(secretariatResult);
+            assertThat(replayed.audit()).isEqualTo(recorded.audit()).isEqualTo(auditResult);
+            assertThat(replayed.draft()).isEqualTo(recorded.draft()).isEqualTo(draftResult);
+            assertThat(dependencies.interactionLog.summary().replayed()).isGreaterThanOrEqualTo(4);
+            assertThat(dependencies.interactionLog.summary().missing()).isZero();
+        } finally {
+            dependencies.interactionLog = AgentInteractionLog.off();
+            Files.deleteIfExists(recording);
+        }
+    }
+
+    private CaseState processToApproval(String caseNumber) {
+        var workflowId = UUID.randomUUID().toString();
+        componentClient
+            .forWorkflow(workflowId)
+            .method(CaseProcessingWorkflow::start)
+            .invoke(caseNumber);
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(30, SECONDS)
+            .untilAsserted(() -> assertThat(componentClient
+                .forWorkflow(workflowId)
+                .method(CaseProcessingWorkflow::getState)
+                .invoke()
+                .status()).isEqualTo(CaseStatus.AWAITING_HUMAN_APPROVAL));
+
+        return componentClient
+            .forWorkflow(workflowId)
+            .method(CaseProcessingWorkflow::getState)
+            .invoke();
+    }
+
     private static class TestDependencyProvider implements akka.javasdk.DependencyProvider {
         private final CourtSystemServiceStub courtSystemService = new CourtSystemServiceStub();
         private final JurisprudenceServiceStub jurisprudenceService = new JurisprudenceServiceStub();
+        private final AgentLatencyTracker latencyTracker = new AgentLatencyTracker(200);
+        private final CitationIndex citationIndex = CitationIndex.of(jurisprudenceService.knownSources());
+        private final SimilarCaseIndex similarCaseIndex = new SimilarCaseIndex(128, 16);
+        private final OutboxStats outboxStats = new OutboxStats();
+        private final StructuredOutputStats structuredOutputStats = new StructuredOutputStats();
+        private final ScreeningBatcher screeningBatcher = new ScreeningBatcher(8, 200, 1500, structuredOutputStats);
+        private final SpeculativeDrafts speculativeDrafts = new SpeculativeDrafts(Duration.ofMinutes(5));
+        // swapped by the replay test; read when a workflow instance is created
+        private volatile AgentInteractionLog interactionLog = AgentInteractionLog.off();
+        private final CaseSearchIndex searchIndex = new CaseSearchIndex();
+        private final Readiness readiness = new Readiness();
 
         @SuppressWarnings("unchecked")
         @Override
@@ -229,6 +408,26 @@ public class CaseProcessingWorkflowIntegrationTest extends TestKitSupport {
                 return (T) courtSystemService;
             } else if (clazz == JurisprudenceService.class) {
                 return (T) jurisprudenceService;
+            } else if (clazz == AgentLatencyTracker.class) {
+                return (T) latencyTracker;
+            } else if (clazz == CitationIndex.class) {
+                return (T) citationIndex;
+            } else if (clazz == SimilarCaseIndex.class) {
+                return (T) similarCaseIndex;
+            } else if (clazz == OutboxStats.class) {
+                return (T) outboxStats;
+            } else if (clazz == StructuredOutputStats.class) {
+                return (T) structuredOutputStats;
+            } else if (clazz == ScreeningBatcher.class) {
+                return (T) screeningBatcher;
+            } else if (clazz == SpeculativeDrafts.class) {
+                return (T) speculativeDrafts;
+            } else if (clazz == AgentInteractionLog.class) {
+                return (T) interactionLog;
+            } else if (clazz == CaseSearchIndex.class) {
+                return (T) searchIndex;
+            } else if (clazz == Readiness.class) {
+                return (T) readiness;
             } else {
                 throw new IllegalArgumentException("Unknown dependency type: " + clazz);
             }
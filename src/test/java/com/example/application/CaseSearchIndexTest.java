@@ -0,0 +1,115 @@
+package com.example.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseSearchIndexTest {
+
+    private static CasesByQueueView.CaseQueueEntry entry(String caseNumber, String auditIssues) {
+        return entry(caseNumber, "wf-" + caseNumber, auditIssues);
+    }
+
+    private static CasesByQueueView.CaseQueueEntry entry(String caseNumber, String workflowId, String auditIssues) {
+        return new CasesByQueueView.CaseQueueEntry(
+            caseNumber, workflowId, "AWAITING_HUMAN_APPROVAL", "ORDINARY", "MEDIUM", null, auditIssues, 2, Instant.EPOCH);
+    }
+
+    private static CaseSearchIndex indexOf(CasesByQueueView.CaseQueueEntry... entries) {
+        var index = new CaseSearchIndex();
+        for (var entry : entries) {
+            index.put(entry);
+        }
+        return index;
+    }
+
+    @Test
+    public void shouldRankMoreFrequentAndShorterMatchesFirst() {
+        var index = indexOf(
+            entry("CASE-1", "missing deadline"),
+            entry("CASE-2", "deadline deadline missed"),
+            entry("CASE-3", "missing deadline for the appeal of the defendant in the lower court"),
+            entry("CASE-4", "unsigned petition"));
+
+        var results = index.search("deadline", 0, 10);
+
+        assertThat(results.hits()).extracting(CaseSearchIndex.Hit::caseNumber)
+            .containsExactly("CASE-2", "CASE-1", "CASE-3");
+        assertThat(results.hits().get(0).score()).isGreaterThan(results.hits().get(1).score());
+        assertThat(results.total()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldOnlyReturnCasesMatchingEveryTerm() {
+        var index = indexOf(
+            entry("CASE-1", "missing deadline"),
+            entry("CASE-2", "missing signature"),
+            entry("CASE-3", "deadline missing, signature missing"));
+
+        assertThat(index.search("Missing SIGNATURE", 0, 10).hits()).extracting(CaseSearchIndex.Hit::caseNumber)
+            .containsExactlyInAnyOrder("CASE-2", "CASE-3");
+        assertThat(index.search("signature appeal", 0, 10).total()).isZero();
+        assertThat(index.search(" -- ", 0, 10).hits()).isEmpty();
+    }
+
+    @Test
+    public void shouldReindexAReplacedRow() {
+        var index = indexOf(entry("CASE-1", "missing deadline"));
+
+        index.put(entry("CASE-1", "unsigned petition"));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("deadline", 0, 10).total()).isZero();
+        assertThat(index.search("petition", 0, 10).total()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldPageThroughTheRanking() {
+        var index = new CaseSearchIndex();
+        for (int i = 1; i <= 5; i++) {
+            index.put(entry("CASE-" + i, "deadline"));
+        }
+
+        var first = index.search("deadline", 0, 2);
+        var last = index.search("deadline", 4, 2);
+
+        assertThat(first.hits()).extracting(CaseSearchIndex.Hit::caseNumber).containsExactly("CASE-1", "CASE-2");
+        assertThat(first.total()).isEqualTo(5);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(index.search("deadline", 2, 2).hits()).extracting(CaseSearchIndex.Hit::caseNumber)
+            .containsExactly("CASE-3", "CASE-4");
+        assertThat(last.hits()).extracting(CaseSearchIndex.Hit::caseNumber).containsExactly("CASE-5");
+        assertThat(last.hasMore()).isFalse();
+        assertThat(index.search("deadline", 10, 2).hits()).isEmpty();
+        assertThat(index.search("deadline", Integer.MAX_VALUE, Integer.MAX_VALUE).hasMore()).isFalse();
+    }
+
+    @Test
+    public void shouldKeepWorkflowsSharingACaseNumberApart() {
+        var index = indexOf(
+            entry("CASE-1", "wf-1", "missing deadline"),
+            entry("CASE-1", "wf-2", "unsigned petition"));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("case 1", 0, 10).hits()).extracting(CaseSearchIndex.Hit::workflowId)
+            .containsExactly("wf-1", "wf-2");
+        assertThat(index.search("petition", 0, 10).hits()).extracting(CaseSearchIndex.Hit::workflowId)
+            .containsExactly("wf-2");
+    }
+
+    @Test
+    public void shouldMatchProcedureTypeAndUrgency() {
+        var index = indexOf(
+            entry("CASE-1", "missing deadline"),
+            new CasesByQueueView.CaseQueueEntry(
+                "CASE-2", "wf-CASE-2", "AWAITING_HUMAN_APPROVAL", "SUMMARY", "URGENT", null, "missing deadline", 0,
+                Instant.EPOCH));
+
+        assertThat(index.search("urgent deadline", 0, 10).hits()).extracting(CaseSearchIndex.Hit::caseNumber)
+            .containsExactly("CASE-2");
+        assertThat(index.search("ordinary", 0, 10).hits()).extracting(CaseSearchIndex.Hit::caseNumber)
+            .containsExactly("CASE-1");
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.application;
+
+import com.example.domain.AuditResult;
+import com.example.domain.CaseState;
+import com.example.domain.CaseStatus;
+import com.example.domain.CitationCheck;
+import com.example.domain.DraftResult;
+import com.example.domain.DraftRevision;
+import com.example.domain.ProcessingStats;
+import com.example.domain.ScreeningResult;
+import com.example.domain.SecretariatResult;
+import com.example.domain.SimilarCase;
+import com.example.domain.TokenUsage;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Workflow states for view tests; components that are not set stay null or take the CaseState defaults. */
+final class CaseStateBuilder {
+
+    private final String caseNumber;
+    private final CaseStatus status;
+    private ScreeningResult screening;
+    private SecretariatResult secretariat;
+    private AuditResult audit;
+    private DraftResult draft;
+    private String rejectionReason;
+    private String failureMessage;
+    private ProcessingStats stats;
+    private DraftResult pendingDraft;
+    private CitationCheck citationCheck;
+    private List<SimilarCase> similarCases;
+    private Instant statusChangedAt;
+    private TokenUsage tokenUsage;
+    private List<DraftRevision> draftRevisions;
+
+    private CaseStateBuilder(String caseNumber, CaseStatus status) {
+        this.caseNumber = caseNumber;
+        this.status = status;
+    }
+
+    static CaseStateBuilder caseState(String caseNumber, CaseStatus status) {
+        return new CaseStateBuilder(caseNumber, status);
+    }
+
+    CaseStateBuilder screening(ScreeningResult screening) {
+        this.screening = screening;
+        return this;
+    }
+
+    CaseStateBuilder secretariat(SecretariatResult secretariat) {
+        this.secretariat = secretariat;
+        return this;
+    }
+
+    CaseStateBuilder audit(AuditResult audit) {
+        this.audit = audit;
+        return this;
+    }
+
+    CaseStateBuilder draft(DraftResult draft) {
+        this.draft = draft;
+        return this;
+    }
+
+    CaseStateBuilder rejectionReason(String rejectionReason) {
+        this.rejectionReason = rejectionReason;
+        return this;
+    }
+
+    CaseStateBuilder failureMessage(String failureMessage) {
+        this.failureMessage = failureMessage;
+        return this;
+    }
+
+    CaseStateBuilder stats(ProcessingStats stats) {
+        this.stats = stats;
+        return this;
+    }
+
+    CaseStateBuilder pendingDraft(DraftResult pendingDraft) {
+        this.pendingDraft = pendingDraft;
+        return this;
+    }
+
+    CaseStateBuilder citationCheck(CitationCheck citationCheck) {
+        this.citationCheck = citationCheck;
+        return this;
+    }
+
+    CaseStateBuilder similarCases(List<SimilarCase> similarCases) {
+        this.similarCases = similarCases;
+        return this;
+    }
+
+    CaseStateBuilder statusChangedAt(Instant statusChangedAt) {
+        this.statusChangedAt = statusChangedAt;
+        return this;
+    }
+
+    CaseStateBuilder tokenUsage(TokenUsage tokenUsage) {
+        this.tokenUsage = tokenUsage;
+        return this;
+    }
+
+    CaseStateBuilder draftRevisions(List<DraftRevision> draftRevisions) {
+        this.draftRevisions = draftRevisions;
+        return this;
+    }
+
+    CaseState build() {
+        return new CaseState(caseNumber, status, screening, secretariat, audit, draft, rejectionReason, failureMessage,
+            stats, pendingDraft, citationCheck, similarCases, statusChangedAt, tokenUsage, draftRevisions);
+    }
+}
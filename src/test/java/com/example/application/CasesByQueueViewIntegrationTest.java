@@ -6,9 +6,11 @@ import com.example.domain.*;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import static com.example.application.CaseStateBuilder.caseState;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class CasesByQueueViewIntegrationTest extends TestKitSupport {
@@ -23,24 +25,18 @@ public class CasesByQueueViewIntegrationTest extends TestKitSupport {
     public void shouldFilterByStatus() {
         var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
 
-        var awaitingCase = new CaseState(
-            "CASE-2024-020",
-            CaseStatus.AWAITING_HUMAN_APPROVAL,
-            new ScreeningResult(ProcedureType.ORDINARY, Urgency.HIGH, true, List.of()),
-            new SecretariatResult(List.of("Subpoena")),
-            new AuditResult(true, List.of()),
-            new DraftResult("Draft", List.of("Art. 927")),
-            null, null
-        );
-        var publishedCase = new CaseState(
-            "CASE-2024-021",
-            CaseStatus.PUBLISHED,
-            new ScreeningResult(ProcedureType.SUMMARY, Urgency.LOW, true, List.of()),
-            new SecretariatResult(List.of("Deadline")),
-            new AuditResult(true, List.of()),
-            new DraftResult("Final", List.of("Art. 477")),
-            null, null
-        );
+        var awaitingCase = caseState("CASE-2024-020", CaseStatus.AWAITING_HUMAN_APPROVAL)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.HIGH, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Subpoena")))
+            .audit(new AuditResult(true, List.of()))
+            .draft(new DraftResult("Draft", List.of("Art. 927")))
+            .build();
+        var publishedCase = caseState("CASE-2024-021", CaseStatus.PUBLISHED)
+            .screening(new ScreeningResult(ProcedureType.SUMMARY, Urgency.LOW, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Deadline")))
+            .audit(new AuditResult(true, List.of()))
+            .draft(new DraftResult("Final", List.of("Art. 477")))
+            .build();
 
         messages.publish(awaitingCase, "wf-queue-1");
         messages.publish(publishedCase, "wf-queue-2");
@@ -66,20 +62,14 @@ public class CasesByQueueViewIntegrationTest extends TestKitSupport {
     public void shouldListAllCases() {
         var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
 
-        var case1 = new CaseState(
-            "CASE-2024-022",
-            CaseStatus.SCREENING_COMPLETE,
-            new ScreeningResult(ProcedureType.FAST_TRACK, Urgency.URGENT, true, List.of()),
-            null, null, null, null, null
-        );
-        var case2 = new CaseState(
-            "CASE-2024-023",
-            CaseStatus.DRAFTING,
-            new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of()),
-            new SecretariatResult(List.of("Subpoena")),
-            new AuditResult(true, List.of()),
-            null, null, null
-        );
+        var case1 = caseState("CASE-2024-022", CaseStatus.SCREENING_COMPLETE)
+            .screening(new ScreeningResult(ProcedureType.FAST_TRACK, Urgency.URGENT, true, List.of()))
+            .build();
+        var case2 = caseState("CASE-2024-023", CaseStatus.DRAFTING)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Subpoena")))
+            .audit(new AuditResult(true, List.of()))
+            .build();
 
         messages.publish(case1, "wf-queue-3");
         messages.publish(case2, "wf-queue-4");
@@ -99,4 +89,39 @@ public class CasesByQueueViewIntegrationTest extends TestKitSupport {
                     .contains("CASE-2024-022", "CASE-2024-023");
             });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldListInboxByPriorityAndAge() {
+        var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
+        var start = Instant.parse("2024-03-01T09:00:00Z");
+
+        messages.publish(auditFailedCase("CASE-2024-024", Urgency.URGENT, start.plusSeconds(120)), "wf-queue-5");
+        messages.publish(auditFailedCase("CASE-2024-025", Urgency.LOW, start), "wf-queue-6");
+        messages.publish(auditFailedCase("CASE-2024-026", Urgency.URGENT, start.plusSeconds(60)), "wf-queue-7");
+        messages.publish(auditFailedCase("CASE-2024-027", Urgency.HIGH, start), "wf-queue-8");
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                var result = componentClient
+                    .forView()
+                    .method(CasesByQueueView::getInbox)
+                    .invoke(new CasesByQueueView.InboxRequest("AUDIT_FAILED", 3));
+
+                assertThat(result.entries())
+                    .extracting(CasesByQueueView.CaseQueueEntry::caseNumber)
+                    .containsExactly("CASE-2024-026", "CASE-2024-024", "CASE-2024-027");
+                assertThat(result.entries().getFirst().priority()).isEqualTo(0);
+            });
+    }
+
+    private static CaseState auditFailedCase(String caseNumber, Urgency urgency, Instant enteredStatusAt) {
+        return caseState(caseNumber, CaseStatus.AUDIT_FAILED)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, urgency, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Subpoena")))
+            .audit(new AuditResult(false, List.of("Missing signature")))
+            .statusChangedAt(enteredStatusAt)
+            .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.application;
+
+import com.example.domain.CitedSource;
+import com.example.domain.JurisprudenceService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentJurisprudenceServiceTest {
+
+    /** Answers each query with its sources, sleeping or failing for the queries configured to. */
+    private static class ScriptedJurisprudence implements JurisprudenceService {
+        private final Map<String, List<String>> sources;
+        private final Map<String, Duration> delays;
+        private final Set<String> failing;
+        private final Set<String> searched = ConcurrentHashMap.newKeySet();
+
+        ScriptedJurisprudence(Map<String, List<String>> sources, Map<String, Duration> delays, Set<String> failing) {
+            this.sources = sources;
+            this.delays = delays;
+            this.failing = failing;
+        }
+
+        @Override
+        public List<CitedSource> searchJurisprudence(String query) {
+            searched.add(query);
+            var delay = delays.get(query);
+            if (delay != null) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted");
+                }
+            }
+            if (failing.contains(query)) {
+                throw new IllegalStateException("search failed for " + query);
+            }
+            return sources.getOrDefault(query, List.of()).stream()
+                .map(source -> new CitedSource("Text of " + source, source))
+                .toList();
+        }
+
+        @Override
+        public List<String> knownSources() {
+            return List.of();
+        }
+    }
+
+    private static ConcurrentJurisprudenceService service(ScriptedJurisprudence delegate, int maxQueries) {
+        return new ConcurrentJurisprudenceService(
+            delegate, new JurisprudenceBatchSettings(maxQueries, Duration.ofMillis(500)));
+    }
+
+    private static List<String> sourcesOf(List<CitedSource> results) {
+        return results.stream().map(CitedSource::source).toList();
+    }
+
+    @Test
+    public void shouldMergeResultsRankByRankAndListEachSourceOnce() {
+        var delegate = new ScriptedJurisprudence(Map.of(
+            "liability", List.of("Art. 927", "STJ-331", "Art. 186"),
+            "damages", List.of("STJ-331", "Art. 944"),
+            "deadline", List.of("Art. 335")),
+            Map.of("liability", Duration.ofMillis(50)), Set.of());
+
+        var results = service(delegate, 5).searchJurisprudenceBatch(List.of("liability", " damages ", "deadline", "damages"));
+
+        assertThat(sourcesOf(results)).containsExactly("Art. 927", "STJ-331", "Art. 335", "Art. 944", "Art. 186");
+        assertThat(results.get(0).content()).isEqualTo("Text of Art. 927");
+    }
+
+    @Test
+    public void shouldReportQueriesBeyondTheLimitAsUnavailable() {
+        var delegate = new ScriptedJurisprudence(Map.of(
+            "liability", List.of("Art. 927"),
+            "damages", List.of("Art. 944"),
+            "deadline", List.of("Art. 335")),
+            Map.of(), Set.of());
+
+        var results = service(delegate, 2).searchJurisprudenceBatch(List.of("liability", "damages", "deadline"));
+
+        assertThat(sourcesOf(results)).containsExactly("Art. 927", "Art. 944", "UNAVAILABLE");
+        assertThat(results.getLast().content()).contains("deadline").doesNotContain("liability");
+        assertThat(delegate.searched).containsExactlyInAnyOrder("liability", "damages");
+    }
+
+    @Test
+    public void shouldReportQueriesThatTimeOutOrFailAsUnavailable() {
+        var delegate = new ScriptedJurisprudence(Map.of(
+            "liability", List.of("Art. 927"),
+            "damages", List.of("Art. 944"),
+            "deadline", List.of("Art. 335")),
+            Map.of("damages", Duration.ofSeconds(10)), Set.of("deadline"));
+
+        long start = System.nanoTime();
+        var results = service(delegate, 5).searchJurisprudenceBatch(List.of("liability", "damages", "deadline"));
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+        assertThat(sourcesOf(results)).containsExactly("Art. 927", "UNAVAILABLE");
+        assertThat(results.getLast().content())
+            .startsWith("UNAVAILABLE: no jurisprudence could be retrieved for ")
+            .contains("damages", "deadline")
+            .doesNotContain("liability");
+    }
+
+    @Test
+    public void shouldReturnNothingForAnEmptyBatch() {
+        var delegate = new ScriptedJurisprudence(Map.of(), Map.of(), Set.of());
+
+        assertThat(service(delegate, 5).searchJurisprudenceBatch(List.of(" ", ""))).isEmpty();
+        assertThat(delegate.searched).isEmpty();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class FaultProfileTest {
+
+    private static FaultProfile latency(FaultProfile.Distribution distribution, long latencyMillis, double sigma,
+                                        long slowLatencyMillis, double slowRate) {
+        return new FaultProfile(distribution, latencyMillis, sigma, slowLatencyMillis, slowRate, 0, 0, 0, 0);
+    }
+
+    private static FaultProfile outage(double outageFraction) {
+        return new FaultProfile(FaultProfile.Distribution.FIXED, 0, 0, 0, 0, 0, 0, 0, outageFraction);
+    }
+
+    private static long[] samples(FaultProfile profile, int count) {
+        var random = new SplittableRandom(42);
+        return LongStream.generate(() -> profile.sampleLatencyMillis(random)).limit(count).toArray();
+    }
+
+    @Test
+    public void shouldAddTheFixedLatency() {
+        assertThat(samples(latency(FaultProfile.Distribution.FIXED, 250, 0, 0, 0), 100)).containsOnly(250L);
+    }
+
+    @Test
+    public void shouldDrawLogNormalLatencyAroundTheMedian() {
+        var sorted = samples(latency(FaultProfile.Distribution.LOG_NORMAL, 400, 0.5, 0, 0), 10_001);
+        Arrays.sort(sorted);
+
+        assertThat((double) sorted[5_000]).isCloseTo(400, within(20.0));
+        assertThat(sorted[0]).isPositive().isLessThan(400);
+        assertThat(sorted[10_000]).isGreaterThan(400);
+    }
+
+    @Test
+    public void shouldCapTheLogNormalTail() {
+        var samples = samples(latency(FaultProfile.Distribution.LOG_NORMAL, 10_000, 20, 0, 0), 1_000);
+
+        assertThat(LongStream.of(samples).min().orElseThrow()).isNotNegative();
+        assertThat(LongStream.of(samples).max().orElseThrow()).isEqualTo(FaultProfile.MAX_SAMPLED_LATENCY_MILLIS);
+    }
+
+    @Test
+    public void shouldAddTheSlowLatencyAtTheSlowRate() {
+        var samples = samples(latency(FaultProfile.Distribution.BIMODAL, 50, 0, 5_000, 0.2), 10_000);
+
+        assertThat(samples).containsOnly(50L, 5_000L);
+        assertThat(LongStream.of(samples).filter(millis -> millis == 5_000).count() / 10_000.0).isCloseTo(0.2, within(0.02));
+    }
+
+    @Test
+    public void shouldKeepTheSameKeysDownWhileTheProfileIsActive() {
+        var profile = outage(0.25);
+        var keys = IntStream.range(0, 10_000).mapToObj(i -> "CASE-2024-" + i).toList();
+
+        var down = keys.stream().filter(profile::inOutage).toList();
+
+        assertThat(keys.stream().filter(outage(0.25)::inOutage).toList()).isEqualTo(down);
+        assertThat(down.size() / 10_000.0).isCloseTo(0.25, within(0.03));
+        assertThat(keys.stream().filter(outage(0.5)::inOutage).toList()).containsAll(down);
+        assertThat(keys).noneMatch(outage(0)::inOutage);
+        assertThat(keys).allMatch(outage(1)::inOutage);
+    }
+
+    @Test
+    public void shouldRejectRatesOutsideZeroToOne() {
+        assertThatThrownBy(() -> outage(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> latency(FaultProfile.Distribution.BIMODAL, 0, 0, 0, -0.1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
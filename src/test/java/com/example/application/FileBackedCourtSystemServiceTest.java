@@ -0,0 +1,114 @@
+package com.example.application;
+
+import com.example.domain.CaseDocuments;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FileBackedCourtSystemServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private static CaseDocuments documents(String caseNumber, String content, String... attachments) {
+        return new CaseDocuments(caseNumber, content, List.of(attachments));
+    }
+
+    @Test
+    public void shouldReadBackWhatTheWriterWrote() throws IOException {
+        var first = documents("CASE-2024-001", "Plaintiff: João Araújo\nClaim for damages.", "petition.pdf", "procuração.pdf");
+        var second = documents("CASE-2024-002", "", "");
+        var third = documents("CASE-2024-003", "No attachments.");
+        try (var writer = new CaseDataFile.Writer(directory)) {
+            writer.append(first);
+            writer.append(second);
+            writer.append(third);
+        }
+
+        var service = new FileBackedCourtSystemService(directory);
+
+        assertThat(service.size()).isEqualTo(3);
+        assertThat(service.searchCase("CASE-2024-001")).isEqualTo(first);
+        assertThat(service.searchCase("CASE-2024-002")).isEqualTo(second);
+        assertThat(service.searchCase("CASE-2024-003")).isEqualTo(third);
+        assertThat(service.searchCase("CASE-2024-000").isPlaceholder()).isTrue();
+        assertThat(service.searchCase("CASE-2024-004").isPlaceholder()).isTrue();
+        var tooLong = "CASE-2024-001-" + "9".repeat(40);
+        assertThat(service.searchCase(tooLong)).isEqualTo(CaseDocuments.notFound(tooLong));
+    }
+
+    @Test
+    public void shouldStartARecordThatDoesNotFitInTheNextSegment() throws IOException {
+        // 58-byte records (74 with the attachment): the third and the fourth each start a new segment
+        var cases = List.of(
+            documents("CASE-1", "a".repeat(50)),
+            documents("CASE-2", "b".repeat(50)),
+            documents("CASE-3", "c".repeat(50)),
+            documents("CASE-4", "d".repeat(50), "attachment.pdf"));
+        try (var writer = new CaseDataFile.Writer(directory, 128)) {
+            for (var documents : cases) {
+                writer.append(documents);
+            }
+        }
+
+        var service = new FileBackedCourtSystemService(directory);
+
+        assertThat(Files.size(directory.resolve(CaseDataFile.DATA_FILE))).isEqualTo(2 * 128 + 74);
+        for (var documents : cases) {
+            assertThat(service.searchCase(documents.caseNumber())).isEqualTo(documents);
+        }
+    }
+
+    @Test
+    public void shouldRejectRecordsOutOfOrderOrLargerThanASegment() throws IOException {
+        try (var writer = new CaseDataFile.Writer(directory, 128)) {
+            writer.append(documents("CASE-2", "text"));
+
+            assertThatThrownBy(() -> writer.append(documents("CASE-1", "text"))).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> writer.append(documents("CASE-2", "text"))).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> writer.append(documents("CASE-3", "x".repeat(121)))).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> writer.append(documents("CASE-4-" + "9".repeat(40), "text")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("longer than");
+            assertThat(writer.count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void shouldRoundTripGeneratedCases() throws IOException {
+        var generator = new CaseDataGenerator(7, 50);
+        var cases = IntStream.rangeClosed(1, 50).mapToObj(generator::generate).toList();
+        try (var writer = new CaseDataFile.Writer(directory, 64 * 1024)) {
+            for (var documents : cases) {
+                writer.append(documents);
+            }
+        }
+
+        var service = new FileBackedCourtSystemService(directory);
+
+        for (var documents : cases) {
+            assertThat(service.searchCase(documents.caseNumber())).isEqualTo(documents);
+        }
+    }
+
+    @Test
+    public void shouldWidenCaseNumbersPastSevenDigitsAndKeepThemSorted() {
+        var generator = new CaseDataGenerator(7, 10_000_000);
+
+        var first = generator.generate(1).caseNumber();
+        var last = generator.generate(10_000_000).caseNumber();
+
+        assertThat(first).isEqualTo("CASE-2020-00000001");
+        assertThat(last).endsWith("-10000000");
+        assertThat(new CaseDataGenerator(7, 1_000).generate(1).caseNumber()).isEqualTo("CASE-2020-0000001");
+        assertThat(first.compareTo(last)).isNegative();
+    }
+}
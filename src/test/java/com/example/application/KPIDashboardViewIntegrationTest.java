@@ -7,8 +7,10 @@ import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import static com.example.application.CaseStateBuilder.caseState;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class KPIDashboardViewIntegrationTest extends TestKitSupport {
@@ -23,15 +25,12 @@ public class KPIDashboardViewIntegrationTest extends TestKitSupport {
     public void shouldTrackKPIMetrics() {
         var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
 
-        var state = new CaseState(
-            "CASE-2024-030",
-            CaseStatus.AWAITING_HUMAN_APPROVAL,
-            new ScreeningResult(ProcedureType.ORDINARY, Urgency.HIGH, true, List.of()),
-            new SecretariatResult(List.of("Subpoena")),
-            new AuditResult(true, List.of()),
-            new DraftResult("Draft", List.of("Art. 927")),
-            null, null
-        );
+        var state = caseState("CASE-2024-030", CaseStatus.AWAITING_HUMAN_APPROVAL)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.HIGH, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Subpoena")))
+            .audit(new AuditResult(true, List.of()))
+            .draft(new DraftResult("Draft", List.of("Art. 927")))
+            .build();
 
         messages.publish(state, "wf-kpi-1");
 
@@ -61,18 +60,12 @@ public class KPIDashboardViewIntegrationTest extends TestKitSupport {
     public void shouldFilterIncompleteDocuments() {
         var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
 
-        var completeCase = new CaseState(
-            "CASE-2024-031",
-            CaseStatus.SCREENING_COMPLETE,
-            new ScreeningResult(ProcedureType.ORDINARY, Urgency.LOW, true, List.of()),
-            null, null, null, null, null
-        );
-        var incompleteCase = new CaseState(
-            "CASE-2024-032",
-            CaseStatus.SCREENING_COMPLETE,
-            new ScreeningResult(ProcedureType.SUMMARY, Urgency.HIGH, false, List.of("Power of attorney", "ID copy")),
-            null, null, null, null, null
-        );
+        var completeCase = caseState("CASE-2024-031", CaseStatus.SCREENING_COMPLETE)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.LOW, true, List.of()))
+            .build();
+        var incompleteCase = caseState("CASE-2024-032", CaseStatus.SCREENING_COMPLETE)
+            .screening(new ScreeningResult(ProcedureType.SUMMARY, Urgency.HIGH, false, List.of("Power of attorney", "ID copy")))
+            .build();
 
         messages.publish(completeCase, "wf-kpi-2");
         messages.publish(incompleteCase, "wf-kpi-3");
@@ -96,22 +89,16 @@ public class KPIDashboardViewIntegrationTest extends TestKitSupport {
     public void shouldFilterFailedAudits() {
         var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
 
-        var passedCase = new CaseState(
-            "CASE-2024-033",
-            CaseStatus.AUDIT_PASSED,
-            new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of()),
-            new SecretariatResult(List.of("Subpoena")),
-            new AuditResult(true, List.of()),
-            null, null, null
-        );
-        var failedCase = new CaseState(
-            "CASE-2024-034",
-            CaseStatus.AUDIT_FAILED,
-            new ScreeningResult(ProcedureType.FAST_TRACK, Urgency.URGENT, true, List.of()),
-            new SecretariatResult(List.of("Deadline")),
-            new AuditResult(false, List.of("Contradictory dates", "Missing signature")),
-            null, null, null
-        );
+        var passedCase = caseState("CASE-2024-033", CaseStatus.AUDIT_PASSED)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Subpoena")))
+            .audit(new AuditResult(true, List.of()))
+            .build();
+        var failedCase = caseState("CASE-2024-034", CaseStatus.AUDIT_FAILED)
+            .screening(new ScreeningResult(ProcedureType.FAST_TRACK, Urgency.URGENT, true, List.of()))
+            .secretariat(new SecretariatResult(List.of("Deadline")))
+            .audit(new AuditResult(false, List.of("Contradictory dates", "Missing signature")))
+            .build();
 
         messages.publish(passedCase, "wf-kpi-4");
         messages.publish(failedCase, "wf-kpi-5");
@@ -132,4 +119,63 @@ public class KPIDashboardViewIntegrationTest extends TestKitSupport {
                 assertThat(entry.auditIssueCount()).isEqualTo(2);
             });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldTrackScreeningFastPath() {
+        var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
+
+        var fastPathCase = caseState("CASE-2024-035", CaseStatus.SCREENING_COMPLETE)
+            .screening(new ScreeningResult(ProcedureType.SUMMARY, Urgency.MEDIUM, true, List.of()))
+            .stats(new ProcessingStats(true, false, null, 0))
+            .build();
+
+        messages.publish(fastPathCase, "wf-kpi-6");
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                var result = componentClient
+                    .forView()
+                    .method(KPIDashboardView::getAll)
+                    .invoke();
+
+                var entry = result.entries().stream()
+                    .filter(e -> e.caseNumber().equals("CASE-2024-035"))
+                    .findFirst().orElseThrow();
+                assertThat(entry.screened()).isTrue();
+                assertThat(entry.screeningFastPath()).isTrue();
+                assertThat(KPIDashboardView.KPISummary.of(result.entries()).screeningFastPathCases()).isGreaterThanOrEqualTo(1);
+            });
+    }
+
+    @Test
+    public void shouldTrackTokenUsage() {
+        var messages = testKit.getWorkflowIncomingMessages(CaseProcessingWorkflow.class);
+
+        var overBudgetCase = caseState("CASE-2024-036", CaseStatus.BUDGET_EXCEEDED)
+            .screening(new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of()))
+            .tokenUsage(new TokenUsage(Map.of("screening", 1200L, "revise-draft", 4800L), 0, "revise-draft"))
+            .build();
+
+        messages.publish(overBudgetCase, "wf-kpi-7");
+
+        Awaitility.await()
+            .ignoreExceptions()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                var result = componentClient
+                    .forView()
+                    .method(KPIDashboardView::getAll)
+                    .invoke();
+
+                var entry = result.entries().stream()
+                    .filter(e -> e.caseNumber().equals("CASE-2024-036"))
+                    .findFirst().orElseThrow();
+                assertThat(entry.tokensUsed()).isEqualTo(6000L);
+                var summary = KPIDashboardView.KPISummary.of(result.entries());
+                assertThat(summary.tokensUsed()).isGreaterThanOrEqualTo(6000L);
+                assertThat(summary.budgetExceededCases()).isGreaterThanOrEqualTo(1);
+            });
+    }
+}
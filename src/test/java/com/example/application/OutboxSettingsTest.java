@@ -0,0 +1,34 @@
+package com.example.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OutboxSettingsTest {
+
+    private static final OutboxSettings SETTINGS =
+        new OutboxSettings(Duration.ofSeconds(1), Duration.ofMillis(200), 100, Duration.ofSeconds(1), Duration.ofMinutes(5));
+
+    @Test
+    public void shouldDrawRetryDelaysUpToTheExponentialCap() {
+        for (int attempts = 0; attempts <= 8; attempts++) {
+            long cap = 1_000L << attempts;
+            int failedAttempts = attempts;
+            var delays = IntStream.range(0, 200).mapToLong(i -> SETTINGS.retryDelay(failedAttempts).toMillis())
+                .summaryStatistics();
+
+            assertThat(delays.getMin()).isNotNegative();
+            assertThat(delays.getMax()).isLessThanOrEqualTo(cap).isGreaterThan(cap / 2);
+        }
+    }
+
+    @Test
+    public void shouldNeverWaitLongerThanTheMaximum() {
+        for (int attempts : new int[] {9, 20, 63, Integer.MAX_VALUE}) {
+            assertThat(SETTINGS.retryDelay(attempts)).isLessThanOrEqualTo(Duration.ofMinutes(5));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.application;
+
+import akka.javasdk.testkit.KeyValueEntityTestKit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PublicationOutboxEntityTest {
+
+    private static final List<String> ACTS = List.of("Subpoena", "Deadline notification");
+
+    @Test
+    public void shouldKeepTheFirstEnqueuedPublicationAndItsKey() {
+        var testKit = KeyValueEntityTestKit.of("wf-1", PublicationOutboxEntity::new);
+
+        testKit.method(PublicationOutboxEntity::enqueue).invoke(new PublicationOutboxEntity.Enqueue("CASE-1", ACTS, 1_000));
+        testKit.method(PublicationOutboxEntity::enqueue).invoke(new PublicationOutboxEntity.Enqueue("CASE-1", List.of("Other"), 2_000));
+
+        var entry = testKit.getState();
+        assertThat(entry.idempotencyKey()).isEqualTo("wf-1:publish");
+        assertThat(entry.acts()).isEqualTo(ACTS);
+        assertThat(entry.nextAttemptAtMillis()).isEqualTo(1_000);
+        assertThat(entry.attempts()).isZero();
+    }
+
+    @Test
+    public void shouldRescheduleFailedAttemptsUnderTheSameKey() {
+        var testKit = KeyValueEntityTestKit.of("wf-1", PublicationOutboxEntity::new);
+        testKit.method(PublicationOutboxEntity::enqueue).invoke(new PublicationOutboxEntity.Enqueue("CASE-1", ACTS, 1_000));
+
+        testKit.method(PublicationOutboxEntity::markFailed).invoke(new PublicationOutboxEntity.FailedAttempt("timeout", 3_000));
+        testKit.method(PublicationOutboxEntity::markFailed).invoke(new PublicationOutboxEntity.FailedAttempt("refused", 7_000));
+
+        var entry = testKit.getState();
+        assertThat(entry.idempotencyKey()).isEqualTo("wf-1:publish");
+        assertThat(entry.attempts()).isEqualTo(2);
+        assertThat(entry.nextAttemptAtMillis()).isEqualTo(7_000);
+        assertThat(entry.lastError()).isEqualTo("refused");
+        assertThat(entry.delivered()).isFalse();
+    }
+
+    @Test
+    public void shouldIgnoreLateFailuresAndRedeliveriesOnceDelivered() {
+        var testKit = KeyValueEntityTestKit.of("wf-1", PublicationOutboxEntity::new);
+        testKit.method(PublicationOutboxEntity::enqueue).invoke(new PublicationOutboxEntity.Enqueue("CASE-1", ACTS, 1_000));
+        testKit.method(PublicationOutboxEntity::markDelivered).invoke();
+        var delivered = testKit.getState();
+
+        testKit.method(PublicationOutboxEntity::markFailed).invoke(new PublicationOutboxEntity.FailedAttempt("timeout", 3_000));
+        testKit.method(PublicationOutboxEntity::markDelivered).invoke();
+
+        assertThat(delivered.delivered()).isTrue();
+        assertThat(delivered.attempts()).isEqualTo(1);
+        assertThat(testKit.getState()).isEqualTo(delivered);
+    }
+
+    @Test
+    public void shouldRejectUpdatesBeforeAnythingIsEnqueued() {
+        var testKit = KeyValueEntityTestKit.of("wf-1", PublicationOutboxEntity::new);
+
+        assertThat(testKit.method(PublicationOutboxEntity::markDelivered).invoke().isError()).isTrue();
+        assertThat(testKit.method(PublicationOutboxEntity::markFailed)
+            .invoke(new PublicationOutboxEntity.FailedAttempt("timeout", 3_000)).isError()).isTrue();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.application;
+
+import com.example.domain.CaseDocuments;
+import com.example.domain.CourtSystemService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResilientCourtSystemServiceTest {
+
+    private static class FailingCourtSystem implements CourtSystemService {
+        @Override
+        public CaseDocuments searchCase(String caseNumber) {
+            throw new IllegalStateException("connection refused");
+        }
+
+        @Override
+        public void updateCase(String caseNumber, List<String> acts) {
+            throw new IllegalStateException("connection refused");
+        }
+    }
+
+    private static ResilientCourtSystemService withOpenBreaker() {
+        var guard = new DependencyGuard("Court system",
+            new CircuitBreaker(1, Duration.ofMinutes(1)), new Bulkhead(4, Duration.ZERO), Duration.ofSeconds(10));
+        var service = new ResilientCourtSystemService(new FailingCourtSystem(), guard);
+        assertThatThrownBy(() -> service.searchCase("CASE-1")).hasMessage("connection refused");
+        assertThat(guard.status().state()).isEqualTo(CircuitBreaker.State.OPEN);
+        return service;
+    }
+
+    @Test
+    public void shouldExplainTheOutageToAgentsWhenTheBreakerIsOpen() {
+        var documents = withOpenBreaker().searchCase("CASE-2");
+
+        assertThat(documents.caseNumber()).isEqualTo("CASE-2");
+        assertThat(documents.content()).startsWith("UNAVAILABLE: Court system is temporarily unavailable");
+        assertThat(documents.attachedDocuments()).isEmpty();
+        assertThat(documents.isPlaceholder()).isTrue();
+    }
+
+    @Test
+    public void shouldFailCaseLookupsOfOtherCallersWhenTheBreakerIsOpen() {
+        var service = withOpenBreaker();
+
+        assertThatThrownBy(() -> service.getCase("CASE-2"))
+            .isInstanceOf(DependencyUnavailableException.class)
+            .hasMessageContaining("circuit open");
+        assertThatThrownBy(() -> service.publishActs("key-1", "CASE-2", List.of("Subpoena")))
+            .isInstanceOf(DependencyUnavailableException.class);
+    }
+
+    @Test
+    public void shouldReturnTheCaseWhileTheBreakerIsClosed() {
+        var guard = new DependencyGuard("Court system",
+            new CircuitBreaker(1, Duration.ofMinutes(1)), new Bulkhead(4, Duration.ZERO), Duration.ofSeconds(10));
+        var service = new ResilientCourtSystemService(new CourtSystemServiceStub(), guard);
+
+        assertThat(service.getCase("CASE-1").content()).contains("Plaintiff: Maria Silva");
+    }
+}
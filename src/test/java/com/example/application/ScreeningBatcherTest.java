@@ -0,0 +1,96 @@
+package com.example.application;
+
+import com.example.domain.ProcedureType;
+import com.example.domain.Urgency;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ScreeningBatcherTest {
+
+    private final List<List<String>> sent = new CopyOnWriteArrayList<>();
+
+    private static String reply(List<String> caseNumbers) {
+        return caseNumbers.stream()
+            .map(caseNumber -> """
+                {"caseNumber": "%s", "procedureType": "SUMMARY", "urgency": "HIGH", "documentsComplete": true, "missingDocuments": []}"""
+                .formatted(caseNumber))
+            .collect(Collectors.joining(",", "{\"results\": [", "]}"));
+    }
+
+    /** Answers every batch correctly and meters 1001 tokens for it. */
+    private ScreeningBatcher.Sender answering() {
+        return (caseNumbers, meter) -> {
+            sent.add(caseNumbers);
+            meter.add(1001);
+            return CompletableFuture.completedFuture(reply(caseNumbers));
+        };
+    }
+
+    @Test
+    public void shouldSendABatchAsSoonAsItIsFull() throws Exception {
+        var batcher = new ScreeningBatcher(2, 60_000, 1500, new StructuredOutputStats());
+
+        var first = batcher.submit("CASE-1", answering()).toCompletableFuture();
+        assertThat(first).isNotDone();
+        var second = batcher.submit("CASE-2", answering()).toCompletableFuture();
+
+        assertThat(sent).containsExactly(List.of("CASE-1", "CASE-2"));
+        assertThat(first.get(1, TimeUnit.SECONDS).result().procedureType()).isEqualTo(ProcedureType.SUMMARY);
+        assertThat(second.get(1, TimeUnit.SECONDS).result().urgency()).isEqualTo(Urgency.HIGH);
+        assertThat(first.get().tokens()).as("each case pays half, rounded up").isEqualTo(501);
+        assertThat(batcher.stats()).isEqualTo(new ScreeningBatcher.Stats(1, 2, 0, 2.0));
+    }
+
+    @Test
+    public void shouldSendAPartialBatchOnceMaxWaitPasses() throws Exception {
+        var batcher = new ScreeningBatcher(8, 50, 1500, new StructuredOutputStats());
+
+        long start = System.nanoTime();
+        var screened = batcher.submit("CASE-1", answering()).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(40);
+        assertThat(sent).containsExactly(List.of("CASE-1"));
+        assertThat(screened.tokens()).isEqualTo(1001);
+    }
+
+    @Test
+    public void shouldRejectTheWholeBatchWhenOneResultIsMissing() {
+        var batcher = new ScreeningBatcher(2, 60_000, 1500, new StructuredOutputStats());
+        ScreeningBatcher.Sender missingSecond = (caseNumbers, meter) -> {
+            meter.add(1000);
+            return CompletableFuture.completedFuture(reply(caseNumbers.subList(0, 1)));
+        };
+
+        var first = batcher.submit("CASE-1", missingSecond).toCompletableFuture();
+        var second = batcher.submit("CASE-2", missingSecond).toCompletableFuture();
+
+        for (var result : List.of(first, second)) {
+            assertThatThrownBy(result::get)
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(ScreeningBatcher.BatchRejectedException.class,
+                    rejected -> assertThat(rejected.tokens()).isEqualTo(500))
+                .hasRootCauseInstanceOf(StructuredOutputException.class);
+        }
+        assertThat(batcher.stats().rejectedBatches()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRejectTheBatchWhenTheRequestFails() {
+        var batcher = new ScreeningBatcher(1, 60_000, 1500, new StructuredOutputStats());
+
+        var result = batcher.submit("CASE-1", (caseNumbers, meter) ->
+            CompletableFuture.failedFuture(new IllegalStateException("model unavailable"))).toCompletableFuture();
+
+        assertThatThrownBy(result::get).hasCauseInstanceOf(ScreeningBatcher.BatchRejectedException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.application;
+
+import com.example.domain.DraftResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpeculativeDraftsTest {
+
+    private static SpeculativeDrafts.InFlight inFlight(CompletableFuture<DraftResult> future) {
+        return new SpeculativeDrafts.InFlight(future, new TokenMeter(0), System.nanoTime());
+    }
+
+    @Test
+    public void shouldLetARetriedStepAdoptTheRunningDraft() {
+        var drafts = new SpeculativeDrafts(Duration.ofMinutes(1));
+        var first = drafts.startOrAdopt("wf-1", () -> inFlight(new CompletableFuture<>()));
+
+        var adopted = drafts.startOrAdopt("wf-1", () -> inFlight(new CompletableFuture<>()));
+
+        assertThat(adopted).isSameAs(first);
+        assertThat(drafts.take("wf-1")).isSameAs(first);
+        assertThat(drafts.take("wf-1")).isNull();
+    }
+
+    @Test
+    public void shouldStartAgainAfterAFailedDraft() {
+        var drafts = new SpeculativeDrafts(Duration.ofMinutes(1));
+        var failed = drafts.startOrAdopt("wf-1", () -> inFlight(CompletableFuture.failedFuture(new RuntimeException("boom"))));
+
+        var next = drafts.startOrAdopt("wf-1",
+            () -> inFlight(CompletableFuture.completedFuture(new DraftResult("Draft", List.of()))));
+
+        assertThat(next).isNotSameAs(failed);
+        assertThat(next.future()).isCompleted();
+    }
+
+    @Test
+    public void shouldCancelDraftsOlderThanMaxAge() {
+        var drafts = new SpeculativeDrafts(Duration.ZERO);
+        var stale = drafts.startOrAdopt("wf-1", () -> inFlight(new CompletableFuture<>()));
+
+        drafts.startOrAdopt("wf-2", () -> inFlight(new CompletableFuture<>()));
+
+        assertThat(stale.future()).isCancelled();
+        assertThat(drafts.take("wf-1")).isNull();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.application;
+
+import com.example.domain.AuditResult;
+import com.example.domain.DraftResult;
+import com.example.domain.ProcedureType;
+import com.example.domain.ScreeningResult;
+import com.example.domain.Urgency;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StructuredOutputTest {
+
+    private final StructuredOutputStats stats = new StructuredOutputStats();
+
+    private long count(String type, StructuredOutputStats.Outcome outcome) {
+        return stats.snapshot().stream()
+            .filter(s -> s.type().equals(type))
+            .mapToLong(s -> switch (outcome) {
+                case CLEAN -> s.clean();
+                case REPAIRED -> s.repaired();
+                case FAILED -> s.failed();
+            })
+            .sum();
+    }
+
+    @Test
+    public void shouldParseACleanReplyWithoutRepairs() {
+        var result = StructuredOutput.of(AuditResult.class, stats).parse("{\"consistent\": true, \"issues\": []}");
+
+        assertThat(result.consistent()).isTrue();
+        assertThat(result.issues()).isEmpty();
+        assertThat(count("AuditResult", StructuredOutputStats.Outcome.CLEAN)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldExtractTheObjectFromAFencedBlockWithTrailingProse() {
+        var reply = """
+            Here is the audit:
+            ```json
+            {"consistent": false, "issues": ["Deadline before notification {see page 2}",],}
+            ```
+            Let me know if you need anything else.""";
+
+        var result = StructuredOutput.of(AuditResult.class, stats).parse(reply);
+
+        assertThat(result.consistent()).isFalse();
+        assertThat(result.issues()).containsExactly("Deadline before notification {see page 2}");
+        assertThat(count("AuditResult", StructuredOutputStats.Outcome.REPAIRED)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCoerceObjectValuedEnumsAndLooseScalars() {
+        var reply = """
+            {"procedure_type": {"value": "fast track"}, "Urgency": "high",
+             "documentsComplete": "no", "missingDocuments": "Proof of claimed value"}""";
+
+        var result = StructuredOutput.of(ScreeningResult.class, stats).parse(reply);
+
+        assertThat(result.procedureType()).isEqualTo(ProcedureType.FAST_TRACK);
+        assertThat(result.urgency()).isEqualTo(Urgency.HIGH);
+        assertThat(result.documentsComplete()).isFalse();
+        assertThat(result.missingDocuments()).containsExactly("Proof of claimed value");
+    }
+
+    @Test
+    public void shouldDefaultMissingListsAndRejectOtherMissingFields() {
+        var draft = StructuredOutput.of(DraftResult.class, stats).parse("{\"content\": \"Decision text\"}");
+        assertThat(draft.citations()).isEmpty();
+
+        assertThatThrownBy(() -> StructuredOutput.of(DraftResult.class, stats).parse("{\"citations\": []}"))
+            .isInstanceOf(StructuredOutputException.class)
+            .hasMessage("DraftResult.content missing");
+        assertThatThrownBy(() -> StructuredOutput.of(ScreeningResult.class, stats)
+            .parse("{\"procedureType\": \"APPEAL\", \"urgency\": \"LOW\", \"documentsComplete\": true}"))
+            .isInstanceOf(StructuredOutputException.class)
+            .hasMessageContaining("ScreeningResult.procedureType not one of");
+        assertThat(count("DraftResult", StructuredOutputStats.Outcome.FAILED)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRejectRepliesWithoutAnObject() {
+        var output = StructuredOutput.of(AuditResult.class, stats);
+
+        assertThatThrownBy(() -> output.parse("The case is consistent."))
+            .isInstanceOf(StructuredOutputException.class)
+            .hasMessage("AuditResult: no JSON object in reply");
+        assertThatThrownBy(() -> output.parse("{\"consistent\": true, \"issues\": [\"unterminated\""))
+            .isInstanceOf(StructuredOutputException.class)
+            .hasMessage("AuditResult: unterminated JSON object");
+        assertThatThrownBy(() -> output.parse(null)).isInstanceOf(StructuredOutputException.class);
+    }
+}
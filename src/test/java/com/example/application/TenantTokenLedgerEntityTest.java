@@ -0,0 +1,36 @@
+package com.example.application;
+
+import akka.javasdk.testkit.KeyValueEntityTestKit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TenantTokenLedgerEntityTest {
+
+    @Test
+    public void shouldCountEachChargeOnce() {
+        var testKit = KeyValueEntityTestKit.of(TenantTokenLedgerEntity::new);
+
+        testKit.method(TenantTokenLedgerEntity::charge).invoke(new TenantTokenLedgerEntity.Charge("wf-1:screening:0", 1200));
+        testKit.method(TenantTokenLedgerEntity::charge).invoke(new TenantTokenLedgerEntity.Charge("wf-1:screening:0", 1200));
+        testKit.method(TenantTokenLedgerEntity::charge).invoke(new TenantTokenLedgerEntity.Charge("wf-1:audit:1", 800));
+        testKit.method(TenantTokenLedgerEntity::charge).invoke(new TenantTokenLedgerEntity.Charge("wf-1:audit:2", 0));
+
+        assertThat(testKit.getState().tokens()).isEqualTo(2000);
+        assertThat(testKit.getState().recentCharges()).containsExactly("wf-1:screening:0", "wf-1:audit:1");
+    }
+
+    @Test
+    public void shouldKeepOnlyTheMostRecentChargeKeys() {
+        var testKit = KeyValueEntityTestKit.of(TenantTokenLedgerEntity::new);
+
+        for (int i = 0; i <= TenantTokenLedgerEntity.RECENT_CHARGES; i++) {
+            testKit.method(TenantTokenLedgerEntity::charge).invoke(new TenantTokenLedgerEntity.Charge("wf-" + i, 1));
+        }
+
+        assertThat(testKit.getState().tokens()).isEqualTo(TenantTokenLedgerEntity.RECENT_CHARGES + 1);
+        assertThat(testKit.getState().recentCharges())
+            .hasSize(TenantTokenLedgerEntity.RECENT_CHARGES)
+            .doesNotContain("wf-0");
+    }
+}
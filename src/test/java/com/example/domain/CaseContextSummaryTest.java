@@ -0,0 +1,42 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseContextSummaryTest {
+
+    @Test
+    public void shouldSummarizeCompleteState() {
+        var state = CaseState.create("CASE-2024-001")
+            .withScreening(new ScreeningResult(ProcedureType.SUMMARY, Urgency.HIGH, false, List.of("ID copy")))
+            .withSecretariat(new SecretariatResult(List.of("Subpoena for response")))
+            .withAuditPassed(new AuditResult(true, List.of()))
+            .withDraft(new DraftResult("Draft decision.", List.of("Civil Code Art. 927")));
+
+        assertThat(CaseContextSummary.of(state))
+            .contains("Case: CASE-2024-001")
+            .contains("procedure SUMMARY, urgency HIGH, documents incomplete (missing: ID copy)")
+            .contains("Secretariat acts: Subpoena for response")
+            .contains("Audit: consistent")
+            .contains("Previous draft: Draft decision.")
+            .contains("Previous citations: Civil Code Art. 927");
+    }
+
+    @Test
+    public void shouldSkipFieldsMissingFromPartialAgentReplies() {
+        var state = CaseState.create("CASE-2024-002")
+            .withScreening(new ScreeningResult(null, null, true, null))
+            .withSecretariat(new SecretariatResult(null))
+            .withAuditPassed(new AuditResult(true, null))
+            .withDraft(new DraftResult(null, null));
+
+        assertThat(CaseContextSummary.of(state))
+            .contains("Case: CASE-2024-002")
+            .doesNotContain("Secretariat acts")
+            .doesNotContain("Previous draft")
+            .doesNotContain("Previous citations");
+    }
+}
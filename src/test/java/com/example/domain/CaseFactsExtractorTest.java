@@ -0,0 +1,75 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseFactsExtractorTest {
+
+    private static final String CASE_TEXT = """
+        Case CASE-2024-001 - Civil Liability Claim
+        Plaintiff: Maria Silva
+        Defendant: Auto Insurance Corp.
+        Filed: 2024-11-15
+        Subject: Claim for damages arising from traffic accident on 2024-08-20.
+        Plaintiff alleges property damage of R$ 25,000 and moral damages of R$ 10.000,50.
+        Total claimed value: R$ 35,000.50
+        Defendant was notified on 2024-11-20.
+        Response deadline: 2024-12-05.
+        Attached: police report, medical report, vehicle repair estimate.
+        """;
+
+    @Test
+    public void shouldExtractHeaderDatesAndAttachments() {
+        var facts = CaseFactsExtractor.extract(CASE_TEXT);
+
+        assertThat(facts.title()).isEqualTo("Civil Liability Claim");
+        assertThat(facts.plaintiff()).isEqualTo("Maria Silva");
+        assertThat(facts.defendant()).isEqualTo("Auto Insurance Corp.");
+        assertThat(facts.hasParties()).isTrue();
+        assertThat(facts.filedDate()).isEqualTo(LocalDate.parse("2024-11-15"));
+        assertThat(facts.eventDate()).isEqualTo(LocalDate.parse("2024-08-20"));
+        assertThat(facts.notificationDate()).isEqualTo(LocalDate.parse("2024-11-20"));
+        assertThat(facts.responseDeadline()).isEqualTo(LocalDate.parse("2024-12-05"));
+        assertThat(facts.mentionedAttachments()).containsExactly("police report", "medical report", "vehicle repair estimate");
+        assertThat(facts.invalidDates()).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepTheStatedTotalApartFromTheClaimedAmounts() {
+        var facts = CaseFactsExtractor.extract(CASE_TEXT);
+
+        assertThat(facts.claimedAmounts()).containsExactly(new BigDecimal("25000"), new BigDecimal("10000.50"));
+        assertThat(facts.statedTotal()).isEqualByComparingTo("35000.50");
+        assertThat(facts.totalClaimed()).isEqualByComparingTo("35000.50");
+    }
+
+    @Test
+    public void shouldParseBothAmountNotations() {
+        assertThat(CaseFactsExtractor.parseAmount("25,000.00")).isEqualByComparingTo("25000.00");
+        assertThat(CaseFactsExtractor.parseAmount("25.000,00")).isEqualByComparingTo("25000.00");
+        assertThat(CaseFactsExtractor.parseAmount("1.250")).isEqualByComparingTo("1250");
+        assertThat(CaseFactsExtractor.parseAmount("99,90")).isEqualByComparingTo("99.90");
+    }
+
+    @Test
+    public void shouldReportInvalidDatesAndMissingFields() {
+        var facts = CaseFactsExtractor.extract("""
+            Plaintiff: Maria Silva
+            Filed: 2024-02-30
+            Response deadline: 2024-13-01
+            """);
+
+        assertThat(facts.title()).isNull();
+        assertThat(facts.defendant()).isNull();
+        assertThat(facts.hasParties()).isFalse();
+        assertThat(facts.filedDate()).isNull();
+        assertThat(facts.responseDeadline()).isNull();
+        assertThat(facts.invalidDates()).containsExactly("2024-02-30", "2024-13-01");
+        assertThat(facts.claimedAmounts()).isEmpty();
+        assertThat(facts.mentionedAttachments()).isEmpty();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseStateTest {
+
+    @Test
+    public void shouldKeepTheLatestDraftAndOnlyTheMostRecentRevisions() {
+        var state = CaseState.create("CASE-1").withDraft(new DraftResult("Draft 0", List.of()));
+
+        for (int i = 1; i <= CaseState.MAX_DRAFT_REVISIONS + 3; i++) {
+            var revision = new DraftRevision(List.of("Draft " + i), null);
+            state = state.withRevisedDraft(revision.applyTo(state.draft()), revision);
+        }
+
+        int last = CaseState.MAX_DRAFT_REVISIONS + 3;
+        assertThat(state.draft().content()).isEqualTo("Draft " + last);
+        assertThat(state.draftRevisions()).hasSize(CaseState.MAX_DRAFT_REVISIONS);
+        assertThat(state.draftRevisions().getFirst().sections()).containsExactly("Draft 4");
+        assertThat(state.draftRevisions().getLast().sections()).containsExactly("Draft " + last);
+    }
+}
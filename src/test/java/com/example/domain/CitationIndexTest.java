@@ -0,0 +1,58 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CitationIndexTest {
+
+    private static final CitationIndex INDEX = CitationIndex.of(List.of(
+        "Civil Code Art. 927",
+        "Civil Code Art. 92",
+        "Court Precedent STJ-331/2024",
+        "Insurance Regulatory Norm SUSEP-42"));
+
+    @Test
+    public void shouldNormalizeCaseSpacingAndPunctuation() {
+        assertThat(CitationIndex.normalize("Civil  Code, Art. 927.")).isEqualTo("civil code art 927");
+        assertThat(CitationIndex.normalize("STJ-331/2024")).isEqualTo("stj-331/2024");
+        assertThat(CitationIndex.normalize("Art.927")).isEqualTo("art927");
+        assertThat(CitationIndex.normalize(" - ")).isEmpty();
+    }
+
+    @Test
+    public void shouldMatchKnownSourcesRegardlessOfFormatting() {
+        assertThat(INDEX.contains("Civil Code Art. 927")).isTrue();
+        assertThat(INDEX.contains("civil code art 927")).isTrue();
+        assertThat(INDEX.contains("COURT PRECEDENT STJ-331/2024")).isTrue();
+        assertThat(INDEX.contains("Court Precedent STJ 331/2024")).isFalse();
+    }
+
+    @Test
+    public void shouldMatchCitationsExtendingASourceOnlyAtAWordBoundary() {
+        assertThat(INDEX.contains("Civil Code Art. 927, sole paragraph")).isTrue();
+        assertThat(INDEX.contains("Civil Code Art. 92 item II")).isTrue();
+        assertThat(INDEX.contains("Civil Code Art. 9271")).isFalse();
+        assertThat(INDEX.contains("Civil Code Art. 9")).isFalse();
+        assertThat(INDEX.contains("Civil Code")).isFalse();
+        assertThat(INDEX.contains("")).isFalse();
+    }
+
+    @Test
+    public void shouldCountDistinctSourcesAndSkipBlankOnes() {
+        var index = CitationIndex.of(List.of("Civil Code Art. 927", "civil code art 927", " ", "Civil Code Art. 92"));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(CitationIndex.of(List.of()).contains("Civil Code Art. 927")).isFalse();
+    }
+
+    @Test
+    public void shouldSplitCitationsIntoVerifiedAndUnverified() {
+        var check = INDEX.check(List.of("Civil Code Art. 927", "Invented Precedent 1/2099", "Insurance Regulatory Norm SUSEP-42"));
+
+        assertThat(check.verified()).isEqualTo(2);
+        assertThat(check.unverified()).containsExactly("Invented Precedent 1/2099");
+    }
+}
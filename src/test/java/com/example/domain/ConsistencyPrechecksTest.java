@@ -0,0 +1,83 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConsistencyPrechecksTest {
+
+    private static CaseDocuments caseWith(String dates, String claim, String attached, List<String> attachments) {
+        return new CaseDocuments("CASE-1", """
+            Case CASE-1 - Civil Liability Claim
+            Plaintiff: Maria Silva
+            Defendant: Auto Insurance Corp.
+            %s
+            %s
+            Attached: %s.
+            """.formatted(dates, claim, attached), attachments);
+    }
+
+    private static final String VALID_DATES = """
+        Filed: 2024-11-15
+        Subject: Claim for damages arising from traffic accident on 2024-08-20.
+        Defendant was notified on 2024-11-20.
+        Response deadline: 2024-12-05.""";
+
+    @Test
+    public void shouldFindNoIssuesInAConsistentCase() {
+        var documents = caseWith(VALID_DATES,
+            "Plaintiff alleges property damage of R$ 25,000 and moral damages of R$ 10,000.",
+            "police report, medical report, vehicle repair estimate, insurance policy",
+            List.of("police_report_2024_08_20.pdf", "medical_report_maria_silva.pdf",
+                "vehicle_repair_estimate.pdf", "insurance_policy_auto_corp.pdf"));
+
+        assertThat(ConsistencyPrechecks.check(documents)).isEmpty();
+    }
+
+    @Test
+    public void shouldReportInvalidAndContradictoryDates() {
+        var documents = caseWith("""
+            Filed: 2024-11-15
+            Subject: Claim for damages arising from traffic accident on 2024-12-01.
+            Defendant was notified on 2024-11-31.
+            Response deadline: 2024-11-10.""",
+            "Plaintiff claims R$ 5,000.", "repair invoice", List.of("repair_invoice.pdf"));
+
+        assertThat(ConsistencyPrechecks.check(documents)).containsExactly(
+            "Invalid date: 2024-11-31",
+            "The filing date (2024-11-15) must be on or after the event date (2024-12-01)");
+    }
+
+    @Test
+    public void shouldRequireTheDeadlineStrictlyAfterTheNotification() {
+        var documents = caseWith("""
+            Filed: 2024-11-15
+            Defendant was notified on 2024-11-20.
+            Response deadline: 2024-11-20.""",
+            "Plaintiff claims R$ 5,000.", "repair invoice", List.of("repair_invoice.pdf"));
+
+        assertThat(ConsistencyPrechecks.check(documents)).containsExactly(
+            "The response deadline (2024-11-20) must be after the notification date (2024-11-20)");
+    }
+
+    @Test
+    public void shouldReportAStatedTotalThatDoesNotMatchTheClaimedValues() {
+        var documents = caseWith(VALID_DATES,
+            "Property damage of R$ 25,000 and moral damages of R$ 10,000. Total claimed: R$ 40,000",
+            "repair invoice", List.of("repair_invoice.pdf"));
+
+        assertThat(ConsistencyPrechecks.check(documents)).containsExactly(
+            "Stated total R$ 40000 does not match the sum of claimed values R$ 35000");
+    }
+
+    @Test
+    public void shouldReportMentionedDocumentsThatAreNotAttached() {
+        var documents = caseWith(VALID_DATES, "Plaintiff claims R$ 5,000.",
+            "police report, vehicle repair estimate", List.of("Vehicle-Repair_Estimate.pdf"));
+
+        assertThat(ConsistencyPrechecks.check(documents)).containsExactly(
+            "Document mentioned in the filing is not attached: police report");
+    }
+}
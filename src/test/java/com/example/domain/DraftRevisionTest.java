@@ -0,0 +1,64 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DraftRevisionTest {
+
+    private static final DraftResult PREVIOUS = new DraftResult(
+        "First section.\n\n  Second section.\n \nThird section.",
+        List.of("Civil Code Art. 927"));
+
+    @Test
+    public void shouldSplitDraftIntoSections() {
+        assertThat(DraftRevision.sectionsOf(PREVIOUS.content()))
+            .containsExactly("First section.", "Second section.", "Third section.");
+        assertThat(DraftRevision.sectionsOf(null)).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepReferencedSectionsAndReplaceTheRest() {
+        var revision = new DraftRevision(List.of("=1", "Rewritten second section.", " = 3 "), null);
+
+        var revised = revision.applyTo(PREVIOUS);
+
+        assertThat(revised.content()).isEqualTo("First section.\n\nRewritten second section.\n\nThird section.");
+        assertThat(revision.changedSections()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRemoveAndReorderSections() {
+        var revised = new DraftRevision(List.of("=3", "=1"), null).applyTo(PREVIOUS);
+
+        assertThat(revised.content()).isEqualTo("Third section.\n\nFirst section.");
+    }
+
+    @Test
+    public void shouldKeepPreviousTextWhenNoSectionsAreGiven() {
+        var revised = new DraftRevision(List.of(), List.of("Insurance Regulatory Norm SUSEP-42")).applyTo(PREVIOUS);
+
+        assertThat(revised.content()).isEqualTo(PREVIOUS.content());
+        assertThat(revised.citations()).containsExactly("Insurance Regulatory Norm SUSEP-42");
+    }
+
+    @Test
+    public void shouldKeepCitationsWhenNullAndClearThemWhenEmpty() {
+        assertThat(new DraftRevision(List.of("=1"), null).applyTo(PREVIOUS).citations())
+            .containsExactly("Civil Code Art. 927");
+        assertThat(new DraftRevision(List.of("=1"), List.of()).applyTo(PREVIOUS).citations())
+            .isEmpty();
+    }
+
+    @Test
+    public void shouldReportReferencesOutsideThePreviousDraft() {
+        var revision = new DraftRevision(List.of("=0", "=2", "=4", "=99999999999"), null);
+
+        assertThat(revision.invalidReferences(3)).containsExactly("=0", "=4");
+        assertThat(revision.changedSections()).isEqualTo(1);
+        assertThatThrownBy(() -> revision.applyTo(PREVIOUS)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
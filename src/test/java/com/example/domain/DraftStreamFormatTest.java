@@ -0,0 +1,46 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DraftStreamFormatTest {
+
+    private static final String DRAFT = "The claim is upheld.\nCITATIONS:\n- Civil Code Art. 927\n\n* Court Precedent STJ-331/2024\n";
+
+    @Test
+    public void shouldParseTextAndCitations() {
+        var draft = DraftStreamFormat.parse(DRAFT);
+
+        assertThat(draft.content()).isEqualTo("The claim is upheld.");
+        assertThat(draft.citations()).containsExactly("Civil Code Art. 927", "Court Precedent STJ-331/2024");
+        assertThat(DraftStreamFormat.parse("  No marker at all. ")).isEqualTo(new DraftResult("No marker at all.", List.of()));
+    }
+
+    @Test
+    public void shouldHoldBackWhatCouldBeTheStartOfTheMarker() {
+        var text = new StringBuilder("The claim is upheld.\nCITA");
+
+        int visible = DraftStreamFormat.visibleLength(text, 0);
+
+        assertThat(visible).isPositive().isLessThanOrEqualTo(text.indexOf("CITA"));
+        assertThat(DraftStreamFormat.visibleLength("CITA", 0)).isZero();
+    }
+
+    @Test
+    public void shouldFindAMarkerSplitAcrossChunks() {
+        for (int chunkSize = 1; chunkSize <= DRAFT.length(); chunkSize++) {
+            var text = new StringBuilder();
+            int visible = 0;
+            for (int start = 0; start < DRAFT.length(); start += chunkSize) {
+                text.append(DRAFT, start, Math.min(DRAFT.length(), start + chunkSize));
+                int next = DraftStreamFormat.visibleLength(text, visible);
+                assertThat(next).isGreaterThanOrEqualTo(visible);
+                visible = next;
+            }
+            assertThat(text.substring(0, visible)).as("chunks of %d", chunkSize).isEqualTo("The claim is upheld.\n");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MinHashTest {
+
+    private static final String FILING = """
+        Plaintiff alleges property damage of R$ 25,000 and moral damages of R$ 10,000 arising from a
+        traffic accident. The defendant insurer refused to pay the claim under the auto policy.""";
+
+    private static double similarity(MinHash minHash, String left, String right) {
+        var a = minHash.signature(left);
+        var b = minHash.signature(right);
+        return MinHash.similarity(a, 0, b, 0, a.length);
+    }
+
+    @Test
+    public void shouldProduceTheSameSignatureForTheSameWordsRegardlessOfCaseAndPunctuation() {
+        var minHash = new MinHash(128);
+
+        assertThat(minHash.signature(FILING)).hasSize(128);
+        assertThat(minHash.signature(FILING.toUpperCase().replace(",", " ;")))
+            .isEqualTo(minHash.signature(FILING));
+        assertThat(new MinHash(128).signature(FILING)).as("seeded, stable across instances")
+            .isEqualTo(minHash.signature(FILING));
+    }
+
+    @Test
+    public void shouldEstimateHighSimilarityForNearDuplicatesAndLowForUnrelatedText() {
+        var minHash = new MinHash(256);
+        var nearDuplicate = FILING.replace("25,000", "26,000");
+        var unrelated = "Tenant requests eviction stay for an elderly resident pending the housing appeal hearing.";
+
+        assertThat(similarity(minHash, FILING, FILING)).isEqualTo(1.0);
+        assertThat(similarity(minHash, FILING, nearDuplicate)).isGreaterThan(0.7);
+        assertThat(similarity(minHash, FILING, unrelated)).isLessThan(0.1);
+    }
+
+    @Test
+    public void shouldHandleShortAndEmptyText() {
+        var minHash = new MinHash(16);
+
+        assertThat(minHash.signature("")).containsOnly(Integer.MAX_VALUE);
+        assertThat(minHash.signature("  ... ")).containsOnly(Integer.MAX_VALUE);
+        assertThat(minHash.signature("two words")).doesNotContain(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void shouldCompareSignaturesAtOffsets() {
+        var packed = new int[] {9, 1, 2, 3, 4};
+
+        assertThat(MinHash.similarity(new int[] {1, 2, 0, 4}, 0, packed, 1, 4)).isEqualTo(0.75);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PreScreeningEngineTest {
+
+    private static final LocalDate NOTIFIED = LocalDate.parse("2024-11-20");
+    private static final List<String> ALL_ATTACHMENTS = List.of(
+        "police_report_2024_08_20.pdf", "medical_report.pdf", "vehicle_repair_estimate.pdf");
+
+    private static CaseDocuments caseWith(String claim, String deadline, List<String> attachments) {
+        return new CaseDocuments("CASE-1", """
+            Case CASE-1 - Civil Liability Claim
+            Plaintiff: Maria Silva
+            Defendant: Auto Insurance Corp.
+            Filed: 2024-11-15
+            Subject: Claim for damages arising from traffic accident on 2024-08-20.
+            %s
+            Defendant was notified on 2024-11-20.
+            %s
+            """.formatted(claim, deadline == null ? "" : "Response deadline: " + deadline + "."), attachments);
+    }
+
+    @Test
+    public void shouldDeriveUrgencyFromTheResponseDeadline() {
+        var engine = PreScreeningEngine.standard();
+        var documents = caseWith("Plaintiff claims R$ 100,000.", "2024-12-05", ALL_ATTACHMENTS);
+
+        assertThat(engine.evaluate(documents, LocalDate.parse("2024-11-15")).result().urgency()).isEqualTo(Urgency.LOW);
+        assertThat(engine.evaluate(documents, NOTIFIED).result().urgency()).isEqualTo(Urgency.MEDIUM);
+        assertThat(engine.evaluate(documents, LocalDate.parse("2024-11-25")).result().urgency()).isEqualTo(Urgency.MEDIUM);
+        assertThat(engine.evaluate(documents, LocalDate.parse("2024-12-01")).result().urgency()).isEqualTo(Urgency.HIGH);
+        assertThat(engine.evaluate(documents, LocalDate.parse("2024-12-05")).confidence()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void shouldFallThroughToTheAgentWithoutAUsableDeadline() {
+        var engine = PreScreeningEngine.standard();
+
+        var missing = engine.evaluate(caseWith("Plaintiff claims R$ 100,000.", null, ALL_ATTACHMENTS), NOTIFIED);
+        assertThat(missing.confidence()).isZero();
+        assertThat(missing.reasons()).contains("No response deadline to derive urgency from");
+
+        var passed = engine.evaluate(caseWith("Plaintiff claims R$ 100,000.", "2024-12-05", ALL_ATTACHMENTS),
+            LocalDate.parse("2024-12-06"));
+        assertThat(passed.confidence()).isZero();
+        assertThat(passed.reasons()).contains("Response deadline 2024-12-05 has passed");
+    }
+
+    @Test
+    public void shouldPickTheProcedureByClaimedValueAndReportMissingDocuments() {
+        var engine = PreScreeningEngine.standard();
+
+        var fastTrack = engine.evaluate(caseWith("Plaintiff claims R$ 5,000.", "2024-12-05",
+            List.of("repair_invoice.pdf")), NOTIFIED);
+        assertThat(fastTrack.result().procedureType()).isEqualTo(ProcedureType.FAST_TRACK);
+        assertThat(fastTrack.result().documentsComplete()).isTrue();
+        assertThat(fastTrack.confidence()).isEqualTo(1.0);
+
+        var ordinary = engine.evaluate(caseWith("Plaintiff claims R$ 100,000.", "2024-12-05",
+            List.of("repair_invoice.pdf")), NOTIFIED);
+        assertThat(ordinary.result().procedureType()).isEqualTo(ProcedureType.ORDINARY);
+        assertThat(ordinary.result().missingDocuments()).containsExactly("Incident record", "Expert or medical report");
+    }
+
+    @Test
+    public void shouldLowerConfidenceNearThresholdsAndForUrgencyIndicators() {
+        var engine = PreScreeningEngine.standard();
+
+        var nearBoundary = engine.evaluate(caseWith("Plaintiff claims R$ 19,500.", "2024-12-05", ALL_ATTACHMENTS), NOTIFIED);
+        assertThat(nearBoundary.confidence()).isEqualTo(0.5);
+
+        var urgent = engine.evaluate(caseWith("Plaintiff requests an injunction and R$ 5,000.", "2024-12-05",
+            ALL_ATTACHMENTS), NOTIFIED);
+        assertThat(urgent.confidence()).isZero();
+
+        var noValue = engine.evaluate(caseWith("Plaintiff claims damages.", "2024-12-05", ALL_ATTACHMENTS), NOTIFIED);
+        assertThat(noValue.result()).isNull();
+        assertThat(noValue.confidence()).isZero();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SecretariatRulesTest {
+
+    private static final CaseDocuments DOCUMENTS = new CaseDocuments("CASE-2024-001", """
+        Case CASE-2024-001 - Civil Liability Claim
+        Plaintiff: Maria Silva
+        Defendant: Auto Insurance Corp.
+        Filed: 2024-11-15
+        Subject: Claim for damages arising from traffic accident on 2024-08-20.
+        Plaintiff alleges property damage of R$ 25,000 and moral damages of R$ 10,000.
+        Defendant was notified on 2024-11-20.
+        Response deadline: 2024-12-05.
+        Attached: police report, medical report, vehicle repair estimate, insurance policy.
+        """, List.of(
+            "police_report_2024_08_20.pdf",
+            "medical_report_maria_silva.pdf",
+            "vehicle_repair_estimate.pdf",
+            "insurance_policy_auto_corp.pdf"));
+
+    @Test
+    public void shouldRenderTheStandardActsForACompleteOrdinaryCase() {
+        var screening = new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of());
+
+        var acts = SecretariatRules.standard().generate(DOCUMENTS, screening).orElseThrow().generatedActs();
+
+        assertThat(acts).containsExactly(
+            "Subpoena of Auto Insurance Corp. to respond to the claim filed by Maria Silva in case CASE-2024-001",
+            "Deadline notification to Auto Insurance Corp.: response due by 2024-12-05 (ORDINARY procedure)",
+            "File joining order: 4 attached documents joined to case CASE-2024-001");
+    }
+
+    @Test
+    public void shouldAddConditionalActsForFastTrackAndMissingDocuments() {
+        var screening = new ScreeningResult(ProcedureType.FAST_TRACK, Urgency.HIGH, false,
+            List.of("Proof of claimed value", "ID copy"));
+
+        var acts = SecretariatRules.standard().generate(DOCUMENTS, screening).orElseThrow().generatedActs();
+
+        assertThat(acts).contains(
+            "Conciliation hearing notice to Maria Silva and Auto Insurance Corp. in case CASE-2024-001",
+            "Notice to Maria Silva to supply missing documents: Proof of claimed value, ID copy");
+        assertThat(acts).hasSize(5);
+    }
+
+    @Test
+    public void shouldLeaveIncompleteScreeningsToTheAgent() {
+        var rules = SecretariatRules.standard();
+
+        assertThat(rules.generate(DOCUMENTS, null)).isEmpty();
+        assertThat(rules.generate(DOCUMENTS, new ScreeningResult(null, Urgency.LOW, true, List.of()))).isEmpty();
+        assertThat(rules.generate(DOCUMENTS, new ScreeningResult(ProcedureType.SUMMARY, Urgency.LOW, false, null))).isEmpty();
+    }
+
+    @Test
+    public void shouldLeaveCasesWithoutPartiesOrDeadlineToTheAgent() {
+        var screening = new ScreeningResult(ProcedureType.ORDINARY, Urgency.MEDIUM, true, List.of());
+        var noDeadline = new CaseDocuments("CASE-1", """
+            Plaintiff: Maria Silva
+            Defendant: Auto Insurance Corp.
+            """, List.of());
+
+        assertThat(SecretariatRules.standard().generate(noDeadline, screening)).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectUnknownOrUnclosedPlaceholders() {
+        assertThatThrownBy(() -> ActTemplate.compile("Order in case {caseNumber"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ActTemplate.compile("Order filed on {filedDate}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("filedDate");
+    }
+
+    @Test
+    public void shouldRenderLiteralsAroundFields() {
+        var values = new String[ActTemplate.Field.values().length];
+        values[ActTemplate.Field.CASE_NUMBER.ordinal()] = "CASE-7";
+
+        assertThat(ActTemplate.of("{caseNumber}").render(values)).isEqualTo("CASE-7");
+        assertThat(ActTemplate.of("Case {caseNumber}: order").render(values)).isEqualTo("Case CASE-7: order");
+        assertThat(ActTemplate.of("No fields").render(values)).isEqualTo("No fields");
+    }
+}
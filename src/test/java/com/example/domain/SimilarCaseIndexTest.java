@@ -0,0 +1,102 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SimilarCaseIndexTest {
+
+    private static final String FILING = """
+        Plaintiff alleges property damage of R$ 25,000 and moral damages of R$ 10,000 arising from a
+        traffic accident on the federal highway. The defendant insurer refused to pay the claim under
+        the comprehensive auto policy and did not answer the administrative complaint.""";
+
+    private static String otherFiling(int i) {
+        return "Filing " + i + " concerns contract " + (i * 7919) + " between supplier " + (i * 31)
+            + " and buyer " + (i * 17) + " over delivery batch " + (i * 13) + " and invoice " + (i * 101);
+    }
+
+    @Test
+    public void shouldFindNearDuplicatesBestFirst() {
+        var index = new SimilarCaseIndex(128, 16);
+        index.add("CASE-1", "wf-1", index.signature(FILING));
+        index.add("CASE-2", "wf-2", index.signature(FILING.replace("25,000", "26,000")));
+        index.add("CASE-3", "wf-3", index.signature(otherFiling(1)));
+
+        var matches = index.findSimilar(index.signature(FILING), 0.5, 10, "wf-new");
+
+        assertThat(matches).extracting(SimilarCase::caseNumber).containsExactly("CASE-1", "CASE-2");
+        assertThat(matches.get(0).similarity()).isEqualTo(1.0);
+        assertThat(index.findSimilar(index.signature(FILING), 0.5, 1, "wf-new")).hasSize(1);
+    }
+
+    @Test
+    public void shouldExcludeTheCasesOwnWorkflow() {
+        var index = new SimilarCaseIndex(128, 16);
+        var signature = index.signature(FILING);
+        index.add("CASE-1", "wf-1", signature);
+
+        assertThat(index.findSimilar(signature, 0.5, 10, "wf-1")).isEmpty();
+    }
+
+    @Test
+    public void shouldIndexEachWorkflowOnce() {
+        var index = new SimilarCaseIndex(128, 16);
+        var signature = index.signature(FILING);
+
+        assertThat(index.add("CASE-1", "wf-1", signature)).isTrue();
+        assertThat(index.add("CASE-1", "wf-1", signature)).isFalse();
+        assertThat(index.add("CASE-1", "wf-2", signature)).isTrue();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findSimilar(signature, 0.5, 10, "wf-2"))
+            .extracting(SimilarCase::workflowId).containsExactly("wf-1");
+    }
+
+    @Test
+    public void shouldKeepFindingCasesAfterGrowingAndRehashing() {
+        var index = new SimilarCaseIndex(64, 16);
+        for (int i = 0; i < 3000; i++) {
+            index.add("OTHER-" + i, "wf-other-" + i, index.signature(otherFiling(i)));
+        }
+        index.add("CASE-1", "wf-1", index.signature(FILING));
+
+        assertThat(index.size()).isEqualTo(3001);
+        assertThat(index.findSimilar(index.signature(FILING), 0.9, 10, "wf-new"))
+            .extracting(SimilarCase::caseNumber).containsExactly("CASE-1");
+        assertThat(index.findSimilar(index.signature(otherFiling(42)), 0.99, 10, "wf-new"))
+            .extracting(SimilarCase::caseNumber).containsExactly("OTHER-42");
+    }
+
+    @Test
+    public void shouldRoundTripThroughItsBinaryFormat() throws IOException {
+        var index = new SimilarCaseIndex(128, 16);
+        index.add("CASE-1", "wf-1", index.signature(FILING));
+        index.add("CASE-2", "wf-2", index.signature(otherFiling(2)));
+        var out = new ByteArrayOutputStream();
+        index.writeTo(out);
+
+        var restored = SimilarCaseIndex.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.numHashes()).isEqualTo(128);
+        assertThat(restored.bands()).isEqualTo(16);
+        assertThat(restored.findSimilar(restored.signature(FILING), 0.9, 10, "wf-new"))
+            .containsExactly(new SimilarCase("CASE-1", "wf-1", 1.0));
+        assertThatThrownBy(() -> SimilarCaseIndex.readFrom(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void shouldRejectMismatchedSignatureLengths() {
+        var index = new SimilarCaseIndex(128, 16);
+
+        assertThatThrownBy(() -> new SimilarCaseIndex(100, 16)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.add("CASE-1", "wf-1", new int[64])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
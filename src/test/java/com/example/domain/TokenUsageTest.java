@@ -0,0 +1,61 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenUsageTest {
+
+    @Test
+    public void shouldAddTokensPerStepAndNumberTheCharges() {
+        var usage = TokenUsage.EMPTY.add("screening", 1000).add("audit", 500).add("audit", 0).add("audit", 250);
+
+        assertThat(usage.steps()).isEqualTo(Map.of("screening", 1000L, "audit", 750L));
+        assertThat(usage.total()).isEqualTo(1750);
+        assertThat(usage.charges()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldCountFailedAttemptsUntilTheStepCompletes() {
+        var usage = TokenUsage.EMPTY.failed("audit", 400).failed("audit", 0);
+
+        assertThat(usage.failedStep()).isEqualTo("audit");
+        assertThat(usage.failedAttempts()).isEqualTo(2);
+        assertThat(usage.steps()).isEqualTo(Map.of("audit", 400L));
+
+        var recovered = usage.add("drafting", 100).add("audit", 0);
+
+        assertThat(recovered.failedStep()).isNull();
+        assertThat(recovered.failedAttempts()).isZero();
+        assertThat(recovered.total()).isEqualTo(500);
+        assertThat(TokenUsage.EMPTY.failed("audit", 1).failed("drafting", 1).failedAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldClearFailedAttemptsButKeepTheirTokens() {
+        var usage = TokenUsage.EMPTY.failed("audit", 400).failed("audit", 100);
+
+        var cleared = usage.clearFailures();
+
+        assertThat(cleared.failedStep()).isNull();
+        assertThat(cleared.failedAttempts()).isZero();
+        assertThat(cleared.total()).isEqualTo(500);
+        assertThat(cleared.charges()).isEqualTo(2);
+        assertThat(cleared.failed("audit", 0).failedAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldExemptOnlyTheRaisedTokensFromTheTenantBudget() {
+        var usage = TokenUsage.EMPTY.add("screening", 1000).pausedAt("secretariat");
+
+        var raised = usage.raise(500);
+
+        assertThat(raised.raised()).isEqualTo(500);
+        assertThat(raised.pausedStep()).isNull();
+        assertThat(raised.exemptUntil()).isEqualTo(1500);
+        assertThat(raised.add("secretariat", 300).raise(200).exemptUntil()).as("raises add up").isEqualTo(1700);
+        assertThat(raised.add("secretariat", 900).raise(200).exemptUntil()).as("spent beyond the raise").isEqualTo(2100);
+    }
+}